@@ -0,0 +1,18 @@
+package com.awscourse.filesmanagementsystem.api.archive;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveJobDTO {
+
+    @NotEmpty
+    private List<Long> fileIds;
+
+}
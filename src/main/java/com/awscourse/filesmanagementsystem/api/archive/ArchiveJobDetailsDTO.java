@@ -0,0 +1,23 @@
+package com.awscourse.filesmanagementsystem.api.archive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveJobDetailsDTO {
+
+    private Long id;
+    private String status;
+    private int fileCount;
+    private Long size;
+    private Instant createdAt;
+    private Instant expiresAt;
+
+}
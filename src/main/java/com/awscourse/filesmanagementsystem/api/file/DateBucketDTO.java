@@ -0,0 +1,17 @@
+package com.awscourse.filesmanagementsystem.api.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DateBucketDTO {
+
+    private Instant start;
+    private long count;
+
+}
@@ -0,0 +1,22 @@
+package com.awscourse.filesmanagementsystem.api.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.net.URI;
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectUploadDTO {
+
+    private String filename;
+    private URI url;
+    private URI uploadUrl;
+    private Instant expiresAt;
+
+}
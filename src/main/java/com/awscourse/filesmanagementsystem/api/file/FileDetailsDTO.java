@@ -3,12 +3,12 @@ package com.awscourse.filesmanagementsystem.api.file;
 import com.awscourse.filesmanagementsystem.api.label.LabelDetailsDTO;
 import com.awscourse.filesmanagementsystem.api.user.UserDTO;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Value;
 
 import java.time.Instant;
 import java.util.List;
 
-@Data
+@Value
 @Builder
 public class FileDetailsDTO {
 
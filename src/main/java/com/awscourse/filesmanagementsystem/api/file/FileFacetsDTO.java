@@ -0,0 +1,16 @@
+package com.awscourse.filesmanagementsystem.api.file;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class FileFacetsDTO {
+
+    private List<LabelCountDTO> labelCounts;
+    private List<SizeBucketDTO> sizeBuckets;
+    private List<DateBucketDTO> createdAtHistogram;
+
+}
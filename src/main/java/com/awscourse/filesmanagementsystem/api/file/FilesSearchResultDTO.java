@@ -1,17 +1,20 @@
 package com.awscourse.filesmanagementsystem.api.file;
 
 import lombok.Builder;
-import lombok.Data;
+import lombok.Value;
 
 import java.util.List;
 
-@Data
-@Builder
+@Value
+@Builder(toBuilder = true)
 public class FilesSearchResultDTO {
 
     private List<FileDetailsDTO> results;
     private Long totalSize;
     private Integer pageSize;
     private Integer pageNumber;
+    private String nextCursor;
+    private boolean truncated;
+    private FileFacetsDTO facets;
 
 }
@@ -0,0 +1,15 @@
+package com.awscourse.filesmanagementsystem.api.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabelCountDTO {
+
+    private String labelName;
+    private long count;
+
+}
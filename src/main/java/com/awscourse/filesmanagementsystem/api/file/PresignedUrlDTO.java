@@ -0,0 +1,18 @@
+package com.awscourse.filesmanagementsystem.api.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.net.URI;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresignedUrlDTO {
+
+    private URI url;
+    private Instant expiresAt;
+
+}
@@ -0,0 +1,16 @@
+package com.awscourse.filesmanagementsystem.api.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SizeBucketDTO {
+
+    private Long minSize;
+    private Long maxSize;
+    private long count;
+
+}
@@ -3,11 +3,11 @@ package com.awscourse.filesmanagementsystem.api.label;
 import com.awscourse.filesmanagementsystem.api.user.UserDTO;
 import com.awscourse.filesmanagementsystem.domain.label.entity.LabelType;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Value;
 
 import java.time.Instant;
 
-@Data
+@Value
 @Builder
 public class LabelDetailsDTO {
 
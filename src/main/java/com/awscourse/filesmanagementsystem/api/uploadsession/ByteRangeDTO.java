@@ -0,0 +1,15 @@
+package com.awscourse.filesmanagementsystem.api.uploadsession;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ByteRangeDTO {
+
+    private long start;
+    private long end;
+
+}
@@ -0,0 +1,21 @@
+package com.awscourse.filesmanagementsystem.api.uploadsession;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDTO {
+
+    @NotBlank
+    private String filename;
+
+    @Positive
+    private long size;
+
+}
@@ -0,0 +1,25 @@
+package com.awscourse.filesmanagementsystem.api.uploadsession;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDetailsDTO {
+
+    private Long id;
+    private String filename;
+    private long size;
+    private int chunkSize;
+    private int chunkCount;
+    private List<ByteRangeDTO> receivedRanges;
+    private Instant expiresAt;
+
+}
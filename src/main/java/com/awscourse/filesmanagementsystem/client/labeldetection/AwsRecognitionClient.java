@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 public class AwsRecognitionClient implements LabelDetectionClient {
 
     private static final Set<String> SUPPORTED_FORMATS = Set.of("jpg", "jpeg", "png");
+    private static final String SUPPORTED_STORAGE_SCHEME = "s3";
     private static final int LEADING_SLASH_OFFSET = 1;
     private final AmazonRekognition amazonRekognition;
 
@@ -50,7 +51,7 @@ public class AwsRecognitionClient implements LabelDetectionClient {
     }
 
     private boolean isLabelDetectionSupportedForResourceType(URI url) {
-        return SUPPORTED_FORMATS.contains(getExtensionFromUrl(url));
+        return SUPPORTED_STORAGE_SCHEME.equalsIgnoreCase(url.getScheme()) && SUPPORTED_FORMATS.contains(getExtensionFromUrl(url));
     }
 
     private String getExtensionFromUrl(URI url) {
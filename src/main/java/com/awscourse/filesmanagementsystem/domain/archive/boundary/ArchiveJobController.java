@@ -0,0 +1,76 @@
+package com.awscourse.filesmanagementsystem.domain.archive.boundary;
+
+import com.awscourse.filesmanagementsystem.api.archive.ArchiveJobDTO;
+import com.awscourse.filesmanagementsystem.api.archive.ArchiveJobDetailsDTO;
+import com.awscourse.filesmanagementsystem.domain.archive.control.ArchiveJobService;
+import com.awscourse.filesmanagementsystem.domain.archive.entity.ArchiveJob;
+import com.awscourse.filesmanagementsystem.infrastructure.security.UserInfo;
+import com.awscourse.filesmanagementsystem.infrastructure.security.annotation.LoggedUser;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import springfox.documentation.annotations.ApiIgnore;
+
+import javax.validation.Valid;
+import java.io.InputStream;
+import java.util.Optional;
+
+import static com.awscourse.filesmanagementsystem.infrastructure.rest.ResourcePaths.ID;
+import static com.awscourse.filesmanagementsystem.infrastructure.rest.ResourcePaths.ID_PATH;
+
+@Api(tags = "Archive jobs")
+@RestController
+@RequestMapping(ArchiveJobController.ARCHIVE_JOB_RESOURCE)
+@RequiredArgsConstructor
+public class ArchiveJobController {
+
+    public static final String ARCHIVE_JOB_RESOURCE = "/api/archive-jobs";
+    private static final String DEFAULT_ARCHIVE_NAME = "files";
+
+    private final ArchiveJobService archiveJobService;
+    private final ArchiveJobMapper archiveJobMapper;
+
+    @ApiOperation(value = "${api.archiveJobs.submitArchiveJob.value}", notes = "${api.archiveJobs.submitArchiveJob.notes}")
+    @PostMapping
+    public ArchiveJobDetailsDTO submitArchiveJob(@Valid @RequestBody ArchiveJobDTO archiveJobDTO, @ApiIgnore @LoggedUser UserInfo userInfo) {
+        ArchiveJob job = archiveJobService.submitJob(archiveJobDTO.getFileIds(), userInfo.getId());
+        return archiveJobMapper.mapToArchiveJobDetailsDTO(job);
+    }
+
+    @ApiOperation(value = "${api.archiveJobs.getArchiveJob.value}", notes = "${api.archiveJobs.getArchiveJob.notes}")
+    @GetMapping(ID_PATH)
+    public ArchiveJobDetailsDTO getArchiveJob(@PathVariable(ID) Long id, @ApiIgnore @LoggedUser UserInfo userInfo) {
+        return archiveJobMapper.mapToArchiveJobDetailsDTO(archiveJobService.getJob(id, userInfo.getId()));
+    }
+
+    @ApiOperation(value = "${api.archiveJobs.downloadArchive.value}", notes = "${api.archiveJobs.downloadArchive.notes}")
+    @GetMapping(ID_PATH + "/download")
+    public ResponseEntity<StreamingResponseBody> downloadArchive(@PathVariable(ID) Long id,
+                                                                 @RequestParam("downloadedFileName") Optional<String> downloadedFileName,
+                                                                 @ApiIgnore @LoggedUser UserInfo userInfo) {
+        ArchiveJob job = archiveJobService.getJob(id, userInfo.getId());
+        Resource archive = archiveJobService.getArchive(job);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + downloadedFileName.orElse(DEFAULT_ARCHIVE_NAME) + ".zip" + "\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .contentLength(job.getSize())
+                .body(outputStream -> {
+                    try (InputStream inputStream = archive.getInputStream()) {
+                        inputStream.transferTo(outputStream);
+                    }
+                });
+    }
+
+}
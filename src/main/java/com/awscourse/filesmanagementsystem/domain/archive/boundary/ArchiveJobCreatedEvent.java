@@ -0,0 +1,19 @@
+package com.awscourse.filesmanagementsystem.domain.archive.boundary;
+
+import com.awscourse.filesmanagementsystem.domain.archive.entity.ArchiveJob;
+import com.awscourse.filesmanagementsystem.infrastructure.event.crud.single.CreateEvent;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ArchiveJobCreatedEvent extends CreateEvent<ArchiveJob> {
+
+    private final List<Long> fileIds;
+
+    public ArchiveJobCreatedEvent(Object source, ArchiveJob affectedObject, List<Long> fileIds) {
+        super(source, affectedObject);
+        this.fileIds = fileIds;
+    }
+
+}
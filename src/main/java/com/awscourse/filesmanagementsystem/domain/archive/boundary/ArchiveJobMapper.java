@@ -0,0 +1,24 @@
+package com.awscourse.filesmanagementsystem.domain.archive.boundary;
+
+import com.awscourse.filesmanagementsystem.api.archive.ArchiveJobDetailsDTO;
+import com.awscourse.filesmanagementsystem.domain.archive.entity.ArchiveJob;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ArchiveJobMapper {
+
+    public ArchiveJobDetailsDTO mapToArchiveJobDetailsDTO(ArchiveJob job) {
+        if (job == null) {
+            return null;
+        }
+        return ArchiveJobDetailsDTO.builder()
+                .id(job.getId())
+                .status(job.getStatus().name())
+                .fileCount(job.getFileCount())
+                .size(job.getSize())
+                .createdAt(job.getCreatedAt())
+                .expiresAt(job.getExpiresAt())
+                .build();
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.awscourse.filesmanagementsystem.domain.archive.control;
+
+import com.awscourse.filesmanagementsystem.domain.archive.entity.ArchiveJob;
+import com.awscourse.filesmanagementsystem.domain.file.control.FileService;
+import com.awscourse.filesmanagementsystem.domain.file.control.archive.ZipArchiveWriter;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.StorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArchiveJobBuilder {
+
+    private static final String TEMPORARY_FILE_PREFIX = "archive-";
+    private static final String TEMPORARY_FILE_SUFFIX = ".zip";
+
+    private final ArchiveJobService archiveJobService;
+    private final FileService fileService;
+    private final ZipArchiveWriter zipArchiveWriter;
+    private final StorageService storageService;
+
+    public void build(ArchiveJob job, List<Long> fileIds) {
+        long size;
+        try {
+            size = writeArchive(job, fileIds);
+        } catch (IOException | RuntimeException exception) {
+            log.error("Cannot build archive of job {}: ", job.getId(), exception);
+            archiveJobService.failJob(job.getId());
+            return;
+        }
+        try {
+            archiveJobService.completeJob(job.getId(), size);
+        } catch (RuntimeException exception) {
+            log.error("Cannot complete archive job {}: ", job.getId(), exception);
+            storageService.deleteResources(List.of(job.getUrl()));
+        }
+    }
+
+    private long writeArchive(ArchiveJob job, List<Long> fileIds) throws IOException {
+        Path temporaryFile = Files.createTempFile(TEMPORARY_FILE_PREFIX, TEMPORARY_FILE_SUFFIX);
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+                zipArchiveWriter.write(fileService.downloadResources(fileIds), outputStream);
+            }
+            storageService.saveResource(new FileSystemResource(temporaryFile), job.getUrl());
+            return Files.size(temporaryFile);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+}
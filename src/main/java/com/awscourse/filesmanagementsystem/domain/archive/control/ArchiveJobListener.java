@@ -0,0 +1,27 @@
+package com.awscourse.filesmanagementsystem.domain.archive.control;
+
+import com.awscourse.filesmanagementsystem.domain.archive.boundary.ArchiveJobCreatedEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class ArchiveJobListener {
+
+    private final ArchiveJobBuilder archiveJobBuilder;
+    private final AsyncTaskExecutor executor;
+
+    public ArchiveJobListener(ArchiveJobBuilder archiveJobBuilder,
+                              @Qualifier("customizedThreadPoolExecutor") AsyncTaskExecutor executor) {
+        this.archiveJobBuilder = archiveJobBuilder;
+        this.executor = executor;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void buildArchiveOfCreatedJob(ArchiveJobCreatedEvent event) {
+        executor.execute(() -> archiveJobBuilder.build(event.getAffectedObject(), event.getFileIds()));
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.awscourse.filesmanagementsystem.domain.archive.control;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ArchiveJobReaper {
+
+    private final ArchiveJobService archiveJobService;
+
+    @Scheduled(fixedDelayString = "${app.archive.job.reaper-interval}")
+    public void deleteExpiredJobs() {
+        archiveJobService.deleteExpiredJobs();
+    }
+
+}
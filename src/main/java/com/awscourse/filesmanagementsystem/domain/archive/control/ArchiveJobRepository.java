@@ -0,0 +1,23 @@
+package com.awscourse.filesmanagementsystem.domain.archive.control;
+
+import com.awscourse.filesmanagementsystem.domain.archive.entity.ArchiveJob;
+import com.awscourse.filesmanagementsystem.domain.archive.entity.ArchiveJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchiveJobRepository extends JpaRepository<ArchiveJob, Long> {
+
+    Optional<ArchiveJob> findFirstByCacheKeyAndOwnerIdAndStatusInAndExpiresAtAfterOrderByCreatedAtDesc(String cacheKey, Long ownerId,
+                                                                                                      Collection<ArchiveJobStatus> statuses, Instant instant);
+
+    Optional<ArchiveJob> findByIdAndOwnerId(Long id, Long ownerId);
+
+    List<ArchiveJob> findAllByExpiresAtBefore(Instant instant);
+
+}
@@ -0,0 +1,147 @@
+package com.awscourse.filesmanagementsystem.domain.archive.control;
+
+import com.awscourse.filesmanagementsystem.domain.archive.boundary.ArchiveJobCreatedEvent;
+import com.awscourse.filesmanagementsystem.domain.archive.entity.ArchiveJob;
+import com.awscourse.filesmanagementsystem.domain.archive.entity.ArchiveJobStatus;
+import com.awscourse.filesmanagementsystem.domain.file.control.FileService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.StorageService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.url.UrlProvider;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.ExceptionUtils;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@Transactional
+public class ArchiveJobService {
+
+    private static final Set<ArchiveJobStatus> REUSABLE_STATUSES = Set.of(ArchiveJobStatus.PENDING, ArchiveJobStatus.COMPLETED);
+
+    private final ArchiveJobRepository archiveJobRepository;
+    private final FileService fileService;
+    private final StorageService storageService;
+    private final UrlProvider urlProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration timeToLive;
+    private final Duration buildTimeout;
+
+    public ArchiveJobService(ArchiveJobRepository archiveJobRepository,
+                             FileService fileService,
+                             StorageService storageService,
+                             UrlProvider urlProvider,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${app.archive.job.time-to-live}") Duration timeToLive,
+                             @Value("${app.archive.job.build-timeout}") Duration buildTimeout) {
+        this.archiveJobRepository = archiveJobRepository;
+        this.fileService = fileService;
+        this.storageService = storageService;
+        this.urlProvider = urlProvider;
+        this.eventPublisher = eventPublisher;
+        this.timeToLive = timeToLive;
+        this.buildTimeout = buildTimeout;
+    }
+
+    public ArchiveJob submitJob(Collection<Long> fileIds, Long ownerId) {
+        List<File> files = fileService.getFilesByIds(fileIds);
+        validateIfFilesExist(fileIds, files);
+        String cacheKey = getCacheKey(files);
+        Optional<ArchiveJob> existingJob = archiveJobRepository.findFirstByCacheKeyAndOwnerIdAndStatusInAndExpiresAtAfterOrderByCreatedAtDesc(cacheKey, ownerId,
+                REUSABLE_STATUSES, Instant.now());
+        if (existingJob.isPresent()) {
+            return existingJob.get();
+        }
+        Instant now = Instant.now();
+        ArchiveJob job = ArchiveJob.builder()
+                .cacheKey(cacheKey)
+                .ownerId(ownerId)
+                .fileIds(TransformUtils.transformToSet(files, File::getId))
+                .status(ArchiveJobStatus.PENDING)
+                .url(urlProvider.getArchiveUrl())
+                .fileCount(files.size())
+                .createdAt(now)
+                .expiresAt(now.plus(buildTimeout))
+                .build();
+        ArchiveJob createdJob = archiveJobRepository.save(job);
+        eventPublisher.publishEvent(new ArchiveJobCreatedEvent(this, createdJob, TransformUtils.transformToList(files, File::getId)));
+        return createdJob;
+    }
+
+    private void validateIfFilesExist(Collection<Long> fileIds, Collection<File> foundFiles) {
+        Set<Long> nonExistingIds = Sets.difference(new HashSet<>(fileIds), TransformUtils.transformToSet(foundFiles, File::getId));
+        if (!nonExistingIds.isEmpty()) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Files with ids {0} do not exist", nonExistingIds));
+        }
+    }
+
+    private String getCacheKey(Collection<File> files) {
+        String fileVersions = files.stream()
+                .sorted(Comparator.comparing(File::getId))
+                .map(file -> file.getId() + ":" + file.getUpdatedAt().toEpochMilli() + ":" + file.getUrl())
+                .collect(Collectors.joining("\n"));
+        return Hashing.sha256().hashString(fileVersions, StandardCharsets.UTF_8).toString();
+    }
+
+    public ArchiveJob getJob(Long id, Long ownerId) {
+        ArchiveJob job = archiveJobRepository.findByIdAndOwnerId(id, ownerId)
+                .orElseThrow(() -> ExceptionUtils.getObjectNotFoundException(ArchiveJob.class, id));
+        validateIfFilesExist(job.getFileIds(), fileService.getFilesByIds(job.getFileIds()));
+        return job;
+    }
+
+    private ArchiveJob getJob(Long id) {
+        return archiveJobRepository.findById(id)
+                .orElseThrow(() -> ExceptionUtils.getObjectNotFoundException(ArchiveJob.class, id));
+    }
+
+    public Resource getArchive(ArchiveJob job) {
+        if (job.getStatus() != ArchiveJobStatus.COMPLETED) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Archive of job {0} is not available", String.valueOf(job.getId())));
+        }
+        return storageService.getResource(job.getUrl());
+    }
+
+    public void completeJob(Long id, long size) {
+        ArchiveJob job = getJob(id);
+        job.setStatus(ArchiveJobStatus.COMPLETED);
+        job.setSize(size);
+        job.setExpiresAt(Instant.now().plus(timeToLive));
+    }
+
+    public void failJob(Long id) {
+        ArchiveJob job = getJob(id);
+        job.setStatus(ArchiveJobStatus.FAILED);
+        job.setExpiresAt(Instant.now().plus(timeToLive));
+    }
+
+    public void deleteExpiredJobs() {
+        List<ArchiveJob> expiredJobs = archiveJobRepository.findAllByExpiresAtBefore(Instant.now());
+        if (expiredJobs.isEmpty()) {
+            return;
+        }
+        storageService.deleteResources(TransformUtils.transformToList(expiredJobs, ArchiveJob::getUrl));
+        archiveJobRepository.deleteAll(expiredJobs);
+        log.info("Deleted {} expired archive jobs", expiredJobs.size());
+    }
+
+}
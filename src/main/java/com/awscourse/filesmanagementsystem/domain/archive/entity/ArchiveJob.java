@@ -0,0 +1,93 @@
+package com.awscourse.filesmanagementsystem.domain.archive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.CollectionTable;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.Table;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.awscourse.filesmanagementsystem.infrastructure.jpa.PersistenceConstants.ID_GENERATOR;
+
+@Entity
+@Table(name = "archive_job", indexes = @Index(name = "archive_job_cache_key_idx", columnList = "cacheKey, ownerId"))
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchiveJob {
+
+    @Id
+    @GeneratedValue(generator = ID_GENERATOR)
+    private Long id;
+
+    @NotBlank
+    @Column(length = 64)
+    private String cacheKey;
+
+    @NotNull
+    private Long ownerId;
+
+    @ElementCollection
+    @CollectionTable(name = "archive_job_file", joinColumns = @JoinColumn(name = "archive_job_id"))
+    @Column(name = "file_id", nullable = false)
+    private Set<Long> fileIds;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ArchiveJobStatus status;
+
+    @NotNull
+    @Column(length = 1000)
+    private URI url;
+
+    @NotNull
+    private int fileCount;
+
+    private Long size;
+
+    @NotNull
+    private Instant createdAt;
+
+    @NotNull
+    private Instant expiresAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArchiveJob)) {
+            return false;
+        }
+
+        ArchiveJob other = (ArchiveJob) o;
+
+        return id != null && Objects.equals(getId(), other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.awscourse.filesmanagementsystem.domain.archive.entity;
+
+public enum ArchiveJobStatus {
+
+    PENDING,
+    COMPLETED,
+    FAILED
+
+}
@@ -0,0 +1,14 @@
+package com.awscourse.filesmanagementsystem.domain.file.boundary;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentBlob;
+import com.awscourse.filesmanagementsystem.infrastructure.event.crud.bulk.BulkDeleteEvent;
+
+import java.util.List;
+
+public class ContentBlobBulkDeletedEvent extends BulkDeleteEvent<ContentBlob> {
+
+    public ContentBlobBulkDeletedEvent(Object source, List<ContentBlob> relatedObjects) {
+        super(source, relatedObjects);
+    }
+
+}
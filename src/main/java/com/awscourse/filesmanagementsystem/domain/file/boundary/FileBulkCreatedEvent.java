@@ -0,0 +1,14 @@
+package com.awscourse.filesmanagementsystem.domain.file.boundary;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.infrastructure.event.crud.bulk.BulkCreateEvent;
+
+import java.util.List;
+
+public class FileBulkCreatedEvent extends BulkCreateEvent<File> {
+
+    public FileBulkCreatedEvent(Object source, List<File> relatedObjects) {
+        super(source, relatedObjects);
+    }
+
+}
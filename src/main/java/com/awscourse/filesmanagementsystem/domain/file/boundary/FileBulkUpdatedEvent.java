@@ -0,0 +1,14 @@
+package com.awscourse.filesmanagementsystem.domain.file.boundary;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.infrastructure.event.crud.bulk.BulkUpdateEvent;
+
+import java.util.List;
+
+public class FileBulkUpdatedEvent extends BulkUpdateEvent<File> {
+
+    public FileBulkUpdatedEvent(Object source, List<File> relatedObjects) {
+        super(source, relatedObjects);
+    }
+
+}
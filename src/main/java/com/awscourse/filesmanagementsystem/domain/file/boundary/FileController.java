@@ -2,28 +2,37 @@ package com.awscourse.filesmanagementsystem.domain.file.boundary;
 
 import com.awscourse.filesmanagementsystem.api.common.ResourceDTO;
 import com.awscourse.filesmanagementsystem.api.common.ResponseDTO;
+import com.awscourse.filesmanagementsystem.api.file.DirectUploadDTO;
 import com.awscourse.filesmanagementsystem.api.file.FileDTO;
 import com.awscourse.filesmanagementsystem.api.file.FileDetailsDTO;
 import com.awscourse.filesmanagementsystem.api.file.FileUploadResponseDTO;
 import com.awscourse.filesmanagementsystem.api.file.FilesSearchResultDTO;
+import com.awscourse.filesmanagementsystem.api.file.PresignedUrlDTO;
 import com.awscourse.filesmanagementsystem.api.label.LabelAssignmentDTO;
 import com.awscourse.filesmanagementsystem.domain.file.control.FileService;
+import com.awscourse.filesmanagementsystem.domain.file.control.archive.ZipArchiveWriter;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.PresignedUrl;
+import com.awscourse.filesmanagementsystem.domain.file.entity.DirectUpload;
 import com.awscourse.filesmanagementsystem.domain.file.entity.File;
 import com.awscourse.filesmanagementsystem.domain.file.entity.FileResource;
+import com.awscourse.filesmanagementsystem.domain.file.entity.HistogramInterval;
 import com.awscourse.filesmanagementsystem.domain.file.entity.UploadInfo;
 import com.awscourse.filesmanagementsystem.domain.label.control.LabelCalculationService;
 import com.awscourse.filesmanagementsystem.domain.label.entity.LabelCalculationResult;
 import com.awscourse.filesmanagementsystem.domain.labelassignment.control.LabelAssignmentService;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
 import com.awscourse.filesmanagementsystem.infrastructure.security.UserInfo;
 import com.awscourse.filesmanagementsystem.infrastructure.security.annotation.LoggedUser;
 import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import com.google.common.primitives.Floats;
+import com.google.common.primitives.Ints;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.io.FilenameUtils;
 import org.springframework.core.io.Resource;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -37,20 +46,23 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import springfox.documentation.annotations.ApiIgnore;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.io.IOException;
 import java.net.URI;
+import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 import static com.awscourse.filesmanagementsystem.domain.file.boundary.FileController.FILE_RESOURCE;
 import static com.awscourse.filesmanagementsystem.infrastructure.rest.ResourcePaths.ID;
@@ -66,32 +78,87 @@ public class FileController {
 
     public static final String FILE_RESOURCE = "/api/files";
     private static final String DETECT_CONTENT_TYPE = "detectContentType";
+    private static final String FILENAME = "filename";
+    private static final String SIZE = "size";
+    private static final String CURSOR = "cursor";
+    private static final String INCLUDE_TOTAL_COUNT = "includeTotalCount";
+    private static final String INCLUDE_FACETS = "includeFacets";
+    private static final String CREATED_AT_INTERVAL = "createdAtInterval";
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String RESULTS_TRUNCATED_HEADER = "X-Results-Truncated";
+    private static final String MAX_LABELS_PER_FILE = "maxLabelsPerFile";
+    private static final String MIN_CONFIDENCE = "minConfidence";
+    private static final String DEFAULT_MAX_LABELS_PER_FILE = "5";
+    private static final String DEFAULT_MIN_CONFIDENCE = "80";
+    private static final float MIN_CONFIDENCE_LOWER_BOUND = 0;
+    private static final float MIN_CONFIDENCE_UPPER_BOUND = 100;
 
     private final FileMapper fileMapper;
     private final FileService fileService;
     private final LabelCalculationService labelCalculationService;
     private final LabelAssignmentService labelAssignmentService;
     private final MediaTypeResolver mediaTypeResolver;
+    private final MultipartStreamReader multipartStreamReader;
+    private final FileDownloadResponseFactory fileDownloadResponseFactory;
+    private final ZipArchiveWriter zipArchiveWriter;
+    private final FileExportWriter fileExportWriter;
+    private final FileSearchCache fileSearchCache;
 
     @ApiOperation(value = "${api.files.searchFiles.value}", notes = "${api.files.searchFiles.notes}")
     @GetMapping("/search")
-    public FilesSearchResultDTO searchFiles(@Valid FilesSearchCriteria searchCriteria, @Valid Pageable pageable) {
-        Page<File> filePage = fileService.searchFilesByCriteria(searchCriteria, pageable);
-        return fileMapper.mapToFilesSearchResultDTO(filePage);
+    public FilesSearchResultDTO searchFiles(@Valid FilesSearchCriteria searchCriteria,
+                                            @RequestParam(value = CURSOR, required = false) String cursor,
+                                            @RequestParam(value = INCLUDE_TOTAL_COUNT, defaultValue = "true") boolean includeTotalCount,
+                                            @RequestParam(value = INCLUDE_FACETS, defaultValue = "false") boolean includeFacets,
+                                            @RequestParam(value = CREATED_AT_INTERVAL, defaultValue = "MONTH") HistogramInterval createdAtInterval,
+                                            @Valid Pageable pageable) {
+        FilesSearchResultDTO searchResultDTO = fileSearchCache.getSearchResult(searchCriteria, cursor, pageable, includeTotalCount,
+                () -> fileMapper.mapToFilesSearchResultDTO(fileService.searchFilesByCriteria(searchCriteria, cursor, pageable, includeTotalCount), pageable));
+        if (includeFacets) {
+            return searchResultDTO.toBuilder()
+                    .facets(fileMapper.mapToFileFacetsDTO(fileService.getFacetsByCriteria(searchCriteria, createdAtInterval)))
+                    .build();
+        }
+        return searchResultDTO;
+    }
+
+    @ApiOperation(value = "${api.files.exportFiles.value}", notes = "${api.files.exportFiles.notes}")
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    public void exportFiles(@Valid FilesSearchCriteria searchCriteria, Sort sort, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        response.setHeader(RESULTS_TRUNCATED_HEADER, String.valueOf(fileService.isTextSearchTruncated(searchCriteria)));
+        response.setStatus(HttpServletResponse.SC_OK);
+        fileExportWriter.write(searchCriteria, sort, response.getOutputStream());
     }
 
     @ApiOperation(value = "${api.files.getFilesByIds.value}", notes = "${api.files.getFilesByIds.notes}")
     @GetMapping(IDS_PATH)
     public List<FileDetailsDTO> getFilesByIds(@PathVariable(IDS) Collection<Long> ids) {
-        List<File> files = fileService.getFilesByIds(ids);
+        List<File> files = fileService.getFileDetailsByIds(ids);
         return fileMapper.mapToFileDetailsDTOs(files);
     }
 
     @ApiOperation(value = "${api.files.createFiles.value}", notes = "${api.files.createFiles.notes}")
     @PostMapping
-    public List<ResourceDTO> createFiles(@Valid @RequestBody List<FileDTO> fileDTOs) {
+    public List<ResourceDTO> createFiles(@Valid @RequestBody List<FileDTO> fileDTOs, @ApiIgnore @LoggedUser UserInfo userInfo) {
+        List<File> files = fileMapper.mapToFile(fileDTOs);
+        List<File> createdFiles = fileService.createFiles(files, userInfo.getId());
+        return fileMapper.mapToResourceDTOs(createdFiles);
+    }
+
+    @ApiOperation(value = "${api.files.prepareDirectUpload.value}", notes = "${api.files.prepareDirectUpload.notes}")
+    @PostMapping("/direct-upload")
+    public DirectUploadDTO prepareDirectUpload(@RequestParam(FILENAME) String filename, @RequestParam(SIZE) long size,
+                                               @ApiIgnore @LoggedUser UserInfo userInfo) {
+        DirectUpload directUpload = fileService.prepareDirectUpload(filename, size, userInfo.getId());
+        return fileMapper.mapToDirectUploadDTO(directUpload);
+    }
+
+    @ApiOperation(value = "${api.files.completeDirectUploads.value}", notes = "${api.files.completeDirectUploads.notes}")
+    @PostMapping("/direct-upload/complete")
+    public List<ResourceDTO> completeDirectUploads(@Valid @RequestBody List<FileDTO> fileDTOs, @ApiIgnore @LoggedUser UserInfo userInfo) {
         List<File> files = fileMapper.mapToFile(fileDTOs);
-        List<File> createdFiles = fileService.createFiles(files);
+        List<File> createdFiles = fileService.completeDirectUploads(files, userInfo.getId());
         return fileMapper.mapToResourceDTOs(createdFiles);
     }
 
@@ -130,15 +197,19 @@ public class FileController {
 
     @ApiOperation(value = "${api.files.downloadFile.value}", notes = "${api.files.downloadFile.notes}")
     @GetMapping(value = "/download" + ID_PATH)
-    public ResponseEntity<Resource> downloadFile(@PathVariable(ID) Long id,
-                                                 @RequestParam(value = DETECT_CONTENT_TYPE, defaultValue = "false") boolean detectContentType) {
-        FileResource fileResource = fileService.downloadResource(id);
-        File file = fileResource.getFile();
-        Resource resource = fileResource.getResource();
-        return ResponseEntity.ok()
-                .contentType(detectContentType ? mediaTypeResolver.getMediaTypeForFile(FilenameUtils.getName(resource.getFilename())) : MediaType.APPLICATION_OCTET_STREAM)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getName() + "\"")
-                .body(resource);
+    public ResponseEntity<StreamingResponseBody> downloadFile(@PathVariable(ID) Long id,
+                                                              @RequestParam(value = DETECT_CONTENT_TYPE, defaultValue = "false") boolean detectContentType,
+                                                              HttpServletRequest request) {
+        File file = fileService.getFileById(id);
+        MediaType contentType = detectContentType ? mediaTypeResolver.getMediaTypeForFile(FilenameUtils.getName(file.getUrl().getPath())) : MediaType.APPLICATION_OCTET_STREAM;
+        return fileDownloadResponseFactory.createDownloadResponse(file, contentType, request);
+    }
+
+    @ApiOperation(value = "${api.files.getDownloadUrl.value}", notes = "${api.files.getDownloadUrl.notes}")
+    @GetMapping("/download-url" + ID_PATH)
+    public PresignedUrlDTO getDownloadUrl(@PathVariable(ID) Long id) {
+        PresignedUrl presignedUrl = fileService.getPresignedDownloadUrl(id);
+        return fileMapper.mapToPresignedUrlDTO(presignedUrl);
     }
 
     @ApiOperation(value = "${api.files.downloadZip.value}", notes = "${api.files.downloadZip.notes}")
@@ -150,33 +221,61 @@ public class FileController {
         response.setStatus(HttpServletResponse.SC_OK);
         response.addHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + downloadedFileName.orElse("files") + ".zip" + "\"");
         List<FileResource> fileResources = fileService.downloadResources(ids);
-        try(ZipOutputStream outputStream = new ZipOutputStream(response.getOutputStream())) {
-            for (FileResource fileResource : fileResources) {
-                copyResourceToZipOutputStream(outputStream, fileResource);
-            }
+        zipArchiveWriter.getArchiveLength(fileResources).ifPresent(response::setContentLengthLong);
+        zipArchiveWriter.write(fileResources, response.getOutputStream());
+    }
+
+    @ApiOperation(value = "${api.files.uploadFiles.value}", notes = "${api.files.uploadFiles.notes}")
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<FileUploadResponseDTO> uploadFiles(@RequestParam("files") List<MultipartFile> files,
+                                                   @RequestParam(value = MAX_LABELS_PER_FILE, defaultValue = DEFAULT_MAX_LABELS_PER_FILE) int maxLabelsPerFile,
+                                                   @RequestParam(value = MIN_CONFIDENCE, defaultValue = DEFAULT_MIN_CONFIDENCE) float minConfidence,
+                                                   @ApiIgnore @LoggedUser UserInfo userInfo) {
+        List<Resource> resources = fileMapper.mapToResources(files);
+        List<UploadInfo> uploadInfo = fileService.uploadResources(resources, userInfo.getId());
+        return getFileUploadResponseDTOs(uploadInfo, maxLabelsPerFile, minConfidence);
+    }
+
+    @ApiOperation(value = "${api.files.uploadFilesStream.value}", notes = "${api.files.uploadFilesStream.notes}")
+    @PostMapping(value = "/upload-stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<FileUploadResponseDTO> uploadFilesStream(HttpServletRequest request, @ApiIgnore @LoggedUser UserInfo userInfo) {
+        Map<String, String> formFields = new HashMap<>();
+        List<UploadInfo> uploadInfo = new ArrayList<>();
+        multipartStreamReader.read(request,
+                (fieldName, value) -> formFields.put(fieldName, validateFormField(fieldName, value)),
+                (filename, inputStream) -> uploadInfo.add(fileService.uploadResource(filename, inputStream, userInfo.getId())));
+        int maxLabelsPerFile = parseMaxLabelsPerFile(formFields.getOrDefault(MAX_LABELS_PER_FILE, DEFAULT_MAX_LABELS_PER_FILE));
+        float minConfidence = parseMinConfidence(formFields.getOrDefault(MIN_CONFIDENCE, DEFAULT_MIN_CONFIDENCE));
+        return getFileUploadResponseDTOs(uploadInfo, maxLabelsPerFile, minConfidence);
+    }
+
+    private String validateFormField(String fieldName, String value) {
+        if (MAX_LABELS_PER_FILE.equals(fieldName)) {
+            parseMaxLabelsPerFile(value);
+        } else if (MIN_CONFIDENCE.equals(fieldName)) {
+            parseMinConfidence(value);
         }
+        return value;
     }
 
-    private void copyResourceToZipOutputStream(ZipOutputStream outputStream, FileResource fileResource) throws IOException {
-        outputStream.putNextEntry(mapToZipEntry(fileResource.getFile()));
-        fileResource.getResource().getInputStream().transferTo(outputStream);
-        outputStream.closeEntry();
+    private int parseMaxLabelsPerFile(String value) {
+        Integer maxLabelsPerFile = Ints.tryParse(value.trim());
+        if (maxLabelsPerFile == null || maxLabelsPerFile < 0) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Form field {0} must be a non-negative integer, but was {1}", MAX_LABELS_PER_FILE, value));
+        }
+        return maxLabelsPerFile;
     }
 
-    private ZipEntry mapToZipEntry(File file) {
-        ZipEntry zipEntry = new ZipEntry(file.getFullPath());
-        zipEntry.setSize(file.getSize());
-        return zipEntry;
+    private float parseMinConfidence(String value) {
+        Float minConfidence = Floats.tryParse(value.trim());
+        if (minConfidence == null || minConfidence < MIN_CONFIDENCE_LOWER_BOUND || minConfidence > MIN_CONFIDENCE_UPPER_BOUND) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Form field {0} must be a number between {1} and {2}, but was {3}",
+                    MIN_CONFIDENCE, MIN_CONFIDENCE_LOWER_BOUND, MIN_CONFIDENCE_UPPER_BOUND, value));
+        }
+        return minConfidence;
     }
 
-    @ApiOperation(value = "${api.files.uploadFiles.value}", notes = "${api.files.uploadFiles.notes}")
-    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<FileUploadResponseDTO> uploadFiles(@RequestParam("files") List<MultipartFile> files,
-                                                   @RequestParam(value = "path", defaultValue = "") String path,
-                                                   @RequestParam(value = "maxLabelsPerFile", defaultValue = "5") int maxLabelsPerFile,
-                                                   @RequestParam(value = "minConfidence", defaultValue = "80") float minConfidence) {
-        List<Resource> resources = fileMapper.mapToResources(files);
-        List<UploadInfo> uploadInfo = fileService.uploadResources(resources, path);
+    private List<FileUploadResponseDTO> getFileUploadResponseDTOs(List<UploadInfo> uploadInfo, int maxLabelsPerFile, float minConfidence) {
         Map<URI, List<LabelCalculationResult>> suggestedLabelsByUri =
                 labelCalculationService.calculateLabelsForResources(getUrls(uploadInfo), maxLabelsPerFile, minConfidence);
         return fileMapper.mapToFileUploadResponseDTOs(uploadInfo, suggestedLabelsByUri);
@@ -185,6 +284,7 @@ public class FileController {
     private List<URI> getUrls(Collection<UploadInfo> uploadInfo) {
         return uploadInfo.stream()
                 .map(UploadInfo::getUrl)
+                .distinct()
                 .collect(Collectors.toList());
     }
 
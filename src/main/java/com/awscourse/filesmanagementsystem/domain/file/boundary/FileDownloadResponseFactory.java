@@ -0,0 +1,317 @@
+package com.awscourse.filesmanagementsystem.domain.file.boundary;
+
+import com.awscourse.filesmanagementsystem.domain.file.control.FileService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ByteRange;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ContentCodecStreams;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.FileRangeResource;
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentCodec;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class FileDownloadResponseFactory {
+
+    private static final String BYTES_UNIT = "bytes";
+    private static final String NO_RANGES = "none";
+    private static final String ANY_ENCODING = "*";
+    private static final String QUALITY_PARAMETER = "q=";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+    private static final String CRLF = "\r\n";
+    private static final int MAX_RANGES = 16;
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    private final FileService fileService;
+
+    public ResponseEntity<StreamingResponseBody> createDownloadResponse(File file, MediaType contentType, HttpServletRequest request) {
+        HttpHeaders requestHeaders = new ServletServerHttpRequest(request).getHeaders();
+        if (file.getContentCodec() != ContentCodec.NONE) {
+            return createCompressedContentResponse(file, contentType, requestHeaders);
+        }
+        HttpHeaders responseHeaders = getResponseHeaders(file);
+        if (!isRangeRequestApplicable(file, requestHeaders)) {
+            return createFullResponse(file, contentType, responseHeaders, request);
+        }
+        Optional<List<ByteRange>> ranges = getSatisfiableRanges(requestHeaders, file.getSize());
+        if (ranges.isEmpty()) {
+            return createRangeNotSatisfiableResponse(file, responseHeaders);
+        }
+        List<ByteRange> mergedRanges = mergeRanges(ranges.get());
+        if (mergedRanges.size() > MAX_RANGES) {
+            return createFullResponse(file, contentType, responseHeaders, request);
+        }
+        if (mergedRanges.size() == 1) {
+            return createSingleRangeResponse(file, contentType, mergedRanges.get(0), responseHeaders, request);
+        }
+        return createMultiRangeResponse(file, contentType, mergedRanges, responseHeaders);
+    }
+
+    private ResponseEntity<StreamingResponseBody> createCompressedContentResponse(File file, MediaType contentType, HttpHeaders requestHeaders) {
+        ContentCodec codec = file.getContentCodec();
+        Resource resource = fileService.downloadResource(file);
+        if (isContentEncodingAccepted(codec, requestHeaders)) {
+            return ResponseEntity.ok()
+                    .headers(getResponseHeaders(file, NO_RANGES, getETag(file, codec)))
+                    .header(HttpHeaders.CONTENT_ENCODING, codec.getContentEncoding())
+                    .contentType(contentType)
+                    .body(outputStream -> copy(resource, outputStream));
+        }
+        return ResponseEntity.ok()
+                .headers(getResponseHeaders(file, NO_RANGES, getETag(file)))
+                .contentType(contentType)
+                .contentLength(file.getSize())
+                .body(outputStream -> copyDecoded(resource, codec, outputStream));
+    }
+
+    private boolean isContentEncodingAccepted(ContentCodec codec, HttpHeaders requestHeaders) {
+        return requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING).stream()
+                .flatMap(acceptEncoding -> Arrays.stream(StringUtils.tokenizeToStringArray(acceptEncoding, ",")))
+                .anyMatch(coding -> isContentEncodingAccepted(codec, coding));
+    }
+
+    private boolean isContentEncodingAccepted(ContentCodec codec, String coding) {
+        String[] parts = StringUtils.tokenizeToStringArray(coding, ";");
+        if (parts.length == 0 || !(parts[0].equalsIgnoreCase(codec.getContentEncoding()) || parts[0].equals(ANY_ENCODING))) {
+            return false;
+        }
+        return Arrays.stream(parts)
+                .skip(1)
+                .filter(parameter -> parameter.startsWith(QUALITY_PARAMETER))
+                .noneMatch(parameter -> isZeroQuality(parameter.substring(QUALITY_PARAMETER.length())));
+    }
+
+    private boolean isZeroQuality(String quality) {
+        try {
+            return Double.parseDouble(quality) == 0;
+        } catch (NumberFormatException exception) {
+            return true;
+        }
+    }
+
+    private HttpHeaders getResponseHeaders(File file) {
+        return getResponseHeaders(file, BYTES_UNIT, getETag(file));
+    }
+
+    private HttpHeaders getResponseHeaders(File file, String acceptRanges, String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_RANGES, acceptRanges);
+        headers.setETag(eTag);
+        headers.setLastModified(file.getUpdatedAt());
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getName() + "\"");
+        if (file.getContentCodec() != ContentCodec.NONE) {
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        }
+        return headers;
+    }
+
+    private String getETag(File file) {
+        return "\"" + file.getId() + "-" + file.getUpdatedAt().toEpochMilli() + "\"";
+    }
+
+    private String getETag(File file, ContentCodec codec) {
+        return "\"" + file.getId() + "-" + file.getUpdatedAt().toEpochMilli() + "-" + codec.getContentEncoding() + "\"";
+    }
+
+    private boolean isRangeRequestApplicable(File file, HttpHeaders requestHeaders) {
+        if (requestHeaders.getFirst(HttpHeaders.RANGE) == null) {
+            return false;
+        }
+        return Optional.ofNullable(requestHeaders.getFirst(HttpHeaders.IF_RANGE))
+                .map(ifRange -> isIfRangeSatisfied(file, ifRange))
+                .orElse(true);
+    }
+
+    private boolean isIfRangeSatisfied(File file, String ifRange) {
+        if (ifRange.startsWith(WEAK_ETAG_PREFIX)) {
+            return false;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(getETag(file));
+        }
+        try {
+            Instant ifRangeDate = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return ifRangeDate.equals(file.getUpdatedAt().truncatedTo(ChronoUnit.SECONDS));
+        } catch (DateTimeParseException exception) {
+            return false;
+        }
+    }
+
+    private Optional<List<ByteRange>> getSatisfiableRanges(HttpHeaders requestHeaders, long size) {
+        try {
+            return Optional.of(requestHeaders.getRange().stream()
+                    .map(range -> new ByteRange(range.getRangeStart(size), range.getRangeEnd(size)))
+                    .filter(range -> range.getStart() <= range.getEnd())
+                    .collect(Collectors.toList()))
+                    .filter(ranges -> !ranges.isEmpty());
+        } catch (IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private List<ByteRange> mergeRanges(List<ByteRange> ranges) {
+        List<ByteRange> sortedRanges = ranges.stream()
+                .sorted(Comparator.comparingLong(ByteRange::getStart))
+                .collect(Collectors.toList());
+        List<ByteRange> mergedRanges = new ArrayList<>();
+        ByteRange currentRange = sortedRanges.get(0);
+        for (ByteRange range : sortedRanges.subList(1, sortedRanges.size())) {
+            if (range.getStart() <= currentRange.getEnd() + 1) {
+                currentRange = new ByteRange(currentRange.getStart(), Math.max(currentRange.getEnd(), range.getEnd()));
+            } else {
+                mergedRanges.add(currentRange);
+                currentRange = range;
+            }
+        }
+        mergedRanges.add(currentRange);
+        return mergedRanges;
+    }
+
+    private ResponseEntity<StreamingResponseBody> createFullResponse(File file, MediaType contentType, HttpHeaders headers, HttpServletRequest request) {
+        Resource resource = fileService.downloadResource(file);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .headers(headers)
+                .contentType(contentType)
+                .contentLength(file.getSize());
+        if (resource.isFile()) {
+            return createFileRegionResponse(response, getPath(resource), 0, file.getSize(), request);
+        }
+        return response.body(outputStream -> copy(resource, outputStream));
+    }
+
+    private ResponseEntity<StreamingResponseBody> createRangeNotSatisfiableResponse(File file, HttpHeaders headers) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .headers(headers)
+                .header(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + file.getSize())
+                .build();
+    }
+
+    private ResponseEntity<StreamingResponseBody> createSingleRangeResponse(File file, MediaType contentType, ByteRange range, HttpHeaders headers,
+                                                                            HttpServletRequest request) {
+        Resource resource = fileService.downloadResource(file, range);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .headers(headers)
+                .header(HttpHeaders.CONTENT_RANGE, getContentRange(range, file.getSize()))
+                .contentType(contentType)
+                .contentLength(range.getLength());
+        if (resource instanceof FileRangeResource) {
+            FileRangeResource fileRangeResource = (FileRangeResource) resource;
+            return createFileRegionResponse(response, fileRangeResource.getPath(), range.getStart(), range.getLength(), request);
+        }
+        return response.body(outputStream -> copy(resource, outputStream));
+    }
+
+    private ResponseEntity<StreamingResponseBody> createFileRegionResponse(ResponseEntity.BodyBuilder response, Path path, long position, long count,
+                                                                           HttpServletRequest request) {
+        if (count > 0 && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, path.toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, position);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, position + count);
+            return response.build();
+        }
+        return response.body(outputStream -> transfer(path, position, count, outputStream));
+    }
+
+    private ResponseEntity<StreamingResponseBody> createMultiRangeResponse(File file, MediaType contentType, List<ByteRange> ranges, HttpHeaders headers) {
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .headers(headers)
+                .contentType(MediaType.parseMediaType("multipart/byteranges; boundary=" + boundary))
+                .body(outputStream -> writeRanges(file, contentType, ranges, boundary, outputStream));
+    }
+
+    private void writeRanges(File file, MediaType contentType, List<ByteRange> ranges, String boundary, OutputStream outputStream) throws IOException {
+        for (ByteRange range : ranges) {
+            write(outputStream, CRLF + "--" + boundary + CRLF);
+            write(outputStream, HttpHeaders.CONTENT_TYPE + ": " + contentType + CRLF);
+            write(outputStream, HttpHeaders.CONTENT_RANGE + ": " + getContentRange(range, file.getSize()) + CRLF + CRLF);
+            Resource resource = fileService.downloadResource(file, range);
+            if (resource instanceof FileRangeResource) {
+                transfer(((FileRangeResource) resource).getPath(), range.getStart(), range.getLength(), outputStream);
+            } else {
+                copy(resource, outputStream);
+            }
+        }
+        write(outputStream, CRLF + "--" + boundary + "--" + CRLF);
+    }
+
+    private String getContentRange(ByteRange range, long size) {
+        return BYTES_UNIT + " " + range.getStart() + "-" + range.getEnd() + "/" + size;
+    }
+
+    private void write(OutputStream outputStream, String text) throws IOException {
+        outputStream.write(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void copy(Resource resource, OutputStream outputStream) throws IOException {
+        try (InputStream inputStream = resource.getInputStream()) {
+            inputStream.transferTo(outputStream);
+        }
+    }
+
+    private void transfer(Path path, long position, long count, OutputStream outputStream) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel targetChannel = Channels.newChannel(outputStream);
+            long end = position + count;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, targetChannel);
+                if (transferred <= 0) {
+                    throw new EOFException(MessageFormat.format("File {0} ended before byte {1}", path, end));
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private Path getPath(Resource resource) {
+        try {
+            return resource.getFile().toPath();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void copyDecoded(Resource resource, ContentCodec codec, OutputStream outputStream) throws IOException {
+        try (InputStream inputStream = ContentCodecStreams.decode(codec, resource.getInputStream())) {
+            inputStream.transferTo(outputStream);
+        }
+    }
+
+}
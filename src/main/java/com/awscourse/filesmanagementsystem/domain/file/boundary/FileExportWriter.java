@@ -0,0 +1,48 @@
+package com.awscourse.filesmanagementsystem.domain.file.boundary;
+
+import com.awscourse.filesmanagementsystem.api.file.FileDetailsDTO;
+import com.awscourse.filesmanagementsystem.domain.file.control.FileService;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class FileExportWriter {
+
+    private static final int LINE_SEPARATOR = '\n';
+
+    private final FileService fileService;
+    private final FileMapper fileMapper;
+    private final ObjectMapper objectMapper;
+
+    public void write(FilesSearchCriteria searchCriteria, Sort sort, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(FileDetailsDTO.class);
+        try {
+            fileService.exportFilesByCriteria(searchCriteria, sort, files -> writeLines(writer, files, outputStream));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private void writeLines(ObjectWriter writer, List<File> files, OutputStream outputStream) {
+        try {
+            for (File file : files) {
+                outputStream.write(writer.writeValueAsBytes(fileMapper.mapToFileDetailsDTO(file)));
+                outputStream.write(LINE_SEPARATOR);
+            }
+            outputStream.flush();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+}
@@ -1,18 +1,29 @@
 package com.awscourse.filesmanagementsystem.domain.file.boundary;
 
 import com.awscourse.filesmanagementsystem.api.common.ResourceDTO;
+import com.awscourse.filesmanagementsystem.api.file.DateBucketDTO;
+import com.awscourse.filesmanagementsystem.api.file.DirectUploadDTO;
 import com.awscourse.filesmanagementsystem.api.file.FileDTO;
 import com.awscourse.filesmanagementsystem.api.file.FileDetailsDTO;
+import com.awscourse.filesmanagementsystem.api.file.FileFacetsDTO;
 import com.awscourse.filesmanagementsystem.api.file.FileUploadResponseDTO;
 import com.awscourse.filesmanagementsystem.api.file.FilesSearchResultDTO;
+import com.awscourse.filesmanagementsystem.api.file.LabelCountDTO;
+import com.awscourse.filesmanagementsystem.api.file.PresignedUrlDTO;
+import com.awscourse.filesmanagementsystem.api.file.SizeBucketDTO;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.PresignedUrl;
+import com.awscourse.filesmanagementsystem.domain.file.entity.DirectUpload;
 import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FileFacets;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FilesSearchResult;
 import com.awscourse.filesmanagementsystem.domain.file.entity.UploadInfo;
 import com.awscourse.filesmanagementsystem.domain.label.boundary.LabelMapper;
 import com.awscourse.filesmanagementsystem.domain.label.entity.LabelCalculationResult;
 import com.awscourse.filesmanagementsystem.domain.user.boundary.UserMapper;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -34,15 +45,37 @@ public class FileMapper {
     private final LabelMapper labelMapper;
     private final UserMapper userMapper;
 
-    public FilesSearchResultDTO mapToFilesSearchResultDTO(Page<File> filePage) {
+    public FilesSearchResultDTO mapToFilesSearchResultDTO(FilesSearchResult searchResult, Pageable pageable) {
         return FilesSearchResultDTO.builder()
-                .results(mapToFileDetailsDTOs(filePage.getContent()))
-                .totalSize(filePage.getTotalElements())
-                .pageSize(filePage.getSize())
-                .pageNumber(filePage.getNumber())
+                .results(Collections.unmodifiableList(mapToFileDetailsDTOs(searchResult.getFiles())))
+                .totalSize(searchResult.getTotalCount())
+                .pageSize(pageable.getPageSize())
+                .pageNumber(pageable.getPageNumber())
+                .nextCursor(searchResult.getNextCursor())
+                .truncated(searchResult.isTruncated())
                 .build();
     }
 
+    public FileFacetsDTO mapToFileFacetsDTO(FileFacets facets) {
+        return FileFacetsDTO.builder()
+                .labelCounts(TransformUtils.transformToList(facets.getLabelCounts(), this::mapToLabelCountDTO))
+                .sizeBuckets(TransformUtils.transformToList(facets.getSizeBuckets(), this::mapToSizeBucketDTO))
+                .createdAtHistogram(TransformUtils.transformToList(facets.getCreatedAtHistogram(), this::mapToDateBucketDTO))
+                .build();
+    }
+
+    private LabelCountDTO mapToLabelCountDTO(FileFacets.LabelCount labelCount) {
+        return new LabelCountDTO(labelCount.getLabelName(), labelCount.getCount());
+    }
+
+    private SizeBucketDTO mapToSizeBucketDTO(FileFacets.SizeBucket sizeBucket) {
+        return new SizeBucketDTO(sizeBucket.getMinSize(), sizeBucket.getMaxSize(), sizeBucket.getCount());
+    }
+
+    private DateBucketDTO mapToDateBucketDTO(FileFacets.DateBucket dateBucket) {
+        return new DateBucketDTO(dateBucket.getStart(), dateBucket.getCount());
+    }
+
     public List<FileDetailsDTO> mapToFileDetailsDTOs(Collection<File> files) {
         return files.stream()
                 .map(this::mapToFileDetailsDTO)
@@ -60,7 +93,7 @@ public class FileMapper {
                 .fullPath(file.getFullPath())
                 .description(file.getDescription())
                 .size(file.getSize())
-                .labels(labelMapper.mapToLabelDetailDTOs(file.getLabels()))
+                .labels(Collections.unmodifiableList(labelMapper.mapToLabelDetailDTOs(file.getLabels())))
                 .createdAt(file.getCreatedAt())
                 .createdBy(userMapper.mapToUserDTO(file.getCreatedBy()))
                 .lastModifiedAt(file.getUpdatedAt())
@@ -120,6 +153,19 @@ public class FileMapper {
                 .toUri();
     }
 
+    public DirectUploadDTO mapToDirectUploadDTO(DirectUpload directUpload) {
+        return DirectUploadDTO.builder()
+                .filename(directUpload.getFilename())
+                .url(directUpload.getUrl())
+                .uploadUrl(directUpload.getUploadUrl().getUrl())
+                .expiresAt(directUpload.getUploadUrl().getExpiresAt())
+                .build();
+    }
+
+    public PresignedUrlDTO mapToPresignedUrlDTO(PresignedUrl presignedUrl) {
+        return new PresignedUrlDTO(presignedUrl.getUrl(), presignedUrl.getExpiresAt());
+    }
+
     public List<Resource> mapToResources(List<MultipartFile> multipartFiles) {
         return multipartFiles.stream()
                 .map(MultipartFile::getResource)
@@ -0,0 +1,203 @@
+package com.awscourse.filesmanagementsystem.domain.file.boundary;
+
+import com.awscourse.filesmanagementsystem.api.file.FileDetailsDTO;
+import com.awscourse.filesmanagementsystem.api.file.FilesSearchResultDTO;
+import com.awscourse.filesmanagementsystem.api.label.LabelDetailsDTO;
+import com.awscourse.filesmanagementsystem.domain.file.control.FilesSearchCriteriaNormalizer;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+public class FileSearchCache {
+
+    private static final String CACHE_NAME = "fileSearchResults";
+    private static final int RESULT_WEIGHT = 256;
+    private static final int FILE_WEIGHT = 512;
+    private static final int LABEL_WEIGHT = 256;
+
+    private final Cache<SearchKey, CachedSearchResult> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final Object invalidationLock = new Object();
+    private final Set<CachedSearchResult> resultsOfAllOwners = new HashSet<>();
+    private final SetMultimap<String, CachedSearchResult> resultsByOwner = HashMultimap.create();
+    private final SetMultimap<Long, CachedSearchResult> resultsByFileId = HashMultimap.create();
+    private final SetMultimap<Long, CachedSearchResult> resultsByLabelId = HashMultimap.create();
+    private final SetMultimap<String, CachedSearchResult> resultsByFilteringLabelName = HashMultimap.create();
+
+    public FileSearchCache(@Value("${app.search.result-cache.max-size}") DataSize maxSize,
+                           @Value("${app.search.result-cache.time-to-live}") Duration timeToLive,
+                           MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((SearchKey key, CachedSearchResult cachedSearchResult) -> cachedSearchResult.getWeight())
+                .expireAfterWrite(timeToLive)
+                .removalListener((SearchKey key, CachedSearchResult cachedSearchResult, RemovalCause cause) ->
+                        unregister(cachedSearchResult))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public FilesSearchResultDTO getSearchResult(FilesSearchCriteria searchCriteria, String cursor, Pageable pageable, boolean includeTotalCount,
+                                                Supplier<FilesSearchResultDTO> search) {
+        if (searchCriteria.getText() != null) {
+            return search.get();
+        }
+        SearchKey key = new SearchKey(FilesSearchCriteriaNormalizer.normalize(searchCriteria), cursor, pageable, includeTotalCount);
+        CachedSearchResult cachedSearchResult = cache.getIfPresent(key);
+        if (cachedSearchResult != null) {
+            return cachedSearchResult.getSearchResult();
+        }
+        long generationBeforeSearch = generation.get();
+        FilesSearchResultDTO searchResult = search.get();
+        synchronized (invalidationLock) {
+            if (generation.get() == generationBeforeSearch) {
+                CachedSearchResult createdSearchResult = new CachedSearchResult(key, searchResult);
+                register(createdSearchResult);
+                cache.put(key, createdSearchResult);
+            }
+        }
+        return searchResult;
+    }
+
+    public void invalidateFilesOwnedBy(Collection<String> ownerUsernames) {
+        synchronized (invalidationLock) {
+            Set<CachedSearchResult> affectedSearchResults = new HashSet<>(resultsOfAllOwners);
+            ownerUsernames.forEach(ownerUsername -> affectedSearchResults.addAll(resultsByOwner.get(ownerUsername)));
+            invalidate(affectedSearchResults);
+        }
+    }
+
+    public void invalidateLabelAssignments(Collection<Long> fileIds, Collection<String> labelNames, Collection<String> ownerUsernames) {
+        synchronized (invalidationLock) {
+            Set<CachedSearchResult> affectedSearchResults = new HashSet<>();
+            fileIds.forEach(fileId -> affectedSearchResults.addAll(resultsByFileId.get(fileId)));
+            labelNames.forEach(labelName -> affectedSearchResults.addAll(resultsByFilteringLabelName.get(labelName)));
+            affectedSearchResults.removeIf(cachedSearchResult -> !cachedSearchResult.isOwnedByAnyOf(ownerUsernames));
+            invalidate(affectedSearchResults);
+        }
+    }
+
+    public void invalidateLabels(Collection<Long> labelIds) {
+        synchronized (invalidationLock) {
+            Set<CachedSearchResult> affectedSearchResults = new HashSet<>(resultsByFilteringLabelName.values());
+            labelIds.forEach(labelId -> affectedSearchResults.addAll(resultsByLabelId.get(labelId)));
+            invalidate(affectedSearchResults);
+        }
+    }
+
+    private void invalidate(Collection<CachedSearchResult> affectedSearchResults) {
+        generation.incrementAndGet();
+        affectedSearchResults.forEach(cachedSearchResult -> {
+            unregister(cachedSearchResult);
+            cache.asMap().remove(cachedSearchResult.getKey(), cachedSearchResult);
+        });
+    }
+
+    private void register(CachedSearchResult cachedSearchResult) {
+        if (cachedSearchResult.getCreatedBy() == null) {
+            resultsOfAllOwners.add(cachedSearchResult);
+        } else {
+            resultsByOwner.put(cachedSearchResult.getCreatedBy(), cachedSearchResult);
+        }
+        cachedSearchResult.getFileIds().forEach(fileId -> resultsByFileId.put(fileId, cachedSearchResult));
+        cachedSearchResult.getLabelIds().forEach(labelId -> resultsByLabelId.put(labelId, cachedSearchResult));
+        cachedSearchResult.getFilteringLabelNames().forEach(labelName -> resultsByFilteringLabelName.put(labelName, cachedSearchResult));
+    }
+
+    private void unregister(CachedSearchResult cachedSearchResult) {
+        synchronized (invalidationLock) {
+            if (cachedSearchResult.getCreatedBy() == null) {
+                resultsOfAllOwners.remove(cachedSearchResult);
+            } else {
+                resultsByOwner.remove(cachedSearchResult.getCreatedBy(), cachedSearchResult);
+            }
+            cachedSearchResult.getFileIds().forEach(fileId -> resultsByFileId.remove(fileId, cachedSearchResult));
+            cachedSearchResult.getLabelIds().forEach(labelId -> resultsByLabelId.remove(labelId, cachedSearchResult));
+            cachedSearchResult.getFilteringLabelNames().forEach(labelName -> resultsByFilteringLabelName.remove(labelName, cachedSearchResult));
+        }
+    }
+
+    @Data
+    private static class SearchKey {
+
+        private final FilesSearchCriteria searchCriteria;
+        private final String cursor;
+        private final Pageable pageable;
+        private final boolean includeTotalCount;
+
+    }
+
+    @Getter
+    private static class CachedSearchResult {
+
+        private final SearchKey key;
+        private final FilesSearchResultDTO searchResult;
+        private final String createdBy;
+        private final Set<String> filteringLabelNames;
+        private final Set<Long> fileIds;
+        private final Set<Long> labelIds;
+        private final int weight;
+
+        CachedSearchResult(SearchKey key, FilesSearchResultDTO searchResult) {
+            FilesSearchCriteria searchCriteria = key.getSearchCriteria();
+            this.key = key;
+            this.searchResult = searchResult;
+            this.createdBy = searchCriteria.getCreatedBy();
+            this.filteringLabelNames = Stream.of(searchCriteria.getContainsAnyOfLabels(), searchCriteria.getContainsAllOfLabels())
+                    .filter(Objects::nonNull)
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toSet());
+            this.fileIds = TransformUtils.transformToSet(searchResult.getResults(), FileDetailsDTO::getId);
+            this.labelIds = searchResult.getResults().stream()
+                    .flatMap(file -> file.getLabels().stream())
+                    .map(LabelDetailsDTO::getId)
+                    .collect(Collectors.toSet());
+            this.weight = RESULT_WEIGHT + searchResult.getResults().stream()
+                    .mapToInt(CachedSearchResult::estimateWeight)
+                    .sum();
+        }
+
+        private static int estimateWeight(FileDetailsDTO file) {
+            int labelsWeight = file.getLabels().stream()
+                    .mapToInt(label -> LABEL_WEIGHT + estimateWeight(label.getName(), label.getDescription()))
+                    .sum();
+            return FILE_WEIGHT + labelsWeight + estimateWeight(file.getName(), file.getPath(), file.getFullPath(), file.getDescription());
+        }
+
+        private static int estimateWeight(String... texts) {
+            return Stream.of(texts)
+                    .mapToInt(text -> Optional.ofNullable(text).map(String::length).orElse(0) * Character.BYTES)
+                    .sum();
+        }
+
+        boolean isOwnedByAnyOf(Collection<String> ownerUsernames) {
+            return createdBy == null || ownerUsernames.contains(createdBy);
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.awscourse.filesmanagementsystem.domain.file.boundary;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.label.boundary.LabelBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.label.boundary.LabelBulkUpdatedEvent;
+import com.awscourse.filesmanagementsystem.domain.label.entity.Label;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.boundary.LabelAssignmentBulkCreatedEvent;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.boundary.LabelAssignmentBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment;
+import com.awscourse.filesmanagementsystem.domain.user.control.UserService;
+import com.awscourse.filesmanagementsystem.domain.user.entity.User;
+import com.awscourse.filesmanagementsystem.infrastructure.event.crud.bulk.BulkAbstractEvent;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class FileSearchCacheListener {
+
+    private final FileSearchCache fileSearchCache;
+    private final UserService userService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT,
+            classes = {FileBulkCreatedEvent.class, FileBulkUpdatedEvent.class, FileBulkDeletedEvent.class})
+    public void invalidateSearchesOfChangedFiles(BulkAbstractEvent<File> event) {
+        Set<String> ownerUsernames = getOwnerUsernames(event.getRelatedObjects());
+        afterCommit(() -> fileSearchCache.invalidateFilesOwnedBy(ownerUsernames));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT,
+            classes = {LabelAssignmentBulkCreatedEvent.class, LabelAssignmentBulkDeletedEvent.class})
+    public void invalidateSearchesOfChangedLabelAssignments(BulkAbstractEvent<LabelAssignment> event) {
+        List<File> files = TransformUtils.transformToList(event.getRelatedObjects(), LabelAssignment::getFile);
+        Set<String> labelNames = TransformUtils.transformToSet(event.getRelatedObjects(), labelAssignment -> labelAssignment.getLabel().getName());
+        Set<Long> fileIds = TransformUtils.transformToSet(files, File::getId);
+        Set<String> ownerUsernames = getOwnerUsernames(files);
+        afterCommit(() -> fileSearchCache.invalidateLabelAssignments(fileIds, labelNames, ownerUsernames));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, classes = {LabelBulkUpdatedEvent.class, LabelBulkDeletedEvent.class})
+    public void invalidateSearchesOfChangedLabels(BulkAbstractEvent<Label> event) {
+        Set<Long> labelIds = TransformUtils.transformToSet(event.getRelatedObjects(), Label::getId);
+        afterCommit(() -> fileSearchCache.invalidateLabels(labelIds));
+    }
+
+    private void afterCommit(Runnable invalidation) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+
+    private Set<String> getOwnerUsernames(Collection<File> files) {
+        return files.stream()
+                .map(File::getCreatedBy)
+                .filter(Objects::nonNull)
+                .map(User::getId)
+                .distinct()
+                .map(userService::getExistingUser)
+                .map(User::getUsername)
+                .collect(Collectors.toSet());
+    }
+
+}
@@ -11,6 +11,7 @@ import java.util.List;
 public class FilesSearchCriteria {
 
     private String name;
+    private String text;
     private List<String> containsAnyOfLabels;
     private List<String> containsAllOfLabels;
     private Long minSize;
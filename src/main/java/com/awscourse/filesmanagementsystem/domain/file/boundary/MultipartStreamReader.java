@@ -0,0 +1,64 @@
+package com.awscourse.filesmanagementsystem.domain.file.boundary;
+
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.apache.commons.fileupload.util.Streams;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiConsumer;
+
+@Component
+public class MultipartStreamReader {
+
+    private final long maxFileSize;
+    private final long maxRequestSize;
+
+    public MultipartStreamReader(@Value("${spring.servlet.multipart.max-file-size}") DataSize maxFileSize,
+                                 @Value("${spring.servlet.multipart.max-request-size}") DataSize maxRequestSize) {
+        this.maxFileSize = maxFileSize.toBytes();
+        this.maxRequestSize = maxRequestSize.toBytes();
+    }
+
+    public void read(HttpServletRequest request, BiConsumer<String, String> formFieldConsumer, BiConsumer<String, InputStream> fileConsumer) {
+        if (!ServletFileUpload.isMultipartContent(request)) {
+            throw new IllegalArgumentAppException("Request is not a multipart request");
+        }
+        try {
+            FileItemIterator itemIterator = createFileUpload().getItemIterator(request);
+            while (itemIterator.hasNext()) {
+                readItem(itemIterator.next(), formFieldConsumer, fileConsumer);
+            }
+        } catch (FileUploadException | IOException exception) {
+            throw new IllegalArgumentAppException("Error during reading multipart request: ", exception);
+        }
+    }
+
+    private ServletFileUpload createFileUpload() {
+        ServletFileUpload fileUpload = new ServletFileUpload();
+        fileUpload.setFileSizeMax(maxFileSize);
+        fileUpload.setSizeMax(maxRequestSize);
+        fileUpload.setHeaderEncoding(StandardCharsets.UTF_8.name());
+        return fileUpload;
+    }
+
+    private void readItem(FileItemStream item, BiConsumer<String, String> formFieldConsumer, BiConsumer<String, InputStream> fileConsumer) throws IOException {
+        try (InputStream inputStream = item.openStream()) {
+            if (item.isFormField()) {
+                formFieldConsumer.accept(item.getFieldName(), Streams.asString(inputStream, StandardCharsets.UTF_8.name()));
+            } else if (StringUtils.isNotEmpty(item.getName())) {
+                fileConsumer.accept(item.getName(), inputStream);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.awscourse.filesmanagementsystem.domain.file.boundary.ContentBlobBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.StorageService;
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentBlob;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class ContentBlobListener {
+
+    private final ContentBlobService contentBlobService;
+    private final StorageService storageService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void removeReferencesOfRemovedFiles(FileBulkDeletedEvent event) {
+        contentBlobService.removeReferences(TransformUtils.transformToList(event.getRelatedObjects(), File::getUrl));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void deleteContentOfRemovedBlobs(ContentBlobBulkDeletedEvent event) {
+        storageService.deleteResources(TransformUtils.transformToList(event.getRelatedObjects(), ContentBlob::getUrl));
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ContentBlobReaper {
+
+    private final ContentBlobService contentBlobService;
+
+    @Scheduled(fixedDelayString = "${app.content-blob.reaper-interval}")
+    public void deleteUnreferencedBlobs() {
+        contentBlobService.deleteUnreferencedBlobs();
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ContentBlobRepository extends JpaRepository<ContentBlob, String> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ContentBlob b SET b.referenceCount = b.referenceCount + :delta WHERE b.url = :url")
+    int updateReferenceCount(@Param("url") URI url, @Param("delta") long delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ContentBlob b SET b.lastUploadedAt = :lastUploadedAt WHERE b.hash IN :hashes")
+    int updateLastUploadedAt(@Param("hashes") Collection<String> hashes, @Param("lastUploadedAt") Instant lastUploadedAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT IGNORE INTO content_blob (hash, url, size, codec, crc32, reference_count, last_uploaded_at) "
+            + "VALUES (:hash, :url, :size, :codec, :crc32, 0, :lastUploadedAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash, @Param("url") String url, @Param("size") long size, @Param("codec") String codec,
+                       @Param("crc32") Long crc32, @Param("lastUploadedAt") Instant lastUploadedAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ContentBlob> findLockedByHashIn(Collection<String> hashes);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ContentBlob> findLockedByUrlIn(Collection<URI> urls);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ContentBlob b WHERE b.referenceCount <= 0 AND (b.lastUploadedAt IS NULL OR b.lastUploadedAt < :uploadedBefore)")
+    List<ContentBlob> findLockedUnreferencedUploadedBefore(@Param("uploadedBefore") Instant uploadedBefore);
+
+    List<ContentBlob> findAllByUrlIn(Collection<URI> urls);
+
+    List<ContentBlob> findAllByUrlInAndReferenceCountLessThanEqual(Collection<URI> urls, long referenceCount);
+
+}
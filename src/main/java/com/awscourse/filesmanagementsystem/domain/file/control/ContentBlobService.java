@@ -0,0 +1,255 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.awscourse.filesmanagementsystem.domain.file.boundary.ContentBlobBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.CompressedResource;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.CompressionPolicy;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ContentCodecStreams;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.StorageService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.url.UrlProvider;
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentBlob;
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentCodec;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import com.google.common.io.ByteStreams;
+import com.google.common.collect.Sets;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class ContentBlobService {
+
+    private static final long NO_REFERENCES = 0;
+    private static final long SINGLE_REFERENCE = 1;
+
+    private final ContentBlobRepository contentBlobRepository;
+    private final ContentBlobUploadRepository contentBlobUploadRepository;
+    private final StorageService storageService;
+    private final UrlProvider urlProvider;
+    private final CompressionPolicy compressionPolicy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration unreferencedTimeToLive;
+
+    public ContentBlobService(ContentBlobRepository contentBlobRepository,
+                              ContentBlobUploadRepository contentBlobUploadRepository,
+                              StorageService storageService,
+                              UrlProvider urlProvider,
+                              CompressionPolicy compressionPolicy,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${app.content-blob.unreferenced-time-to-live}") Duration unreferencedTimeToLive) {
+        this.contentBlobRepository = contentBlobRepository;
+        this.contentBlobUploadRepository = contentBlobUploadRepository;
+        this.storageService = storageService;
+        this.urlProvider = urlProvider;
+        this.compressionPolicy = compressionPolicy;
+        this.eventPublisher = eventPublisher;
+        this.unreferencedTimeToLive = unreferencedTimeToLive;
+    }
+
+    public List<URI> saveResources(List<Resource> resources, Long ownerId) {
+        List<ContentDigest> digests = TransformUtils.transformToList(resources, this::computeDigest);
+        Map<String, ContentBlob> blobsByHash = getExistingBlobsByHash(TransformUtils.transformToList(digests, ContentDigest::getHash));
+        Map<URI, Resource> resourcesToSaveByUrl = new HashMap<>();
+        List<ContentBlob> blobsToCreate = new ArrayList<>();
+        for (int i = 0; i < resources.size(); i++) {
+            Resource resource = resources.get(i);
+            ContentDigest digest = digests.get(i);
+            blobsByHash.computeIfAbsent(digest.getHash(), hash -> {
+                ContentCodec codec = compressionPolicy.getCodec(resource.getFilename());
+                ContentBlob blob = createContentBlob(digest, urlProvider.getUrlForContent(hash, resource.getFilename()), codec);
+                resourcesToSaveByUrl.put(blob.getUrl(), getResourceToSave(resource, codec));
+                blobsToCreate.add(blob);
+                return blob;
+            });
+        }
+        storageService.saveResources(resourcesToSaveByUrl);
+        Map<String, ContentBlob> savedBlobsByHash = saveBlobs(blobsToCreate, blobsByHash.keySet(), ownerId);
+        return TransformUtils.transformToList(digests, digest -> savedBlobsByHash.get(digest.getHash()).getUrl());
+    }
+
+    private Resource getResourceToSave(Resource resource, ContentCodec codec) {
+        return codec == ContentCodec.NONE ? resource : new CompressedResource(resource, codec);
+    }
+
+    private ContentDigest computeDigest(Resource resource) {
+        try (DigestingInputStream inputStream = new DigestingInputStream(resource.getInputStream())) {
+            ByteStreams.exhaust(inputStream);
+            return inputStream.getDigest();
+        } catch (IOException exception) {
+            throw new IllegalArgumentAppException("Error during computing file content hash: ", exception);
+        }
+    }
+
+    private ContentBlob createContentBlob(ContentDigest digest, URI url, ContentCodec codec) {
+        return new ContentBlob(digest.getHash(), url, digest.getSize(), codec, digest.getCrc32(), NO_REFERENCES, null);
+    }
+
+    private Map<String, ContentBlob> getExistingBlobsByHash(Collection<String> hashes) {
+        return contentBlobRepository.findAllById(new HashSet<>(hashes)).stream()
+                .collect(Collectors.toMap(ContentBlob::getHash, Function.identity()));
+    }
+
+    private Map<String, ContentBlob> saveBlobs(Collection<ContentBlob> blobsToCreate, Collection<String> hashes, Long ownerId) {
+        Instant uploadedAt = Instant.now();
+        blobsToCreate.forEach(blob -> contentBlobRepository.insertIfAbsent(blob.getHash(), blob.getUrl().toString(), blob.getSize(),
+                blob.getCodec().name(), blob.getCrc32(), uploadedAt));
+        Map<String, ContentBlob> blobsByHash = TransformUtils.transformToMap(contentBlobRepository.findLockedByHashIn(new HashSet<>(hashes)),
+                ContentBlob::getHash, Function.identity());
+        validateIfBlobsExist(hashes, blobsByHash);
+        deleteContentOfConcurrentlyCreatedBlobs(blobsToCreate, blobsByHash);
+        contentBlobRepository.updateLastUploadedAt(blobsByHash.keySet(), uploadedAt);
+        blobsByHash.keySet().forEach(hash -> contentBlobUploadRepository.insertIfAbsent(hash, ownerId));
+        return blobsByHash;
+    }
+
+    private void validateIfBlobsExist(Collection<String> hashes, Map<String, ContentBlob> blobsByHash) {
+        Set<String> missingHashes = Sets.difference(new HashSet<>(hashes), blobsByHash.keySet());
+        if (!missingHashes.isEmpty()) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Content {0} was removed during upload, upload it again", missingHashes));
+        }
+    }
+
+    private void deleteContentOfConcurrentlyCreatedBlobs(Collection<ContentBlob> blobsToCreate, Map<String, ContentBlob> blobsByHash) {
+        List<URI> unusedUrls = blobsToCreate.stream()
+                .filter(blob -> !blob.getUrl().equals(blobsByHash.get(blob.getHash()).getUrl()))
+                .map(ContentBlob::getUrl)
+                .collect(Collectors.toList());
+        if (!unusedUrls.isEmpty()) {
+            storageService.deleteResources(unusedUrls);
+        }
+    }
+
+    public URI saveStream(String filename, InputStream inputStream, Long ownerId) {
+        URI stagingUrl = urlProvider.getStagingUrl(filename);
+        DigestingInputStream digestingInputStream = new DigestingInputStream(inputStream);
+        ContentCodec codec = compressionPolicy.getCodec(filename);
+        storageService.saveResource(ContentCodecStreams.encode(codec, digestingInputStream), stagingUrl);
+        return saveStagedContent(filename, stagingUrl, digestingInputStream.getDigest(), codec, ownerId);
+    }
+
+    public URI saveStagedResource(String filename, URI stagingUrl, Long ownerId) {
+        return saveStagedContent(filename, stagingUrl, computeDigest(storageService.getResource(stagingUrl)), ContentCodec.NONE, ownerId);
+    }
+
+    public URI saveStagedResource(String filename, URI stagingUrl, RunningContentDigest digest, Long ownerId) {
+        return saveStagedContent(filename, stagingUrl, digest.getDigest(), ContentCodec.NONE, ownerId);
+    }
+
+    private URI saveStagedContent(String filename, URI stagingUrl, ContentDigest digest, ContentCodec codec, Long ownerId) {
+        List<ContentBlob> blobsToCreate = new ArrayList<>();
+        if (contentBlobRepository.existsById(digest.getHash())) {
+            storageService.deleteResources(List.of(stagingUrl));
+        } else {
+            ContentBlob blob = createContentBlob(digest, urlProvider.getUrlForContent(digest.getHash(), filename), codec);
+            storageService.moveResource(stagingUrl, blob.getUrl());
+            blobsToCreate.add(blob);
+        }
+        return saveBlobs(blobsToCreate, List.of(digest.getHash()), ownerId).get(digest.getHash()).getUrl();
+    }
+
+    public Map<URI, ContentBlob> getBlobsByUrl(Collection<URI> urls) {
+        return TransformUtils.transformToMap(contentBlobRepository.findAllByUrlIn(new HashSet<>(urls)), ContentBlob::getUrl, Function.identity());
+    }
+
+    public Map<URI, ContentBlob> getUploadedBlobsByUrl(Collection<URI> urls, Long ownerId) {
+        if (urls.isEmpty()) {
+            return Map.of();
+        }
+        Map<URI, ContentBlob> blobsByUrl = TransformUtils.transformToMap(contentBlobRepository.findLockedByUrlIn(new HashSet<>(urls)),
+                ContentBlob::getUrl, Function.identity());
+        validateIfContentExists(urls, blobsByUrl);
+        validateIfContentWasUploadedByOwner(blobsByUrl, ownerId);
+        return blobsByUrl;
+    }
+
+    private void validateIfContentExists(Collection<URI> urls, Map<URI, ContentBlob> blobsByUrl) {
+        Set<URI> missingContentUrls = urls.stream()
+                .filter(urlProvider::isContentUrl)
+                .filter(url -> !blobsByUrl.containsKey(url))
+                .collect(Collectors.toSet());
+        if (!missingContentUrls.isEmpty()) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Content for urls {0} does not exist", missingContentUrls));
+        }
+    }
+
+    private void validateIfContentWasUploadedByOwner(Map<URI, ContentBlob> blobsByUrl, Long ownerId) {
+        if (blobsByUrl.isEmpty()) {
+            return;
+        }
+        Set<String> uploadedHashes = contentBlobUploadRepository.findAllByIdOwnerIdAndIdHashIn(ownerId, getHashes(blobsByUrl.values())).stream()
+                .map(upload -> upload.getId().getHash())
+                .collect(Collectors.toSet());
+        Set<URI> notUploadedUrls = blobsByUrl.values().stream()
+                .filter(blob -> !uploadedHashes.contains(blob.getHash()))
+                .map(ContentBlob::getUrl)
+                .collect(Collectors.toSet());
+        if (!notUploadedUrls.isEmpty()) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Content for urls {0} was not uploaded by the user", notUploadedUrls));
+        }
+    }
+
+    public void addReferences(Collection<URI> urls) {
+        updateReferenceCounts(urls, SINGLE_REFERENCE);
+    }
+
+    public void removeReferences(Collection<URI> urls) {
+        if (urls.isEmpty()) {
+            return;
+        }
+        updateReferenceCounts(urls, -SINGLE_REFERENCE);
+        Instant uploadedBefore = getUnreferencedBlobsUploadedBefore();
+        List<ContentBlob> unreferencedBlobs = contentBlobRepository.findAllByUrlInAndReferenceCountLessThanEqual(new HashSet<>(urls), NO_REFERENCES).stream()
+                .filter(blob -> blob.getLastUploadedAt() == null || blob.getLastUploadedAt().isBefore(uploadedBefore))
+                .collect(Collectors.toList());
+        deleteBlobs(unreferencedBlobs);
+    }
+
+    public void deleteUnreferencedBlobs() {
+        deleteBlobs(contentBlobRepository.findLockedUnreferencedUploadedBefore(getUnreferencedBlobsUploadedBefore()));
+    }
+
+    private Instant getUnreferencedBlobsUploadedBefore() {
+        return Instant.now().minus(unreferencedTimeToLive);
+    }
+
+    private void deleteBlobs(List<ContentBlob> blobs) {
+        if (blobs.isEmpty()) {
+            return;
+        }
+        contentBlobUploadRepository.deleteAllByHashIn(getHashes(blobs));
+        contentBlobRepository.deleteAll(blobs);
+        eventPublisher.publishEvent(new ContentBlobBulkDeletedEvent(this, blobs));
+    }
+
+    private Set<String> getHashes(Collection<ContentBlob> blobs) {
+        return blobs.stream()
+                .map(ContentBlob::getHash)
+                .collect(Collectors.toSet());
+    }
+
+    private void updateReferenceCounts(Collection<URI> urls, long referenceDelta) {
+        urls.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .forEach((url, references) -> contentBlobRepository.updateReferenceCount(url, referenceDelta * references));
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentBlobUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ContentBlobUploadRepository extends JpaRepository<ContentBlobUpload, ContentBlobUpload.Id> {
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT IGNORE INTO content_blob_upload (hash, owner_id) VALUES (:hash, :ownerId)", nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash, @Param("ownerId") Long ownerId);
+
+    List<ContentBlobUpload> findAllByIdOwnerIdAndIdHashIn(Long ownerId, Collection<String> hashes);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM ContentBlobUpload u WHERE u.id.hash IN :hashes")
+    int deleteAllByHashIn(@Param("hashes") Collection<String> hashes);
+
+}
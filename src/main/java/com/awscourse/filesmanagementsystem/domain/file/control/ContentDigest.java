@@ -0,0 +1,12 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import lombok.Value;
+
+@Value
+class ContentDigest {
+
+    String hash;
+    long crc32;
+    long size;
+
+}
@@ -0,0 +1,41 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.CountingInputStream;
+
+import java.io.FilterInputStream;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+class DigestingInputStream extends FilterInputStream {
+
+    private final HashingInputStream hashingInputStream;
+    private final CheckedInputStream checkedInputStream;
+    private final CountingInputStream countingInputStream;
+
+    DigestingInputStream(InputStream inputStream) {
+        this(new HashingInputStream(Hashing.sha256(), inputStream));
+    }
+
+    private DigestingInputStream(HashingInputStream hashingInputStream) {
+        this(hashingInputStream, new CheckedInputStream(hashingInputStream, new CRC32()));
+    }
+
+    private DigestingInputStream(HashingInputStream hashingInputStream, CheckedInputStream checkedInputStream) {
+        this(hashingInputStream, checkedInputStream, new CountingInputStream(checkedInputStream));
+    }
+
+    private DigestingInputStream(HashingInputStream hashingInputStream, CheckedInputStream checkedInputStream, CountingInputStream countingInputStream) {
+        super(countingInputStream);
+        this.hashingInputStream = hashingInputStream;
+        this.checkedInputStream = checkedInputStream;
+        this.countingInputStream = countingInputStream;
+    }
+
+    ContentDigest getDigest() {
+        return new ContentDigest(hashingInputStream.hash().toString(), checkedInputStream.getChecksum().getValue(), countingInputStream.getCount());
+    }
+
+}
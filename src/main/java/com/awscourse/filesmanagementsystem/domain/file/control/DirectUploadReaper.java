@@ -0,0 +1,18 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DirectUploadReaper {
+
+    private final DirectUploadService directUploadService;
+
+    @Scheduled(fixedDelayString = "${app.storage.direct-upload.reaper-interval}")
+    public void deleteExpiredSessions() {
+        directUploadService.deleteExpiredSessions();
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.PresignedUrl;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ResourceMetadata;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.StorageService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.url.UrlProvider;
+import com.awscourse.filesmanagementsystem.domain.file.entity.DirectUpload;
+import com.awscourse.filesmanagementsystem.domain.file.entity.DirectUploadSession;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import com.google.common.collect.Sets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@Transactional
+public class DirectUploadService {
+
+    private final DirectUploadSessionRepository directUploadSessionRepository;
+    private final ContentBlobService contentBlobService;
+    private final StorageService storageService;
+    private final UrlProvider urlProvider;
+    private final long maxSize;
+    private final Duration timeToLive;
+
+    public DirectUploadService(DirectUploadSessionRepository directUploadSessionRepository,
+                               ContentBlobService contentBlobService,
+                               StorageService storageService,
+                               UrlProvider urlProvider,
+                               @Value("${app.storage.direct-upload.max-size}") DataSize maxSize,
+                               @Value("${app.storage.direct-upload.time-to-live}") Duration timeToLive) {
+        this.directUploadSessionRepository = directUploadSessionRepository;
+        this.contentBlobService = contentBlobService;
+        this.storageService = storageService;
+        this.urlProvider = urlProvider;
+        this.maxSize = maxSize.toBytes();
+        this.timeToLive = timeToLive;
+    }
+
+    public DirectUpload prepareDirectUpload(String filename, long size, Long ownerId) {
+        validateSize(size);
+        URI url = urlProvider.getDirectUploadUrl(filename);
+        PresignedUrl uploadUrl = storageService.getPresignedUploadUrl(url, size);
+        directUploadSessionRepository.save(DirectUploadSession.builder()
+                .filename(filename)
+                .url(url)
+                .size(size)
+                .ownerId(ownerId)
+                .expiresAt(Instant.now().plus(timeToLive))
+                .build());
+        return new DirectUpload(filename, url, uploadUrl);
+    }
+
+    private void validateSize(long size) {
+        if (size <= 0 || size > maxSize) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Size of directly uploaded file has to be between 1 and {0} bytes", maxSize));
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Map<URI, URI> completeDirectUploads(Collection<URI> urls, Long ownerId) {
+        Map<URI, DirectUploadSession> sessionsByUrl = TransformUtils.transformToMap(
+                directUploadSessionRepository.findLockedByUrlInAndOwnerId(new HashSet<>(urls), ownerId), DirectUploadSession::getUrl, Function.identity());
+        validateIfSessionsExist(urls, sessionsByUrl);
+        List<DirectUploadSession> pendingSessions = sessionsByUrl.values().stream()
+                .filter(session -> !session.isCompleted())
+                .collect(Collectors.toList());
+        validateIfContentWasUploaded(pendingSessions);
+        pendingSessions.forEach(session -> session.setContentUrl(contentBlobService.saveStagedResource(session.getFilename(), session.getUrl(), ownerId)));
+        return TransformUtils.transformToMap(sessionsByUrl.values(), DirectUploadSession::getUrl, DirectUploadSession::getContentUrl);
+    }
+
+    private void validateIfSessionsExist(Collection<URI> urls, Map<URI, DirectUploadSession> sessionsByUrl) {
+        Set<URI> unknownUrls = Sets.difference(new HashSet<>(urls), sessionsByUrl.keySet());
+        if (!unknownUrls.isEmpty()) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Urls {0} do not point to direct uploads", unknownUrls));
+        }
+    }
+
+    private void validateIfContentWasUploaded(Collection<DirectUploadSession> sessions) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        Map<URI, ResourceMetadata> metadataByUrl = storageService.getResourcesMetadata(TransformUtils.transformToList(sessions, DirectUploadSession::getUrl));
+        Set<URI> invalidUrls = sessions.stream()
+                .filter(session -> !isUploaded(session, metadataByUrl.get(session.getUrl())))
+                .map(DirectUploadSession::getUrl)
+                .collect(Collectors.toSet());
+        if (!invalidUrls.isEmpty()) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Content for direct uploads {0} was not uploaded or has unexpected size", invalidUrls));
+        }
+    }
+
+    private boolean isUploaded(DirectUploadSession session, ResourceMetadata metadata) {
+        return metadata != null && metadata.isExists() && metadata.getSize() == session.getSize();
+    }
+
+    public void deleteExpiredSessions() {
+        List<DirectUploadSession> expiredSessions = directUploadSessionRepository.findLockedByExpiresAtBefore(Instant.now());
+        List<URI> abandonedUrls = expiredSessions.stream()
+                .filter(session -> !session.isCompleted())
+                .map(DirectUploadSession::getUrl)
+                .collect(Collectors.toList());
+        if (!abandonedUrls.isEmpty()) {
+            try {
+                storageService.deleteResources(abandonedUrls);
+            } catch (RuntimeException exception) {
+                log.warn("Cannot delete content of abandoned direct uploads {}: ", abandonedUrls, exception);
+            }
+        }
+        directUploadSessionRepository.deleteAll(expiredSessions);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.DirectUploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DirectUploadSessionRepository extends JpaRepository<DirectUploadSession, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<DirectUploadSession> findLockedByUrlInAndOwnerId(Collection<URI> urls, Long ownerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<DirectUploadSession> findLockedByExpiresAtBefore(Instant instant);
+
+}
@@ -0,0 +1,58 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FilesSearchCriteria;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class FileCountCache {
+
+    private static final String CACHE_NAME = "fileCounts";
+
+    private final AsyncCache<CountKey, Long> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public FileCountCache(@Value("${app.search.count-cache.max-size}") long maxSize,
+                          @Value("${app.search.count-cache.time-to-live}") Duration timeToLive,
+                          @Qualifier("customizedThreadPoolExecutor") AsyncTaskExecutor executor,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLive)
+                .executor(executor)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    public CompletableFuture<Long> getCount(FilesSearchCriteria searchCriteria, Function<FilesSearchCriteria, Long> counter) {
+        CountKey key = new CountKey(generation.get(), FilesSearchCriteriaNormalizer.normalize(searchCriteria));
+        return cache.get(key, countKey -> counter.apply(countKey.getSearchCriteria()));
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.synchronous().invalidateAll();
+    }
+
+    @Data
+    private static class CountKey {
+
+        private final long generation;
+        private final FilesSearchCriteria searchCriteria;
+
+    }
+
+}
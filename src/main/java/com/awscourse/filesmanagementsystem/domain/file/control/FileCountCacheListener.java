@@ -0,0 +1,29 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileBulkCreatedEvent;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileBulkUpdatedEvent;
+import com.awscourse.filesmanagementsystem.domain.label.boundary.LabelBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.label.boundary.LabelBulkUpdatedEvent;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.boundary.LabelAssignmentBulkCreatedEvent;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.boundary.LabelAssignmentBulkDeletedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class FileCountCacheListener {
+
+    private final FileCountCache fileCountCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, classes = {
+            FileBulkCreatedEvent.class, FileBulkUpdatedEvent.class, FileBulkDeletedEvent.class,
+            LabelAssignmentBulkCreatedEvent.class, LabelAssignmentBulkDeletedEvent.class,
+            LabelBulkUpdatedEvent.class, LabelBulkDeletedEvent.class})
+    public void invalidateCountsOfChangedFiles() {
+        fileCountCache.invalidate();
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.awscourse.filesmanagementsystem.domain.auditedobject.AuditedObject;
+import com.awscourse.filesmanagementsystem.domain.auditedobject.AuditedObject_;
+import com.awscourse.filesmanagementsystem.domain.auditedobject.ObjectState;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File_;
+import com.awscourse.filesmanagementsystem.domain.label.entity.Label;
+import com.awscourse.filesmanagementsystem.domain.label.entity.LabelType;
+import com.awscourse.filesmanagementsystem.domain.label.entity.Label_;
+import com.awscourse.filesmanagementsystem.domain.user.entity.User;
+import com.awscourse.filesmanagementsystem.domain.user.entity.User_;
+import lombok.experimental.UtilityClass;
+
+import javax.persistence.Tuple;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Selection;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+@UtilityClass
+class FileDetailsProjection {
+
+    static class FileSelection {
+
+        private final Path<Long> id;
+        private final Path<String> name;
+        private final Path<String> path;
+        private final Path<String> fullPath;
+        private final Path<String> description;
+        private final Path<Long> size;
+        private final AuditSelection audit;
+
+        FileSelection(From<?, File> file) {
+            this.id = file.get(File_.id);
+            this.name = file.get(File_.name);
+            this.path = file.get(File_.path);
+            this.fullPath = file.get(File_.fullPath);
+            this.description = file.get(File_.description);
+            this.size = file.get(File_.size);
+            this.audit = new AuditSelection(file);
+        }
+
+        List<Selection<?>> getSelections() {
+            List<Selection<?>> selections = new ArrayList<>(List.of(id, name, path, fullPath, description, size));
+            selections.addAll(audit.getSelections());
+            return selections;
+        }
+
+        Path<Long> getId() {
+            return id;
+        }
+
+        File toFile(Tuple tuple) {
+            File file = File.builder()
+                    .id(tuple.get(id))
+                    .name(tuple.get(name))
+                    .path(tuple.get(path))
+                    .fullPath(tuple.get(fullPath))
+                    .description(tuple.get(description))
+                    .size(tuple.get(size))
+                    .labelAssignments(new LinkedHashSet<>())
+                    .build();
+            audit.apply(tuple, file);
+            return file;
+        }
+
+    }
+
+    static class LabelSelection {
+
+        private final Path<Long> id;
+        private final Path<String> name;
+        private final Path<String> description;
+        private final Path<LabelType> labelType;
+        private final AuditSelection audit;
+
+        LabelSelection(From<?, Label> label) {
+            this.id = label.get(Label_.id);
+            this.name = label.get(Label_.name);
+            this.description = label.get(Label_.description);
+            this.labelType = label.get(Label_.labelType);
+            this.audit = new AuditSelection(label);
+        }
+
+        List<Selection<?>> getSelections() {
+            List<Selection<?>> selections = new ArrayList<>(List.of(id, name, description, labelType));
+            selections.addAll(audit.getSelections());
+            return selections;
+        }
+
+        Path<Long> getId() {
+            return id;
+        }
+
+        Label toLabel(Tuple tuple) {
+            Label label = new Label(tuple.get(id), tuple.get(name), tuple.get(description), tuple.get(labelType));
+            audit.apply(tuple, label);
+            return label;
+        }
+
+    }
+
+    private static class AuditSelection {
+
+        private final Path<Instant> createdAt;
+        private final Path<Instant> updatedAt;
+        private final Path<ObjectState> objectState;
+        private final UserSelection createdBy;
+        private final UserSelection updatedBy;
+
+        AuditSelection(From<?, ? extends AuditedObject> auditedObject) {
+            this.createdAt = auditedObject.get(AuditedObject_.CREATED_AT);
+            this.updatedAt = auditedObject.get(AuditedObject_.UPDATED_AT);
+            this.objectState = auditedObject.get(AuditedObject_.OBJECT_STATE);
+            this.createdBy = new UserSelection(auditedObject.join(AuditedObject_.CREATED_BY, JoinType.LEFT));
+            this.updatedBy = new UserSelection(auditedObject.join(AuditedObject_.UPDATED_BY, JoinType.LEFT));
+        }
+
+        List<Selection<?>> getSelections() {
+            List<Selection<?>> selections = new ArrayList<>(List.of(createdAt, updatedAt, objectState));
+            selections.addAll(createdBy.getSelections());
+            selections.addAll(updatedBy.getSelections());
+            return selections;
+        }
+
+        void apply(Tuple tuple, AuditedObject auditedObject) {
+            auditedObject.setCreatedAt(tuple.get(createdAt));
+            auditedObject.setUpdatedAt(tuple.get(updatedAt));
+            auditedObject.setObjectState(tuple.get(objectState));
+            auditedObject.setCreatedBy(createdBy.toUser(tuple));
+            auditedObject.setUpdatedBy(updatedBy.toUser(tuple));
+        }
+
+    }
+
+    private static class UserSelection {
+
+        private final Path<Long> id;
+        private final Path<String> name;
+        private final Path<String> surname;
+        private final Path<String> phoneNumber;
+
+        UserSelection(From<?, User> user) {
+            this.id = user.get(User_.id);
+            this.name = user.get(User_.name);
+            this.surname = user.get(User_.surname);
+            this.phoneNumber = user.get(User_.phoneNumber);
+        }
+
+        List<Selection<?>> getSelections() {
+            return List.of(id, name, surname, phoneNumber);
+        }
+
+        User toUser(Tuple tuple) {
+            if (tuple.get(id) == null) {
+                return null;
+            }
+            return User.builder()
+                    .id(tuple.get(id))
+                    .name(tuple.get(name))
+                    .surname(tuple.get(surname))
+                    .phoneNumber(tuple.get(phoneNumber))
+                    .build();
+        }
+
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.FileFacets;
+import com.awscourse.filesmanagementsystem.domain.file.entity.HistogramInterval;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+public class FileFacetsCollector {
+
+    private final long[] sizeBoundaries;
+    private final long[] sizeBucketCounts;
+    private final HistogramInterval createdAtInterval;
+    private final TreeMap<Instant, Long> fileCountsByCreatedAt = new TreeMap<>();
+
+    public FileFacetsCollector(List<Long> sizeBoundaries, HistogramInterval createdAtInterval) {
+        this.sizeBoundaries = sizeBoundaries.stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .distinct()
+                .toArray();
+        this.sizeBucketCounts = new long[this.sizeBoundaries.length + 1];
+        this.createdAtInterval = createdAtInterval;
+    }
+
+    public void add(long size, Instant createdAt) {
+        sizeBucketCounts[getSizeBucketIndex(size)]++;
+        if (createdAt != null) {
+            fileCountsByCreatedAt.merge(createdAtInterval.getBucketStart(createdAt), 1L, Long::sum);
+        }
+    }
+
+    private int getSizeBucketIndex(long size) {
+        int index = Arrays.binarySearch(sizeBoundaries, size);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    public List<FileFacets.SizeBucket> getSizeBuckets() {
+        List<FileFacets.SizeBucket> sizeBuckets = new ArrayList<>();
+        for (int i = 0; i < sizeBucketCounts.length; i++) {
+            Long minSize = i == 0 ? null : sizeBoundaries[i - 1];
+            Long maxSize = i == sizeBoundaries.length ? null : sizeBoundaries[i];
+            sizeBuckets.add(new FileFacets.SizeBucket(minSize, maxSize, sizeBucketCounts[i]));
+        }
+        return sizeBuckets;
+    }
+
+    public List<FileFacets.DateBucket> getCreatedAtHistogram() {
+        List<FileFacets.DateBucket> histogram = new ArrayList<>();
+        if (fileCountsByCreatedAt.isEmpty()) {
+            return histogram;
+        }
+        Instant lastBucketStart = fileCountsByCreatedAt.lastKey();
+        for (Instant bucketStart = fileCountsByCreatedAt.firstKey(); !bucketStart.isAfter(lastBucketStart);
+             bucketStart = createdAtInterval.getNextBucketStart(bucketStart)) {
+            histogram.add(new FileFacets.DateBucket(bucketStart, fileCountsByCreatedAt.getOrDefault(bucketStart, 0L)));
+        }
+        return histogram;
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.awscourse.filesmanagementsystem.domain.file.control;
 
 import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -15,8 +16,11 @@ public interface FileRepository extends JpaRepository<File, Long>, SearchFileRep
 
     List<File> findAllByFullPathIn(Collection<String> fullPaths);
 
-    List<File> findAllByUrlInAndIdNotIn(Collection<URI> fullPaths, Collection<Long> ids);
+    List<File> findAllByUrlInAndIdNotIn(Collection<URI> urls, Collection<Long> ids);
 
     List<File> findAllByUrlIn(Collection<URI> urls);
 
+    @EntityGraph(File.DETAILS_GRAPH)
+    List<File> findDistinctWithDetailsByIdIn(Collection<Long> ids);
+
 }
@@ -0,0 +1,110 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.MessageFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+class FileSearchCursor {
+
+    private static final int STRING_VALUE = 'S';
+    private static final int LONG_VALUE = 'L';
+    private static final int INSTANT_VALUE = 'I';
+    private static final int NULL_VALUE = 'N';
+
+    private final List<Sort.Order> orders;
+    private final List<Object> values;
+
+    static FileSearchCursor of(List<Sort.Order> orders, File lastFile) {
+        BeanWrapper file = new BeanWrapperImpl(lastFile);
+        return new FileSearchCursor(orders, TransformUtils.transformToList(orders, order -> file.getPropertyValue(order.getProperty())));
+    }
+
+    String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(orders.size());
+            for (int i = 0; i < orders.size(); i++) {
+                output.writeUTF(orders.get(i).getProperty());
+                output.writeBoolean(orders.get(i).isAscending());
+                writeValue(output, values.get(i));
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    private static void writeValue(DataOutputStream output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL_VALUE);
+        } else if (value instanceof String) {
+            output.writeByte(STRING_VALUE);
+            output.writeUTF((String) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG_VALUE);
+            output.writeLong((Long) value);
+        } else if (value instanceof Instant) {
+            output.writeByte(INSTANT_VALUE);
+            output.writeLong(((Instant) value).getEpochSecond());
+            output.writeInt(((Instant) value).getNano());
+        } else {
+            throw new IllegalArgumentAppException(MessageFormat.format("Value {0} cannot be used in cursor", value));
+        }
+    }
+
+    static FileSearchCursor decode(String token) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            int count = input.readUnsignedByte();
+            List<Sort.Order> orders = new ArrayList<>(count);
+            List<Object> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String property = input.readUTF();
+                orders.add(input.readBoolean() ? Sort.Order.asc(property) : Sort.Order.desc(property));
+                values.add(readValue(input));
+            }
+            if (input.read() != -1) {
+                throw new IOException("Unexpected trailing bytes");
+            }
+            return new FileSearchCursor(orders, values);
+        } catch (IOException | IllegalArgumentException | DateTimeException exception) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Invalid cursor {0}", token));
+        }
+    }
+
+    private static Object readValue(DataInputStream input) throws IOException {
+        int type = input.readUnsignedByte();
+        switch (type) {
+            case STRING_VALUE:
+                return input.readUTF();
+            case LONG_VALUE:
+                return input.readLong();
+            case INSTANT_VALUE:
+                return Instant.ofEpochSecond(input.readLong(), input.readInt());
+            case NULL_VALUE:
+                return null;
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+
+}
@@ -1,12 +1,22 @@
 package com.awscourse.filesmanagementsystem.domain.file.control;
 
 import com.awscourse.filesmanagementsystem.domain.auditedobject.ObjectState;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileBulkCreatedEvent;
 import com.awscourse.filesmanagementsystem.domain.file.boundary.FileBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileBulkUpdatedEvent;
 import com.awscourse.filesmanagementsystem.domain.file.boundary.FilesSearchCriteria;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ByteRange;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.PresignedUrl;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ResourceMetadata;
 import com.awscourse.filesmanagementsystem.domain.file.control.storage.StorageService;
-import com.awscourse.filesmanagementsystem.domain.file.control.storage.url.UrlProvider;
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentBlob;
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentCodec;
+import com.awscourse.filesmanagementsystem.domain.file.entity.DirectUpload;
 import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FileFacets;
 import com.awscourse.filesmanagementsystem.domain.file.entity.FileResource;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FilesSearchResult;
+import com.awscourse.filesmanagementsystem.domain.file.entity.HistogramInterval;
 import com.awscourse.filesmanagementsystem.domain.file.entity.UploadInfo;
 import com.awscourse.filesmanagementsystem.infrastructure.exception.ExceptionUtils;
 import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
@@ -16,23 +26,25 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.text.MessageFormat;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 
 @Service
@@ -43,8 +55,10 @@ public class FileService {
 
     private final FileRepository fileRepository;
     private final StorageService storageService;
-    private final UrlProvider urlProvider;
+    private final ContentBlobService contentBlobService;
+    private final DirectUploadService directUploadService;
     private final ApplicationEventPublisher eventPublisher;
+    private final FileCountCache fileCountCache;
 
     public File getFileById(Long id) {
         return fileRepository.findById(id)
@@ -55,54 +69,98 @@ public class FileService {
         return fileRepository.findAllById(ids);
     }
 
-    public Page<File> searchFilesByCriteria(FilesSearchCriteria searchCriteria, Pageable pageable) {
-        return fileRepository.searchFilesByCriteria(searchCriteria, pageable);
+    @Transactional(readOnly = true)
+    public List<File> getFileDetailsByIds(Collection<Long> ids) {
+        return fileRepository.findDistinctWithDetailsByIdIn(ids);
     }
 
-    public List<File> createFiles(Collection<File> files) {
-        Map<File, Resource> resourcesByFile = getResourcesByFile(files);
-        validateBeforeCreate(resourcesByFile);
-        prepareBeforeCreate(resourcesByFile);
-        return fileRepository.saveAll(files);
+    @Transactional(readOnly = true)
+    public FilesSearchResult searchFilesByCriteria(FilesSearchCriteria searchCriteria, String cursor, Pageable pageable) {
+        return fileRepository.searchFilesByCriteria(searchCriteria, cursor, pageable);
     }
 
-    private Map<File, Resource> getResourcesByFile(Collection<File> files) {
-        return files.stream()
-                .collect(Collectors.toMap(Function.identity(), file -> storageService.getResource(file.getUrl())));
+    @Transactional(readOnly = true)
+    public FilesSearchResult searchFilesByCriteria(FilesSearchCriteria searchCriteria, String cursor, Pageable pageable, boolean includeTotalCount) {
+        if (!includeTotalCount) {
+            return fileRepository.searchFilesByCriteria(searchCriteria, cursor, pageable);
+        }
+        if (SearchFileRepositoryImpl.isOrderedByRelevance(searchCriteria, pageable)) {
+            FilesSearchResult searchResult = fileRepository.searchFilesByCriteria(searchCriteria, cursor, pageable);
+            if (searchResult.getTotalCount() == null) {
+                searchResult.setTotalCount(fileCountCache.getCount(searchCriteria, fileRepository::countFilesByCriteria).join());
+            }
+            return searchResult;
+        }
+        CompletableFuture<Long> totalCount = fileCountCache.getCount(searchCriteria, fileRepository::countFilesByCriteria);
+        FilesSearchResult searchResult = fileRepository.searchFilesByCriteria(searchCriteria, cursor, pageable);
+        if (cursor == null && searchResult.getNextCursor() == null && (!searchResult.getFiles().isEmpty() || pageable.getOffset() == 0)) {
+            searchResult.setTotalCount(pageable.getOffset() + searchResult.getFiles().size());
+        } else {
+            searchResult.setTotalCount(totalCount.join());
+        }
+        return searchResult;
     }
 
-    private void validateBeforeCreate(Map<File, Resource> resourcesByFile) {
-        validateIfResourcesExist(resourcesByFile);
-        validateIfResourcesAreNotAlreadyAssociatedWithDifferentFile(resourcesByFile);
-        validateIfFullPathsAreUnique(resourcesByFile.keySet());
+    @Transactional(readOnly = true)
+    public boolean isTextSearchTruncated(FilesSearchCriteria searchCriteria) {
+        return fileRepository.isTextSearchTruncated(searchCriteria);
     }
 
-    private void validateIfResourcesExist(Map<File, Resource> resourcesByFile) {
-        Map<URI, Resource> nonExistingResourcesByUrl = getNonExistingResourcesByUrl(resourcesByFile);
-        if (!nonExistingResourcesByUrl.isEmpty()) {
-            throw new IllegalArgumentAppException(MessageFormat.format("Resources for url {0} do not exist", nonExistingResourcesByUrl.keySet()));
-        }
+    @Transactional(readOnly = true)
+    public void exportFilesByCriteria(FilesSearchCriteria searchCriteria, Sort sort, Consumer<List<File>> filesBatchConsumer) {
+        fileRepository.forEachFilesBatchByCriteria(searchCriteria, sort, filesBatchConsumer);
     }
 
-    private Map<URI, Resource> getNonExistingResourcesByUrl(Map<File, Resource> resourcesByFile) {
-        return resourcesByFile.entrySet().stream()
-                .filter(resourceByUrl -> !resourceByUrl.getValue().exists())
-                .collect(Collectors.toMap(fileByResource -> fileByResource.getKey().getUrl(), Map.Entry::getValue));
+    @Transactional(readOnly = true)
+    public FileFacets getFacetsByCriteria(FilesSearchCriteria searchCriteria, HistogramInterval createdAtInterval) {
+        return fileRepository.getFacetsByCriteria(searchCriteria, createdAtInterval);
     }
 
-    private void validateIfResourcesAreNotAlreadyAssociatedWithDifferentFile(Map<File, Resource> resourcesByFile) {
-        List<File> foundDuplicates = findDuplicatedUrlsAmongExistingFiles(resourcesByFile.keySet());
-        if (!foundDuplicates.isEmpty()) {
-            throw new IllegalArgumentAppException(MessageFormat.format("There are files already associated with supplied urls {0}", getNonNullUniqueIds(foundDuplicates)));
-        }
+    public List<File> createFiles(Collection<File> files, Long userId) {
+        return createFiles(files, getMetadataByFile(files), userId);
     }
 
-    private List<File> findDuplicatedUrlsAmongExistingFiles(Collection<File> files) {
-        Set<Long> fileIds = getNonNullUniqueIds(files);
-        if (fileIds.isEmpty()) {
-            return fileRepository.findAllByUrlIn(getUrls(files));
+    public List<File> completeDirectUploads(Collection<File> files, Long userId) {
+        validateIfFullPathsAreUnique(files);
+        Map<URI, URI> contentUrlsByUrl = directUploadService.completeDirectUploads(getUrls(files), userId);
+        files.forEach(file -> file.setUrl(contentUrlsByUrl.get(file.getUrl())));
+        return createFiles(files, userId);
+    }
+
+    private List<File> createFiles(Collection<File> files, Map<File, ResourceMetadata> metadataByFile, Long userId) {
+        validateBeforeCreate(metadataByFile);
+        Map<URI, ContentBlob> blobsByUrl = contentBlobService.getUploadedBlobsByUrl(getUrls(files), userId);
+        validateIfResourcesAreNotAlreadyAssociatedWithDifferentFile(getFilesWithoutContentBlob(files, blobsByUrl));
+        prepareBeforeCreate(metadataByFile, blobsByUrl);
+        List<File> createdFiles = fileRepository.saveAll(files);
+        contentBlobService.addReferences(getUrls(createdFiles));
+        eventPublisher.publishEvent(new FileBulkCreatedEvent(this, createdFiles));
+        return createdFiles;
+    }
+
+    private Map<File, ResourceMetadata> getMetadataByFile(Collection<File> files) {
+        Map<URI, ResourceMetadata> metadataByUrl = storageService.getResourcesMetadata(getUrls(files));
+        return files.stream()
+                .collect(Collectors.toMap(Function.identity(), file -> metadataByUrl.get(file.getUrl())));
+    }
+
+    private void validateBeforeCreate(Map<File, ResourceMetadata> metadataByFile) {
+        validateIfResourcesExist(metadataByFile);
+        validateIfFullPathsAreUnique(metadataByFile.keySet());
+    }
+
+    private void validateIfResourcesExist(Map<File, ResourceMetadata> metadataByFile) {
+        Set<URI> nonExistingResourceUrls = getNonExistingResourceUrls(metadataByFile);
+        if (!nonExistingResourceUrls.isEmpty()) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Resources for url {0} do not exist", nonExistingResourceUrls));
         }
-        return fileRepository.findAllByUrlInAndIdNotIn(getUrls(files), fileIds);
+    }
+
+    private Set<URI> getNonExistingResourceUrls(Map<File, ResourceMetadata> metadataByFile) {
+        return metadataByFile.entrySet().stream()
+                .filter(metadataByUrl -> !metadataByUrl.getValue().isExists())
+                .map(metadataByUrl -> metadataByUrl.getKey().getUrl())
+                .collect(Collectors.toSet());
     }
 
     private void validateIfFullPathsAreUnique(Collection<File> files) {
@@ -138,6 +196,30 @@ public class FileService {
         return fileRepository.findAllByFullPathInAndIdNotIn(getFullPaths(files), fileIds);
     }
 
+    private List<File> getFilesWithoutContentBlob(Collection<File> files, Map<URI, ContentBlob> blobsByUrl) {
+        return files.stream()
+                .filter(file -> !blobsByUrl.containsKey(file.getUrl()))
+                .collect(Collectors.toList());
+    }
+
+    private void validateIfResourcesAreNotAlreadyAssociatedWithDifferentFile(Collection<File> files) {
+        List<File> foundDuplicates = findDuplicatedUrlsAmongExistingFiles(files);
+        if (!foundDuplicates.isEmpty()) {
+            throw new IllegalArgumentAppException(MessageFormat.format("There are files already associated with supplied urls {0}", getNonNullUniqueIds(foundDuplicates)));
+        }
+    }
+
+    private List<File> findDuplicatedUrlsAmongExistingFiles(Collection<File> files) {
+        if (files.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> fileIds = getNonNullUniqueIds(files);
+        if (fileIds.isEmpty()) {
+            return fileRepository.findAllByUrlIn(getUrls(files));
+        }
+        return fileRepository.findAllByUrlInAndIdNotIn(getUrls(files), fileIds);
+    }
+
     private Set<Long> getNonNullUniqueIds(Collection<File> files) {
         return files.stream()
                 .map(File::getId)
@@ -145,37 +227,55 @@ public class FileService {
                 .collect(Collectors.toSet());
     }
 
-    private void prepareBeforeCreate(Map<File, Resource> resourcesByFile) {
-        resourcesByFile.forEach(this::prepareBeforeCreate);
+    private void prepareBeforeCreate(Map<File, ResourceMetadata> metadataByFile, Map<URI, ContentBlob> blobsByUrl) {
+        metadataByFile.forEach((file, metadata) -> prepareBeforeCreate(file, metadata, blobsByUrl.get(file.getUrl())));
     }
 
-    private void prepareBeforeCreate(File file, Resource resource) {
+    private void prepareBeforeCreate(File file, ResourceMetadata metadata, ContentBlob blob) {
         file.setId(null);
         file.setObjectState(ObjectState.ACTIVE);
-        file.setSize(getSize(resource));
+        setContent(file, metadata, blob);
     }
 
-    private long getSize(Resource resource) {
-        try {
-            return resource.contentLength();
-        } catch (IOException exception) {
-            throw new IllegalArgumentAppException("Cannot create file, error during acquiring resource size.");
+    private void setContent(File file, ResourceMetadata metadata, ContentBlob blob) {
+        if (blob == null) {
+            file.setSize(metadata.getSize());
+            file.setContentCodec(ContentCodec.NONE);
+            file.setCrc32(null);
+            return;
         }
+        file.setSize(blob.getSize());
+        file.setContentCodec(blob.getCodec());
+        file.setCrc32(blob.getCrc32());
     }
 
     public void updateFiles(Collection<File> updatedFiles, Long userId) {
         List<File> foundFiles = fileRepository.findAllById(getNonNullUniqueIds(updatedFiles));
-        Map<File, Resource> resourcesByUpdatedFile = getResourcesByFile(updatedFiles);
-        validateBeforeUpdate(foundFiles, resourcesByUpdatedFile, userId);
-        prepareBeforeUpdate(resourcesByUpdatedFile);
+        Map<File, ResourceMetadata> metadataByUpdatedFile = getMetadataByFile(updatedFiles);
+        validateBeforeUpdate(foundFiles, metadataByUpdatedFile, userId);
+        validateContentOfChangedFiles(foundFiles, updatedFiles, userId);
+        prepareBeforeUpdate(metadataByUpdatedFile);
+        List<URI> previousUrls = getUrls(foundFiles);
         updateFiles(foundFiles, updatedFiles);
+        contentBlobService.addReferences(getUrls(foundFiles));
+        contentBlobService.removeReferences(previousUrls);
+        eventPublisher.publishEvent(new FileBulkUpdatedEvent(this, foundFiles));
+    }
+
+    public void validateBeforeUpdate(Collection<File> existingFiles, Map<File, ResourceMetadata> metadataByUpdatedFile, Long userId) {
+        validateIfAllFilesHaveUniqueId(metadataByUpdatedFile.keySet());
+        validateIfAllFilesExist(getNonNullUniqueIds(metadataByUpdatedFile.keySet()), existingFiles);
+        validateIfResourcesExist(metadataByUpdatedFile);
+        validateIfFullPathsAreUnique(metadataByUpdatedFile.keySet());
     }
 
-    public void validateBeforeUpdate(Collection<File> existingFiles, Map<File, Resource> resourceByUpdatedFile, Long userId) {
-        validateIfAllFilesHaveUniqueId(resourceByUpdatedFile.keySet());
-        validateIfAllFilesExist(getNonNullUniqueIds(resourceByUpdatedFile.keySet()), existingFiles);
-        validateIfResourcesExist(resourceByUpdatedFile);
-        validateIfFullPathsAreUnique(resourceByUpdatedFile.keySet());
+    private void validateContentOfChangedFiles(Collection<File> existingFiles, Collection<File> updatedFiles, Long userId) {
+        Map<Long, URI> existingUrlsById = TransformUtils.transformToMap(existingFiles, File::getId, File::getUrl);
+        List<File> changedFiles = updatedFiles.stream()
+                .filter(file -> !file.getUrl().equals(existingUrlsById.get(file.getId())))
+                .collect(Collectors.toList());
+        Map<URI, ContentBlob> blobsByUrl = contentBlobService.getUploadedBlobsByUrl(getUrls(changedFiles), userId);
+        validateIfResourcesAreNotAlreadyAssociatedWithDifferentFile(getFilesWithoutContentBlob(changedFiles, blobsByUrl));
     }
 
     private void validateIfAllFilesHaveUniqueId(Collection<File> files) {
@@ -195,12 +295,9 @@ public class FileService {
         return Sets.difference(new HashSet<>(ids), getNonNullUniqueIds(foundFiles));
     }
 
-    private void prepareBeforeUpdate(Map<File, Resource> resourcesByFile) {
-        resourcesByFile.forEach(this::prepareBeforeUpdate);
-    }
-
-    private void prepareBeforeUpdate(File file, Resource resource) {
-        file.setSize(getSize(resource));
+    private void prepareBeforeUpdate(Map<File, ResourceMetadata> metadataByFile) {
+        Map<URI, ContentBlob> blobsByUrl = contentBlobService.getBlobsByUrl(getUrls(metadataByFile.keySet()));
+        metadataByFile.forEach((file, metadata) -> setContent(file, metadata, blobsByUrl.get(file.getUrl())));
     }
 
     private void updateFiles(Collection<File> existingFiles, Collection<File> updatedFiles) {
@@ -214,6 +311,8 @@ public class FileService {
         existingFile.setFullPath(updatedFile.getFullPath());
         existingFile.setDescription(updatedFile.getDescription());
         existingFile.setSize(updatedFile.getSize());
+        existingFile.setContentCodec(updatedFile.getContentCodec());
+        existingFile.setCrc32(updatedFile.getCrc32());
         existingFile.setUrl(updatedFile.getUrl());
     }
 
@@ -237,12 +336,28 @@ public class FileService {
         return new FileResource(file, storageService.getResource(file.getUrl()));
     }
 
+    public DirectUpload prepareDirectUpload(String filename, long size, Long userId) {
+        return directUploadService.prepareDirectUpload(filename, size, userId);
+    }
+
+    public PresignedUrl getPresignedDownloadUrl(Long fileId) {
+        File file = getFileById(fileId);
+        return storageService.getPresignedDownloadUrl(file.getUrl(), file.getName(), file.getContentCodec());
+    }
+
+    public Resource downloadResource(File file) {
+        return storageService.getResource(file.getUrl());
+    }
+
+    public Resource downloadResource(File file, ByteRange range) {
+        return storageService.getResource(file.getUrl(), range);
+    }
+
     public List<FileResource> downloadResources(Collection<Long> fileIds) {
         List<File> files = getFilesByIds(fileIds);
-        Map<URI, Resource> resourcesByUrl = storageService.getResources(getUrls(files));
-        Map<URI, File> fileByUrl = TransformUtils.transformToMap(files, File::getUrl, Function.identity());
-        return resourcesByUrl.entrySet().stream()
-                .map(urlAndResource -> new FileResource(fileByUrl.get(urlAndResource.getKey()), urlAndResource.getValue()))
+        Map<URI, Resource> resourcesByUrl = storageService.getResources(new HashSet<>(getUrls(files)));
+        return files.stream()
+                .map(file -> new FileResource(file, resourcesByUrl.get(file.getUrl())))
                 .collect(Collectors.toList());
     }
 
@@ -252,25 +367,15 @@ public class FileService {
                 .collect(Collectors.toList());
     }
 
-    public List<UploadInfo> uploadResources(Collection<Resource> resources, String path) {
-        Map<UploadInfo, Resource> resourcesByUploadInfo = getResourceByUploadInfo(resources, path);
-        Map<URI, Resource> resourcesByUrl = getResourcesByUrl(resourcesByUploadInfo);
-        storageService.saveResources(resourcesByUrl);
-        return new ArrayList<>(resourcesByUploadInfo.keySet());
-    }
-
-    private Map<UploadInfo, Resource> getResourceByUploadInfo(Collection<Resource> resources, String path) {
-        return resources.stream()
-                .collect(Collectors.toMap(file -> getUploadInfo(file, path), Function.identity()));
-    }
-
-    private UploadInfo getUploadInfo(Resource resource, String path) {
-        return new UploadInfo(resource.getFilename(), urlProvider.getUrlForResource(resource, path));
+    public List<UploadInfo> uploadResources(List<Resource> resources, Long userId) {
+        List<URI> urls = contentBlobService.saveResources(resources, userId);
+        return IntStream.range(0, resources.size())
+                .mapToObj(index -> new UploadInfo(resources.get(index).getFilename(), urls.get(index)))
+                .collect(Collectors.toList());
     }
 
-    private Map<URI, Resource> getResourcesByUrl(Map<UploadInfo, Resource> resourcesByUploadInfo) {
-        return resourcesByUploadInfo.entrySet().stream()
-                .collect(Collectors.toMap(fileByUploadInfo -> fileByUploadInfo.getKey().getUrl(), Map.Entry::getValue));
+    public UploadInfo uploadResource(String filename, InputStream inputStream, Long userId) {
+        return new UploadInfo(filename, contentBlobService.saveStream(filename, inputStream, userId));
     }
 
 }
@@ -0,0 +1,31 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FilesSearchCriteria;
+import lombok.experimental.UtilityClass;
+import org.springframework.beans.BeanUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@UtilityClass
+public class FilesSearchCriteriaNormalizer {
+
+    public static FilesSearchCriteria normalize(FilesSearchCriteria searchCriteria) {
+        FilesSearchCriteria normalizedCriteria = new FilesSearchCriteria();
+        BeanUtils.copyProperties(searchCriteria, normalizedCriteria);
+        normalizedCriteria.setContainsAnyOfLabels(normalizeLabels(searchCriteria.getContainsAnyOfLabels()));
+        normalizedCriteria.setContainsAllOfLabels(normalizeLabels(searchCriteria.getContainsAllOfLabels()));
+        return normalizedCriteria;
+    }
+
+    private static List<String> normalizeLabels(List<String> labels) {
+        if (labels == null || labels.isEmpty()) {
+            return null;
+        }
+        return labels.stream()
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.awscourse.filesmanagementsystem.domain.file.control;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+
+public class RunningContentDigest {
+
+    private static final int SKIP_BUFFER_SIZE = 8192;
+
+    private final Hasher hasher = Hashing.sha256().newHasher();
+    private final CRC32 crc32 = new CRC32();
+    private long size;
+    private ContentDigest digest;
+
+    public InputStream digest(InputStream inputStream) {
+        return new FilterInputStream(inputStream) {
+
+            @Override
+            public int read() throws IOException {
+                int value = super.read();
+                if (value != -1) {
+                    update(new byte[]{(byte) value}, 0, 1);
+                }
+                return value;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int count = super.read(buffer, offset, length);
+                if (count > 0) {
+                    update(buffer, offset, count);
+                }
+                return count;
+            }
+
+            @Override
+            public long skip(long count) throws IOException {
+                byte[] buffer = new byte[(int) Math.min(SKIP_BUFFER_SIZE, Math.max(count, 0))];
+                long skipped = 0;
+                while (skipped < count) {
+                    int read = read(buffer, 0, (int) Math.min(buffer.length, count - skipped));
+                    if (read < 0) {
+                        break;
+                    }
+                    skipped += read;
+                }
+                return skipped;
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+
+        };
+    }
+
+    private void update(byte[] buffer, int offset, int length) {
+        if (digest != null) {
+            throw new IllegalStateException("Digest has already been computed");
+        }
+        hasher.putBytes(buffer, offset, length);
+        crc32.update(buffer, offset, length);
+        size += length;
+    }
+
+    ContentDigest getDigest() {
+        if (digest == null) {
+            digest = new ContentDigest(hasher.hash().toString(), crc32.getValue(), size);
+        }
+        return digest;
+    }
+
+}
@@ -2,11 +2,25 @@ package com.awscourse.filesmanagementsystem.domain.file.control;
 
 import com.awscourse.filesmanagementsystem.domain.file.boundary.FilesSearchCriteria;
 import com.awscourse.filesmanagementsystem.domain.file.entity.File;
-import org.springframework.data.domain.Page;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FileFacets;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FilesSearchResult;
+import com.awscourse.filesmanagementsystem.domain.file.entity.HistogramInterval;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface SearchFileRepository {
 
-    Page<File> searchFilesByCriteria(FilesSearchCriteria searchCriteria, Pageable pageable);
+    FilesSearchResult searchFilesByCriteria(FilesSearchCriteria searchCriteria, String cursor, Pageable pageable);
+
+    long countFilesByCriteria(FilesSearchCriteria searchCriteria);
+
+    boolean isTextSearchTruncated(FilesSearchCriteria searchCriteria);
+
+    void forEachFilesBatchByCriteria(FilesSearchCriteria searchCriteria, Sort sort, Consumer<List<File>> filesBatchConsumer);
+
+    FileFacets getFacetsByCriteria(FilesSearchCriteria searchCriteria, HistogramInterval createdAtInterval);
 
 }
@@ -1,36 +1,70 @@
 package com.awscourse.filesmanagementsystem.domain.file.control;
 
 import com.awscourse.filesmanagementsystem.domain.auditedobject.AuditedObject_;
+import com.awscourse.filesmanagementsystem.domain.auditedobject.ObjectState;
 import com.awscourse.filesmanagementsystem.domain.file.boundary.FilesSearchCriteria;
+import com.awscourse.filesmanagementsystem.domain.file.control.text.FileNameIndex;
+import com.awscourse.filesmanagementsystem.domain.file.control.text.FileTextIndex;
+import com.awscourse.filesmanagementsystem.domain.file.control.text.TextAnalyzer;
 import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FileFacets;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FilesSearchResult;
 import com.awscourse.filesmanagementsystem.domain.file.entity.File_;
+import com.awscourse.filesmanagementsystem.domain.file.entity.HistogramInterval;
+import com.awscourse.filesmanagementsystem.domain.label.entity.Label;
 import com.awscourse.filesmanagementsystem.domain.label.entity.Label_;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.control.LabelAssignmentIndex;
 import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment;
 import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment_;
 import com.awscourse.filesmanagementsystem.domain.user.entity.User_;
+import com.awscourse.filesmanagementsystem.infrastructure.collection.CompressedBitmap;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
 import com.awscourse.filesmanagementsystem.infrastructure.jpa.LikeClauseUtils;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import com.awscourse.filesmanagementsystem.infrastructure.jpa.PersistenceConstants;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import com.google.common.collect.Lists;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.unit.DataSize;
 
 import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CommonAbstractCriteria;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
 import javax.persistence.criteria.Subquery;
+import java.text.MessageFormat;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -42,28 +76,317 @@ public class SearchFileRepositoryImpl implements SearchFileRepository {
     @PersistenceContext
     private EntityManager em;
 
+    private final FileTextIndex fileTextIndex;
+    private final FileNameIndex fileNameIndex;
+    private final LabelAssignmentIndex labelAssignmentIndex;
+    private final int maxTextSearchResults;
+    private final int textSearchChunkSize;
+    private final int maxNameIndexResults;
+    private final int maxLabelIndexResults;
+    private final Duration indexSyncMargin;
+    private final List<Long> facetSizeBoundaries;
+    private final int maxFacetLabels;
+    private final int exportBatchSize;
+
+    public SearchFileRepositoryImpl(FileTextIndex fileTextIndex, FileNameIndex fileNameIndex, LabelAssignmentIndex labelAssignmentIndex,
+                                    @Value("${app.search.text.max-results}") int maxTextSearchResults,
+                                    @Value("${app.search.text.chunk-size}") int textSearchChunkSize,
+                                    @Value("${app.search.name-index.max-results}") int maxNameIndexResults,
+                                    @Value("${app.search.label-index.max-results}") int maxLabelIndexResults,
+                                    @Value("${app.search.index.sync-margin}") Duration indexSyncMargin,
+                                    @Value("${app.search.facets.size-buckets}") List<DataSize> facetSizeBoundaries,
+                                    @Value("${app.search.facets.max-labels}") int maxFacetLabels,
+                                    @Value("${app.search.export.batch-size}") int exportBatchSize) {
+        this.fileTextIndex = fileTextIndex;
+        this.fileNameIndex = fileNameIndex;
+        this.labelAssignmentIndex = labelAssignmentIndex;
+        this.maxTextSearchResults = maxTextSearchResults;
+        this.textSearchChunkSize = textSearchChunkSize;
+        this.maxNameIndexResults = maxNameIndexResults;
+        this.maxLabelIndexResults = maxLabelIndexResults;
+        this.indexSyncMargin = indexSyncMargin;
+        this.facetSizeBoundaries = TransformUtils.transformToList(facetSizeBoundaries, DataSize::toBytes);
+        this.maxFacetLabels = maxFacetLabels;
+        this.exportBatchSize = exportBatchSize;
+    }
+
+    static boolean isOrderedByRelevance(FilesSearchCriteria searchCriteria, Pageable pageable) {
+        return searchCriteria.getText() != null && pageable.getSort().isUnsorted();
+    }
+
     @Override
-    public Page<File> searchFilesByCriteria(FilesSearchCriteria searchCriteria, Pageable pageable) {
+    public FilesSearchResult searchFilesByCriteria(FilesSearchCriteria searchCriteria, String cursor, Pageable pageable) {
+        Optional<List<Long>> rankedFileIds = getRankedFileIds(searchCriteria);
+        if (isOrderedByRelevance(searchCriteria, pageable) && rankedFileIds.isPresent()) {
+            if (cursor != null) {
+                throw new IllegalArgumentAppException("Cursor is not supported for results ordered by relevance");
+            }
+            return searchFilesByRelevance(searchCriteria, rankedFileIds.get(), pageable);
+        }
         CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<File> criteriaQuery = cb.createQuery(File.class);
+        CriteriaQuery<Tuple> criteriaQuery = cb.createTupleQuery();
         Root<File> root = criteriaQuery.from(File.class);
-        criteriaQuery.select(root);
+        FileDetailsProjection.FileSelection fileSelection = new FileDetailsProjection.FileSelection(root);
+        criteriaQuery.multiselect(fileSelection.getSelections());
+
+        Predicate predicate = createPredicateBasedOnSearchCriteria(root, searchCriteria, rankedFileIds.map(this::limitTextMatches), cb, criteriaQuery);
+        List<Sort.Order> sortingOrders = getSortingOrders(pageable.getSort());
+        if (cursor == null) {
+            criteriaQuery.where(predicate);
+        } else {
+            criteriaQuery.where(predicate, getSeekPredicate(root, FileSearchCursor.decode(cursor), sortingOrders, cb));
+        }
+        criteriaQuery.orderBy(mapToCriteriaOrders(root, sortingOrders, cb));
+
+        TypedQuery<Tuple> query = createReadOnlyQuery(criteriaQuery);
+        if (cursor == null) {
+            query.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
+        }
+        query.setMaxResults(pageable.getPageSize() + 1);
+
+        List<File> files = TransformUtils.transformToList(query.getResultList(), fileSelection::toFile);
+        boolean hasNext = files.size() > pageable.getPageSize();
+        List<File> pageContent = hasNext ? files.subList(0, pageable.getPageSize()) : files;
+        assignLabels(pageContent);
+        String nextCursor = hasNext ? FileSearchCursor.of(sortingOrders, pageContent.get(pageContent.size() - 1)).encode() : null;
+        FilesSearchResult searchResult = new FilesSearchResult(pageContent, nextCursor);
+        searchResult.setTruncated(isTruncated(rankedFileIds));
+        return searchResult;
+    }
+
+    @Override
+    public boolean isTextSearchTruncated(FilesSearchCriteria searchCriteria) {
+        return isTruncated(getRankedFileIds(searchCriteria));
+    }
+
+    private Optional<List<Long>> getRankedFileIds(FilesSearchCriteria searchCriteria) {
+        return Optional.ofNullable(searchCriteria.getText())
+                .flatMap(fileTextIndex::search);
+    }
+
+    private List<Long> limitTextMatches(List<Long> rankedFileIds) {
+        return rankedFileIds.size() > maxTextSearchResults ? rankedFileIds.subList(0, maxTextSearchResults) : rankedFileIds;
+    }
+
+    private boolean isTruncated(Optional<List<Long>> rankedFileIds) {
+        return rankedFileIds.map(List::size).orElse(0) > maxTextSearchResults;
+    }
+
+    private List<Optional<List<Long>>> getTextMatchChunks(Optional<List<Long>> rankedFileIds) {
+        if (rankedFileIds.isEmpty()) {
+            return List.of(Optional.empty());
+        }
+        return Lists.partition(rankedFileIds.get(), textSearchChunkSize).stream()
+                .map(Optional::of)
+                .collect(Collectors.toList());
+    }
+
+    private FilesSearchResult searchFilesByRelevance(FilesSearchCriteria searchCriteria, List<Long> rankedFileIds, Pageable pageable) {
+        List<Long> pageFileIds = new ArrayList<>();
+        long matchingFilesCount = 0;
+        for (List<Long> chunk : Lists.partition(rankedFileIds, textSearchChunkSize)) {
+            Set<Long> matchingFileIds = new HashSet<>(getMatchingFileIds(searchCriteria, chunk));
+            for (Long fileId : chunk) {
+                if (!matchingFileIds.contains(fileId)) {
+                    continue;
+                }
+                if (matchingFilesCount >= pageable.getOffset() && pageFileIds.size() < pageable.getPageSize()) {
+                    pageFileIds.add(fileId);
+                }
+                matchingFilesCount++;
+            }
+        }
+        Map<Long, File> filesById = TransformUtils.transformToMap(getFiles(pageFileIds), File::getId, Function.identity());
+        List<File> pageContent = pageFileIds.stream()
+                .map(filesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        assignLabels(pageContent);
+        FilesSearchResult searchResult = new FilesSearchResult(pageContent, null);
+        searchResult.setTotalCount(matchingFilesCount);
+        return searchResult;
+    }
 
-        Predicate predicate = createPredicateBasedOnSearchCriteria(root, searchCriteria, cb, criteriaQuery);
-        criteriaQuery.where(predicate);
+    private List<Long> getMatchingFileIds(FilesSearchCriteria searchCriteria, List<Long> rankedFileIds) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = cb.createQuery(Long.class);
+        Root<File> root = criteriaQuery.from(File.class);
+        criteriaQuery.select(root.get(File_.id))
+                .where(createPredicateBasedOnSearchCriteria(root, searchCriteria, Optional.of(rankedFileIds), cb, criteriaQuery));
+        return createReadOnlyQuery(criteriaQuery).getResultList();
+    }
 
-        List<Order> sortingOrders = getSortingOrders(root, pageable.getSort(), cb);
-        criteriaQuery.orderBy(sortingOrders);
+    private List<File> getFiles(Collection<Long> fileIds) {
+        if (fileIds.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = cb.createTupleQuery();
+        Root<File> root = criteriaQuery.from(File.class);
+        FileDetailsProjection.FileSelection fileSelection = new FileDetailsProjection.FileSelection(root);
+        criteriaQuery.multiselect(fileSelection.getSelections())
+                .where(root.get(File_.id).in(fileIds));
+        return TransformUtils.transformToList(createReadOnlyQuery(criteriaQuery).getResultList(), fileSelection::toFile);
+    }
+
+    private void assignLabels(List<File> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        Map<Long, File> filesById = TransformUtils.transformToMap(files, File::getId, Function.identity());
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = cb.createTupleQuery();
+        Root<LabelAssignment> root = criteriaQuery.from(LabelAssignment.class);
+        Path<Long> fileId = root.get(LabelAssignment_.file).get(File_.id);
+        Join<LabelAssignment, Label> label = root.join(LabelAssignment_.label);
+        FileDetailsProjection.LabelSelection labelSelection = new FileDetailsProjection.LabelSelection(label);
+        List<Selection<?>> selections = new ArrayList<>(labelSelection.getSelections());
+        selections.add(fileId);
+        criteriaQuery.multiselect(selections)
+                .where(fileId.in(filesById.keySet()), cb.equal(label.get(AuditedObject_.objectState), ObjectState.ACTIVE))
+                .orderBy(cb.asc(label.get(Label_.name)));
+
+        for (Tuple tuple : createReadOnlyQuery(criteriaQuery).getResultList()) {
+            File file = filesById.get(tuple.get(fileId));
+            file.getLabelAssignments().add(new LabelAssignment(labelSelection.toLabel(tuple), file));
+        }
+    }
+
+    private <T> TypedQuery<T> createReadOnlyQuery(CriteriaQuery<T> criteriaQuery) {
+        return em.createQuery(criteriaQuery)
+                .setFlushMode(FlushModeType.COMMIT)
+                .setHint(QueryHints.HINT_READONLY, true);
+    }
+
+    @Override
+    public long countFilesByCriteria(FilesSearchCriteria searchCriteria) {
+        return getTextMatchChunks(getRankedFileIds(searchCriteria)).stream()
+                .mapToLong(textFileIds -> countFilesByCriteria(searchCriteria, textFileIds))
+                .sum();
+    }
+
+    private long countFilesByCriteria(FilesSearchCriteria searchCriteria, Optional<List<Long>> textFileIds) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = cb.createQuery(Long.class);
+        Root<File> root = criteriaQuery.from(File.class);
+        criteriaQuery.select(cb.count(root));
+        criteriaQuery.where(createPredicateBasedOnSearchCriteria(root, searchCriteria, textFileIds, cb, criteriaQuery));
+        return createReadOnlyQuery(criteriaQuery).getSingleResult();
+    }
+
+    @Override
+    public void forEachFilesBatchByCriteria(FilesSearchCriteria searchCriteria, Sort sort, Consumer<List<File>> filesBatchConsumer) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = cb.createTupleQuery();
+        Root<File> root = criteriaQuery.from(File.class);
+        Join<LabelAssignment, Label> label = root.join(File_.labelAssignments, JoinType.LEFT).join(LabelAssignment_.label, JoinType.LEFT);
+        label.on(cb.equal(label.get(AuditedObject_.objectState), ObjectState.ACTIVE));
+        FileDetailsProjection.FileSelection fileSelection = new FileDetailsProjection.FileSelection(root);
+        FileDetailsProjection.LabelSelection labelSelection = new FileDetailsProjection.LabelSelection(label);
+        List<Selection<?>> selections = new ArrayList<>(fileSelection.getSelections());
+        selections.addAll(labelSelection.getSelections());
+        List<Order> orders = new ArrayList<>(mapToCriteriaOrders(root, getSortingOrders(sort), cb));
+        orders.add(cb.asc(label.get(Label_.name)));
+        criteriaQuery.multiselect(selections)
+                .where(createPredicateBasedOnSearchCriteria(root, searchCriteria, getRankedFileIds(searchCriteria).map(this::limitTextMatches), cb, criteriaQuery))
+                .orderBy(orders);
+
+        try (Stream<Tuple> tuples = createReadOnlyQuery(criteriaQuery)
+                .setHint(QueryHints.HINT_FETCH_SIZE, PersistenceConstants.STREAM_FETCH_SIZE)
+                .getResultStream()) {
+            List<File> batch = new ArrayList<>();
+            File file = null;
+            Iterator<Tuple> iterator = tuples.iterator();
+            while (iterator.hasNext()) {
+                Tuple tuple = iterator.next();
+                if (file == null || !file.getId().equals(tuple.get(fileSelection.getId()))) {
+                    if (batch.size() == exportBatchSize) {
+                        filesBatchConsumer.accept(batch);
+                        batch = new ArrayList<>();
+                    }
+                    file = fileSelection.toFile(tuple);
+                    batch.add(file);
+                }
+                if (tuple.get(labelSelection.getId()) != null) {
+                    file.getLabelAssignments().add(new LabelAssignment(labelSelection.toLabel(tuple), file));
+                }
+            }
+            if (!batch.isEmpty()) {
+                filesBatchConsumer.accept(batch);
+            }
+        }
+    }
+
+    @Override
+    public FileFacets getFacetsByCriteria(FilesSearchCriteria searchCriteria, HistogramInterval createdAtInterval) {
+        List<Optional<List<Long>>> textMatchChunks = getTextMatchChunks(getRankedFileIds(searchCriteria));
+        FileFacetsCollector collector = new FileFacetsCollector(facetSizeBoundaries, createdAtInterval);
+        textMatchChunks.forEach(textFileIds -> collectFacets(searchCriteria, textFileIds, collector));
+        return new FileFacets(getLabelCounts(countFilesByLabelId(searchCriteria, textMatchChunks)), collector.getSizeBuckets(), collector.getCreatedAtHistogram());
+    }
+
+    private void collectFacets(FilesSearchCriteria searchCriteria, Optional<List<Long>> textFileIds, FileFacetsCollector collector) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = cb.createTupleQuery();
+        Root<File> root = criteriaQuery.from(File.class);
+        Path<Long> size = root.get(File_.size);
+        Path<Instant> createdAt = root.get(AuditedObject_.createdAt);
+        criteriaQuery.multiselect(size, createdAt)
+                .where(createPredicateBasedOnSearchCriteria(root, searchCriteria, textFileIds, cb, criteriaQuery));
+
+        try (Stream<Tuple> tuples = createReadOnlyQuery(criteriaQuery)
+                .setHint(QueryHints.HINT_FETCH_SIZE, PersistenceConstants.STREAM_FETCH_SIZE)
+                .getResultStream()) {
+            tuples.forEach(tuple -> collector.add(tuple.get(size), tuple.get(createdAt)));
+        }
+    }
+
+    private Map<Long, Long> countFilesByLabelId(FilesSearchCriteria searchCriteria, List<Optional<List<Long>>> textMatchChunks) {
+        Map<Long, Long> fileCountsByLabelId = new HashMap<>();
+        textMatchChunks.forEach(textFileIds -> countFilesByLabelId(searchCriteria, textFileIds)
+                .forEach((labelId, fileCount) -> fileCountsByLabelId.merge(labelId, fileCount, Long::sum)));
+        return fileCountsByLabelId;
+    }
 
-        TypedQuery<File> query = em.createQuery(criteriaQuery);
-        query.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-        query.setMaxResults(pageable.getPageSize());
+    private Map<Long, Long> countFilesByLabelId(FilesSearchCriteria searchCriteria, Optional<List<Long>> textFileIds) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = cb.createTupleQuery();
+        Root<LabelAssignment> root = criteriaQuery.from(LabelAssignment.class);
+        Path<Long> labelId = root.get(LabelAssignment_.label).get(Label_.id);
+        Expression<Long> fileCount = cb.count(root);
+        Subquery<Long> matchingFileIds = criteriaQuery.subquery(Long.class);
+        Root<File> file = matchingFileIds.from(File.class);
+        matchingFileIds.select(file.get(File_.id))
+                .where(createPredicateBasedOnSearchCriteria(file, searchCriteria, textFileIds, cb, matchingFileIds));
+        criteriaQuery.multiselect(labelId, fileCount)
+                .where(root.get(LabelAssignment_.file).get(File_.id).in(matchingFileIds))
+                .groupBy(labelId);
+        return TransformUtils.transformToMap(createReadOnlyQuery(criteriaQuery).getResultList(), tuple -> tuple.get(labelId), tuple -> tuple.get(fileCount));
+    }
 
-        return new PageImpl<>(query.getResultList(), pageable, getTotalCount(predicate));
+    private List<FileFacets.LabelCount> getLabelCounts(Map<Long, Long> fileCountsByLabelId) {
+        Map<Long, Long> topFileCountsByLabelId = fileCountsByLabelId.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(maxFacetLabels)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (topFileCountsByLabelId.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = cb.createTupleQuery();
+        Root<Label> root = criteriaQuery.from(Label.class);
+        Path<Long> labelId = root.get(Label_.id);
+        Path<String> labelName = root.get(Label_.name);
+        criteriaQuery.multiselect(labelId, labelName)
+                .where(labelId.in(topFileCountsByLabelId.keySet()));
+        return createReadOnlyQuery(criteriaQuery).getResultList().stream()
+                .map(tuple -> new FileFacets.LabelCount(tuple.get(labelName), topFileCountsByLabelId.get(tuple.get(labelId))))
+                .sorted(Comparator.comparingLong(FileFacets.LabelCount::getCount).reversed().thenComparing(FileFacets.LabelCount::getLabelName))
+                .collect(Collectors.toList());
     }
 
-    private Predicate createPredicateBasedOnSearchCriteria(Root<File> root, FilesSearchCriteria searchCriteria,
-                                                           CriteriaBuilder cb, CriteriaQuery<File> criteriaQuery) {
+    private Predicate createPredicateBasedOnSearchCriteria(Root<File> root, FilesSearchCriteria searchCriteria, Optional<List<Long>> textFileIds,
+                                                           CriteriaBuilder cb, CommonAbstractCriteria criteriaQuery) {
         Path<String> name = root.get(File_.name);
         Path<Long> size = root.get(File_.size);
         Path<String> path = root.get(File_.path);
@@ -71,8 +394,23 @@ public class SearchFileRepositoryImpl implements SearchFileRepository {
         Path<Instant> updatedAt = root.get(AuditedObject_.updatedAt);
         Path<String> createdBy = root.get(AuditedObject_.createdBy).get(User_.username);
         Path<String> updatedBy = root.get(AuditedObject_.updatedBy).get(User_.username);
+        Optional<Instant> nameIndexSyncedAt = fileNameIndex.getSyncedAt();
+        Optional<Set<Long>> nameFileIds = nameIndexSyncedAt
+                .flatMap(unused -> Optional.ofNullable(searchCriteria.getName()))
+                .flatMap(value -> fileNameIndex.findFileIdsWithNameContaining(value, maxNameIndexResults));
+        Optional<Instant> labelIndexSyncedAt = labelAssignmentIndex.getSyncedAt();
+        Optional<CompressedBitmap> labelFileIds = labelIndexSyncedAt
+                .flatMap(unused -> getFileIdsWithLabels(searchCriteria));
+        List<Optional<Predicate>> changedSinceIndexSyncPredicates = Arrays.asList(
+                nameFileIds.flatMap(unused -> nameIndexSyncedAt)
+                        .map(syncedAt -> cb.greaterThanOrEqualTo(updatedAt, syncedAt.minus(indexSyncMargin))),
+                labelFileIds.flatMap(unused -> labelIndexSyncedAt)
+                        .map(syncedAt -> cb.exists(getLabelAssignmentsCreatedSinceSubquery(syncedAt.minus(indexSyncMargin), root, criteriaQuery, cb))));
         List<Optional<Predicate>> predicates = Arrays.asList(
-                getLikePredicate(name, searchCriteria.getName(), cb),
+                textFileIds.map(fileIds -> getFileIdsPredicate(root, fileIds, cb)),
+                getIndexCandidatesPredicate(root, getCandidateFileIds(Stream.of(textFileIds, nameFileIds), labelFileIds), changedSinceIndexSyncPredicates, cb),
+                textFileIds.isPresent() ? Optional.empty() : getTextPredicate(root, searchCriteria.getText(), cb, criteriaQuery),
+                getCaseInsensitiveLikePredicate(name, searchCriteria.getName(), cb),
                 getMinMaxPredicate(size, searchCriteria.getMinSize(), searchCriteria.getMaxSize(), cb),
                 getStartsWithPredicate(path, searchCriteria.getPath(), cb),
                 getMinMaxPredicate(createdAt, searchCriteria.getMinCreatedAt(), searchCriteria.getMaxCreatedAt(), cb),
@@ -86,9 +424,106 @@ public class SearchFileRepositoryImpl implements SearchFileRepository {
                 .collect(Collectors.collectingAndThen(Collectors.toList(), predicatesList -> cb.and(predicatesList.toArray(new Predicate[0]))));
     }
 
-    private Optional<Predicate> getLikePredicate(Path<String> attribute, String value, CriteriaBuilder criteriaBuilder) {
+    private Optional<Predicate> getIndexCandidatesPredicate(Root<File> root, Optional<Set<Long>> candidateFileIds,
+                                                           List<Optional<Predicate>> changedSinceIndexSyncPredicates, CriteriaBuilder criteriaBuilder) {
+        List<Predicate> changedSinceIndexSync = changedSinceIndexSyncPredicates.stream()
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+        if (changedSinceIndexSync.isEmpty()) {
+            return Optional.empty();
+        }
+        return candidateFileIds.map(fileIds -> criteriaBuilder.or(
+                Stream.concat(Stream.of(getFileIdsPredicate(root, fileIds, criteriaBuilder)), changedSinceIndexSync.stream()).toArray(Predicate[]::new)));
+    }
+
+    private Optional<Set<Long>> getCandidateFileIds(Stream<Optional<? extends Collection<Long>>> indexedFileIds, Optional<CompressedBitmap> labelFileIds) {
+        List<Set<Long>> fileIdSets = indexedFileIds
+                .flatMap(Optional::stream)
+                .map(HashSet::new)
+                .sorted(Comparator.comparingInt(Set::size))
+                .collect(Collectors.toList());
+        if (fileIdSets.isEmpty()) {
+            return labelFileIds
+                    .filter(bitmap -> bitmap.getCardinality() <= maxLabelIndexResults)
+                    .map(bitmap -> bitmap.stream().mapToObj(Long::valueOf).collect(Collectors.toSet()));
+        }
+        return Optional.of(fileIdSets.get(0).stream()
+                .filter(fileId -> fileIdSets.stream().skip(1).allMatch(fileIds -> fileIds.contains(fileId)))
+                .filter(fileId -> labelFileIds.map(bitmap -> fileId <= Integer.MAX_VALUE && bitmap.contains(fileId.intValue())).orElse(true))
+                .collect(Collectors.toSet()));
+    }
+
+    private Optional<CompressedBitmap> getFileIdsWithLabels(FilesSearchCriteria searchCriteria) {
+        List<String> anyOfLabels = searchCriteria.getContainsAnyOfLabels();
+        List<String> allOfLabels = searchCriteria.getContainsAllOfLabels();
+        if (labelsAreNotSpecified(anyOfLabels) && labelsAreNotSpecified(allOfLabels)) {
+            return Optional.empty();
+        }
+        List<Optional<CompressedBitmap>> bitmaps = new ArrayList<>();
+        if (!labelsAreNotSpecified(anyOfLabels)) {
+            bitmaps.add(labelAssignmentIndex.getFileIdsWithAnyOfLabels(getLabelIdsByNames(anyOfLabels)));
+        }
+        if (!labelsAreNotSpecified(allOfLabels)) {
+            Set<Long> labelIds = getLabelIdsByNames(allOfLabels);
+            bitmaps.add(labelIds.size() < new HashSet<>(allOfLabels).size()
+                    ? Optional.of(new CompressedBitmap())
+                    : labelAssignmentIndex.getFileIdsWithAllOfLabels(labelIds));
+        }
+        if (bitmaps.stream().anyMatch(Optional::isEmpty)) {
+            return Optional.empty();
+        }
+        return Optional.of(CompressedBitmap.and(TransformUtils.transformToList(bitmaps, Optional::get)));
+    }
+
+    private Set<Long> getLabelIdsByNames(Collection<String> labelNames) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = cb.createQuery(Long.class);
+        Root<Label> root = criteriaQuery.from(Label.class);
+        criteriaQuery.select(root.get(Label_.id))
+                .where(root.get(Label_.name).in(labelNames));
+        return new HashSet<>(createReadOnlyQuery(criteriaQuery).getResultList());
+    }
+
+    private Optional<Predicate> getTextPredicate(Root<File> root, String text, CriteriaBuilder criteriaBuilder, CommonAbstractCriteria criteriaQuery) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        List<Predicate> termPredicates = TransformUtils.transformToList(new LinkedHashSet<>(TextAnalyzer.tokenize(text)), term -> criteriaBuilder.or(
+                getContainsPredicate(root.get(File_.name), term, criteriaBuilder),
+                getContainsPredicate(root.get(File_.description), term, criteriaBuilder),
+                criteriaBuilder.exists(getLabelNamesContainingSubquery(term, root, criteriaQuery, criteriaBuilder))));
+        return Optional.of(termPredicates.isEmpty() ? criteriaBuilder.disjunction() : criteriaBuilder.and(termPredicates.toArray(new Predicate[0])));
+    }
+
+    private Subquery<Long> getLabelNamesContainingSubquery(String term,
+                                                           Root<File> parentQueryRoot,
+                                                           CommonAbstractCriteria criteriaQuery,
+                                                           CriteriaBuilder criteriaBuilder) {
+        Subquery<Long> labelAssignmentSubquery = criteriaQuery.subquery(Long.class);
+        Root<LabelAssignment> subqueryRoot = labelAssignmentSubquery.from(LabelAssignment.class);
+        Root<File> correlatedParentQueryRoot = labelAssignmentSubquery.correlate(parentQueryRoot);
+        Join<LabelAssignment, Label> label = subqueryRoot.join(LabelAssignment_.label);
+        Path<Long> fileId = subqueryRoot.get(LabelAssignment_.file).get(File_.id);
+        Path<Long> correlatedRootFileId = correlatedParentQueryRoot.get(File_.id);
+        return labelAssignmentSubquery.select(label.get(Label_.id))
+                .where(criteriaBuilder.equal(fileId, correlatedRootFileId),
+                        criteriaBuilder.equal(label.get(AuditedObject_.objectState), ObjectState.ACTIVE),
+                        getContainsPredicate(label.get(Label_.name), term, criteriaBuilder));
+    }
+
+    // Values are normalized like in text indexes; accents in column values are ignored thanks to accent-insensitive collation of MySQL text columns
+    private Predicate getContainsPredicate(Path<String> attribute, String normalizedValue, CriteriaBuilder criteriaBuilder) {
+        return criteriaBuilder.like(criteriaBuilder.lower(attribute), LikeClauseUtils.getWrappedInContainsPattern(normalizedValue),
+                LikeClauseUtils.ESCAPE_CHARACTER);
+    }
+
+    private Optional<Predicate> getCaseInsensitiveLikePredicate(Path<String> attribute, String value, CriteriaBuilder criteriaBuilder) {
         return Optional.ofNullable(value)
-                .map(v -> criteriaBuilder.like(attribute, LikeClauseUtils.getWrappedInContainsPattern(v), LikeClauseUtils.ESCAPE_CHARACTER));
+                .map(v -> getContainsPredicate(attribute, TextAnalyzer.normalize(v), criteriaBuilder));
+    }
+
+    private Predicate getFileIdsPredicate(Root<File> root, Collection<Long> fileIds, CriteriaBuilder criteriaBuilder) {
+        return fileIds.isEmpty() ? criteriaBuilder.disjunction() : root.get(File_.id).in(fileIds);
     }
 
     private Optional<Predicate> getStartsWithPredicate(Path<String> attribute, String value, CriteriaBuilder criteriaBuilder) {
@@ -118,7 +553,7 @@ public class SearchFileRepositoryImpl implements SearchFileRepository {
                 .map(val -> criteriaBuilder.equal(attribute, val));
     }
 
-    private Optional<Predicate> getContainsAnyOfLabelsPredicate(Root<File> root, CriteriaQuery<File> criteriaQuery, FilesSearchCriteria searchCriteria, CriteriaBuilder criteriaBuilder) {
+    private Optional<Predicate> getContainsAnyOfLabelsPredicate(Root<File> root, CommonAbstractCriteria criteriaQuery, FilesSearchCriteria searchCriteria, CriteriaBuilder criteriaBuilder) {
         List<String> allowedLabels = searchCriteria.getContainsAnyOfLabels();
         if (labelsAreNotSpecified(allowedLabels)) {
             return Optional.empty();
@@ -128,7 +563,7 @@ public class SearchFileRepositoryImpl implements SearchFileRepository {
 
     private Subquery<Long> getLabelIdsSubquery(Collection<String> inClauseLabelNames,
                                                Root<File> parentQueryRoot,
-                                               CriteriaQuery<File> criteriaQuery,
+                                               CommonAbstractCriteria criteriaQuery,
                                                CriteriaBuilder criteriaBuilder) {
         Subquery<Long> labelAssignmentSubquery = criteriaQuery.subquery(Long.class);
         Root<LabelAssignment> subqueryRoot = labelAssignmentSubquery.from(LabelAssignment.class);
@@ -141,23 +576,38 @@ public class SearchFileRepositoryImpl implements SearchFileRepository {
                 .where(criteriaBuilder.equal(fileId, correlatedRootFileId), labelName.in(inClauseLabelNames));
     }
 
+    private Subquery<Long> getLabelAssignmentsCreatedSinceSubquery(Instant since,
+                                                                 Root<File> parentQueryRoot,
+                                                                 CommonAbstractCriteria criteriaQuery,
+                                                                 CriteriaBuilder criteriaBuilder) {
+        Subquery<Long> labelAssignmentSubquery = criteriaQuery.subquery(Long.class);
+        Root<LabelAssignment> subqueryRoot = labelAssignmentSubquery.from(LabelAssignment.class);
+        Root<File> correlatedParentQueryRoot = labelAssignmentSubquery.correlate(parentQueryRoot);
+        Path<Long> labelId = subqueryRoot.get(LabelAssignment_.label).get(Label_.id);
+        Path<Long> fileId = subqueryRoot.get(LabelAssignment_.file).get(File_.id);
+        Path<Long> correlatedRootFileId = correlatedParentQueryRoot.get(File_.id);
+        return labelAssignmentSubquery.select(labelId)
+                .where(criteriaBuilder.equal(fileId, correlatedRootFileId),
+                        criteriaBuilder.greaterThanOrEqualTo(subqueryRoot.get(AuditedObject_.createdAt), since));
+    }
+
     private boolean labelsAreNotSpecified(Collection<String> labels) {
         return Optional.ofNullable(labels)
                 .filter(v -> !v.isEmpty())
                 .isEmpty();
     }
 
-    private Optional<Predicate> getContainsAllOfLabelsPredicate(Root<File> root, CriteriaQuery<File> criteriaQuery, FilesSearchCriteria searchCriteria, CriteriaBuilder criteriaBuilder) {
+    private Optional<Predicate> getContainsAllOfLabelsPredicate(Root<File> root, CommonAbstractCriteria criteriaQuery, FilesSearchCriteria searchCriteria, CriteriaBuilder criteriaBuilder) {
         List<String> labels = searchCriteria.getContainsAllOfLabels();
         if (labelsAreNotSpecified(labels)) {
             return Optional.empty();
         }
-        return Optional.ofNullable(criteriaBuilder.greaterThanOrEqualTo(getCountLabelIdsSubquery(labels, root, criteriaQuery, criteriaBuilder), (long) labels.size()));
+        return Optional.ofNullable(criteriaBuilder.greaterThanOrEqualTo(getCountLabelIdsSubquery(labels, root, criteriaQuery, criteriaBuilder), (long) new HashSet<>(labels).size()));
     }
 
     private Subquery<Long> getCountLabelIdsSubquery(Collection<String> inClauseLabelNames,
                                                Root<File> parentQueryRoot,
-                                               CriteriaQuery<File> criteriaQuery,
+                                               CommonAbstractCriteria criteriaQuery,
                                                CriteriaBuilder criteriaBuilder) {
         Subquery<Long> labelAssignmentSubquery = criteriaQuery.subquery(Long.class);
         Root<LabelAssignment> subqueryRoot = labelAssignmentSubquery.from(LabelAssignment.class);
@@ -170,25 +620,26 @@ public class SearchFileRepositoryImpl implements SearchFileRepository {
                 .where(criteriaBuilder.equal(fileId, correlatedRootFileId), labelName.in(inClauseLabelNames));
     }
 
-    private Long getTotalCount(Predicate predicate) {
-        CriteriaBuilder criteriaBuilder = em.getCriteriaBuilder();
-        CriteriaQuery<Long> criteriaQuery = criteriaBuilder.createQuery(Long.class);
-        Root<File> root = criteriaQuery.from(File.class);
-        criteriaQuery.select(criteriaBuilder.count(root)).where(predicate);
-        return em.createQuery(criteriaQuery).getSingleResult();
-    }
-
-    private List<Order> getSortingOrders(Root<File> root, Sort sort, CriteriaBuilder criteriaBuilder) {
-        return sort.get()
+    private List<Sort.Order> getSortingOrders(Sort sort) {
+        List<Sort.Order> sortingOrders = sort.get()
                 .filter(order -> isAllowedSortingAttribute(order.getProperty()))
-                .map(order -> mapToCriteriaOrder(root, order, criteriaBuilder))
+                .map(order -> new Sort.Order(order.getDirection(), order.getProperty()))
                 .collect(Collectors.toList());
+        Sort.Direction idDirection = sortingOrders.isEmpty() ? Sort.Direction.ASC : sortingOrders.get(sortingOrders.size() - 1).getDirection();
+        sortingOrders.add(new Sort.Order(idDirection, File_.ID));
+        return sortingOrders;
     }
 
     private boolean isAllowedSortingAttribute(String attributeName) {
         return allowedSoringAttributes.contains(attributeName);
     }
 
+    private List<Order> mapToCriteriaOrders(Root<File> root, List<Sort.Order> sortingOrders, CriteriaBuilder criteriaBuilder) {
+        return sortingOrders.stream()
+                .map(order -> mapToCriteriaOrder(root, order, criteriaBuilder))
+                .collect(Collectors.toList());
+    }
+
     private Order mapToCriteriaOrder(Root<File> a, Sort.Order order, CriteriaBuilder criteriaBuilder) {
         if (order.isAscending()) {
             return criteriaBuilder.asc(a.get(order.getProperty()));
@@ -196,4 +647,43 @@ public class SearchFileRepositoryImpl implements SearchFileRepository {
         return criteriaBuilder.desc(a.get(order.getProperty()));
     }
 
+    private Predicate getSeekPredicate(Root<File> root, FileSearchCursor cursor, List<Sort.Order> sortingOrders, CriteriaBuilder criteriaBuilder) {
+        if (!cursor.getOrders().equals(sortingOrders)) {
+            throw new IllegalArgumentAppException("Cursor does not match requested sorting");
+        }
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> precedingEqualities = new ArrayList<>();
+        for (int i = 0; i < sortingOrders.size(); i++) {
+            Sort.Order order = sortingOrders.get(i);
+            Path<Comparable<Object>> attribute = root.get(order.getProperty());
+            Comparable<Object> value = getCursorValue(attribute, cursor.getValues().get(i));
+            getFollowingValuesPredicate(attribute, value, order.isAscending(), criteriaBuilder).ifPresent(following -> {
+                List<Predicate> alternative = new ArrayList<>(precedingEqualities);
+                alternative.add(following);
+                alternatives.add(criteriaBuilder.and(alternative.toArray(new Predicate[0])));
+            });
+            precedingEqualities.add(value == null ? criteriaBuilder.isNull(attribute) : criteriaBuilder.equal(attribute, value));
+        }
+        return criteriaBuilder.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    private Optional<Predicate> getFollowingValuesPredicate(Path<Comparable<Object>> attribute, Comparable<Object> value, boolean ascending,
+                                                            CriteriaBuilder criteriaBuilder) {
+        if (ascending) {
+            return Optional.of(value == null ? criteriaBuilder.isNotNull(attribute) : criteriaBuilder.greaterThan(attribute, value));
+        }
+        if (value == null) {
+            return Optional.empty();
+        }
+        return Optional.of(criteriaBuilder.or(criteriaBuilder.lessThan(attribute, value), criteriaBuilder.isNull(attribute)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Comparable<Object> getCursorValue(Path<?> attribute, Object value) {
+        if (value != null && !ClassUtils.resolvePrimitiveIfNecessary(attribute.getJavaType()).isInstance(value)) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Invalid cursor value {0}", value));
+        }
+        return (Comparable<Object>) value;
+    }
+
 }
@@ -0,0 +1,46 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.archive;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+@UtilityClass
+class BlockDeflater {
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    static byte[] deflate(byte[] block, byte[] dictionary, boolean last) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (dictionary.length > 0) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(block);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(block.length / 2 + 64);
+            byte[] buffer = new byte[OUTPUT_BUFFER_SIZE];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    outputStream.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int deflatedLength;
+                do {
+                    deflatedLength = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    outputStream.write(buffer, 0, deflatedLength);
+                } while (deflatedLength == buffer.length);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] getDictionary(byte[] block) {
+        return Arrays.copyOfRange(block, Math.max(0, block.length - DICTIONARY_SIZE), block.length);
+    }
+
+}
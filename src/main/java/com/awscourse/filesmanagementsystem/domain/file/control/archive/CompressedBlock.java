@@ -0,0 +1,17 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.archive;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+
+@Getter
+@RequiredArgsConstructor
+class CompressedBlock {
+
+    private final ZipStreamEntry entry;
+    private final boolean first;
+    private final boolean last;
+    private final CompletableFuture<byte[]> compressedData;
+
+}
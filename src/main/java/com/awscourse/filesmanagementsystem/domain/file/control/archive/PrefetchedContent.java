@@ -0,0 +1,58 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.archive;
+
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ContentCodecStreams;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FileResource;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import lombok.Getter;
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+class PrefetchedContent implements Closeable {
+
+    @Getter
+    private final File file;
+    private final byte[] head;
+    private final InputStream remainder;
+
+    private PrefetchedContent(File file, byte[] head, InputStream remainder) {
+        this.file = file;
+        this.head = head;
+        this.remainder = remainder;
+    }
+
+    static PrefetchedContent fetch(FileResource fileResource, int bufferSize) {
+        InputStream inputStream = null;
+        try {
+            inputStream = fileResource.getResource().getInputStream();
+            byte[] head = inputStream.readNBytes(bufferSize);
+            if (head.length < bufferSize) {
+                inputStream.close();
+                return new PrefetchedContent(fileResource.getFile(), head, InputStream.nullInputStream());
+            }
+            return new PrefetchedContent(fileResource.getFile(), head, inputStream);
+        } catch (IOException exception) {
+            IOUtils.closeQuietly(inputStream);
+            throw new IllegalArgumentAppException("Error during downloading file: ", exception);
+        }
+    }
+
+    InputStream getInputStream() throws IOException {
+        return ContentCodecStreams.decode(file.getContentCodec(), new SequenceInputStream(new ByteArrayInputStream(head), remainder));
+    }
+
+    @Override
+    public void close() throws IOException {
+        remainder.close();
+    }
+
+    void closeQuietly() {
+        IOUtils.closeQuietly(remainder);
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.archive;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FileResource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+@Component
+public class ZipArchiveWriter {
+
+    private final AsyncTaskExecutor prefetchExecutor;
+    private final AsyncTaskExecutor compressionExecutor;
+    private final ZipMethodResolver zipMethodResolver;
+    private final int prefetchedEntries;
+    private final int prefetchBufferSize;
+    private final int blockSize;
+    private final int maxBlocksInFlight;
+
+    public ZipArchiveWriter(@Qualifier("storageTransferExecutor") AsyncTaskExecutor prefetchExecutor,
+                            @Qualifier("archiveCompressionExecutor") AsyncTaskExecutor compressionExecutor,
+                            ZipMethodResolver zipMethodResolver,
+                            @Value("${app.archive.prefetch.entries}") int prefetchedEntries,
+                            @Value("${app.archive.prefetch.buffer-size}") DataSize prefetchBufferSize,
+                            @Value("${app.archive.deflate.block-size}") DataSize blockSize,
+                            @Value("${app.archive.deflate.max-blocks-in-flight}") int maxBlocksInFlight) {
+        this.prefetchExecutor = prefetchExecutor;
+        this.compressionExecutor = compressionExecutor;
+        this.zipMethodResolver = zipMethodResolver;
+        this.prefetchedEntries = prefetchedEntries;
+        this.prefetchBufferSize = Math.toIntExact(prefetchBufferSize.toBytes());
+        this.blockSize = Math.toIntExact(blockSize.toBytes());
+        this.maxBlocksInFlight = maxBlocksInFlight;
+    }
+
+    public OptionalLong getArchiveLength(List<FileResource> fileResources) {
+        List<ZipStreamEntry> entries = fileResources.stream()
+                .map(fileResource -> mapToZipStreamEntry(fileResource.getFile()))
+                .collect(Collectors.toList());
+        if (entries.stream().anyMatch(ZipStreamEntry::hasDataDescriptor)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(ZipStreamWriter.getArchiveLength(entries));
+    }
+
+    public void write(List<FileResource> fileResources, OutputStream outputStream) throws IOException {
+        Iterator<FileResource> remainingResources = fileResources.iterator();
+        Deque<CompletableFuture<PrefetchedContent>> prefetchedContents = new ArrayDeque<>();
+        Deque<CompressedBlock> compressedBlocks = new ArrayDeque<>();
+        ZipStreamWriter zipStreamWriter = new ZipStreamWriter(outputStream);
+        try {
+            prefetch(remainingResources, prefetchedContents);
+            while (!prefetchedContents.isEmpty()) {
+                try (PrefetchedContent content = await(prefetchedContents.poll())) {
+                    prefetch(remainingResources, prefetchedContents);
+                    writeEntry(zipStreamWriter, content, compressedBlocks);
+                }
+            }
+            writeBlocks(zipStreamWriter, compressedBlocks);
+            zipStreamWriter.finish();
+        } finally {
+            prefetchedContents.forEach(this::closeWhenFetched);
+            compressedBlocks.forEach(block -> block.getCompressedData().cancel(false));
+        }
+    }
+
+    private void prefetch(Iterator<FileResource> remainingResources, Deque<CompletableFuture<PrefetchedContent>> prefetchedContents) {
+        while (prefetchedContents.size() < prefetchedEntries && remainingResources.hasNext()) {
+            FileResource fileResource = remainingResources.next();
+            prefetchedContents.add(CompletableFuture.supplyAsync(() -> PrefetchedContent.fetch(fileResource, prefetchBufferSize), prefetchExecutor));
+        }
+    }
+
+    private void writeEntry(ZipStreamWriter zipStreamWriter, PrefetchedContent content, Deque<CompressedBlock> compressedBlocks) throws IOException {
+        ZipStreamEntry entry = mapToZipStreamEntry(content.getFile());
+        if (entry.getMethod() == ZipMethod.STORED) {
+            writeBlocks(zipStreamWriter, compressedBlocks);
+            storeEntry(zipStreamWriter, content, entry);
+        } else {
+            compressEntry(zipStreamWriter, content, entry, compressedBlocks);
+        }
+    }
+
+    private void storeEntry(ZipStreamWriter zipStreamWriter, PrefetchedContent content, ZipStreamEntry entry) throws IOException {
+        zipStreamWriter.putEntry(entry);
+        try (InputStream inputStream = content.getInputStream()) {
+            zipStreamWriter.transfer(inputStream);
+        }
+        zipStreamWriter.closeEntry();
+    }
+
+    private void compressEntry(ZipStreamWriter zipStreamWriter, PrefetchedContent content, ZipStreamEntry entry, Deque<CompressedBlock> compressedBlocks) throws IOException {
+        CRC32 checksum = new CRC32();
+        byte[] dictionary = new byte[0];
+        boolean first = true;
+        boolean last;
+        try (InputStream inputStream = content.getInputStream()) {
+            do {
+                byte[] block = inputStream.readNBytes(blockSize);
+                last = block.length < blockSize;
+                checksum.update(block);
+                entry.setSize(entry.getSize() + block.length);
+                entry.setCrc(checksum.getValue());
+                compressedBlocks.add(new CompressedBlock(entry, first, last, deflate(block, dictionary, last)));
+                dictionary = BlockDeflater.getDictionary(block);
+                first = false;
+                while (compressedBlocks.size() >= maxBlocksInFlight) {
+                    writeBlock(zipStreamWriter, compressedBlocks.poll());
+                }
+            } while (!last);
+        }
+    }
+
+    private ZipStreamEntry mapToZipStreamEntry(File file) {
+        Instant lastModified = Optional.ofNullable(file.getUpdatedAt()).orElseGet(Instant::now);
+        ZipMethod method = zipMethodResolver.getMethod(file);
+        ZipStreamEntry entry = new ZipStreamEntry(file.getFullPath(), lastModified, method, file.getSize());
+        if (method == ZipMethod.STORED) {
+            entry.setCrc(file.getCrc32());
+            entry.setSize(file.getSize());
+            entry.setCompressedSize(file.getSize());
+        }
+        return entry;
+    }
+
+    private CompletableFuture<byte[]> deflate(byte[] block, byte[] dictionary, boolean last) {
+        return CompletableFuture.supplyAsync(() -> BlockDeflater.deflate(block, dictionary, last), compressionExecutor);
+    }
+
+    private void writeBlocks(ZipStreamWriter zipStreamWriter, Deque<CompressedBlock> compressedBlocks) throws IOException {
+        while (!compressedBlocks.isEmpty()) {
+            writeBlock(zipStreamWriter, compressedBlocks.poll());
+        }
+    }
+
+    private void writeBlock(ZipStreamWriter zipStreamWriter, CompressedBlock block) throws IOException {
+        byte[] compressedData = await(block.getCompressedData());
+        if (block.isFirst()) {
+            zipStreamWriter.putEntry(block.getEntry());
+        }
+        zipStreamWriter.write(compressedData);
+        if (block.isLast()) {
+            zipStreamWriter.closeEntry();
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    private void closeWhenFetched(CompletableFuture<PrefetchedContent> prefetchedContent) {
+        prefetchedContent.thenAccept(PrefetchedContent::closeQuietly);
+    }
+
+}
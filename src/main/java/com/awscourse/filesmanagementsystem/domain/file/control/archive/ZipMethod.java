@@ -0,0 +1,15 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.archive;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ZipMethod {
+
+    STORED((short) 0),
+    DEFLATED((short) 8);
+
+    private final short code;
+
+}
@@ -0,0 +1,35 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.archive;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ZipMethodResolver {
+
+    private final List<MediaType> storedMediaTypes;
+
+    public ZipMethodResolver(@Value("${app.archive.stored-media-types}") List<MediaType> storedMediaTypes) {
+        this.storedMediaTypes = storedMediaTypes;
+    }
+
+    public ZipMethod getMethod(File file) {
+        if (file.getCrc32() == null) {
+            return ZipMethod.DEFLATED;
+        }
+        return MediaTypeFactory.getMediaType(file.getName())
+                .filter(this::isIncompressible)
+                .map(mediaType -> ZipMethod.STORED)
+                .orElse(ZipMethod.DEFLATED);
+    }
+
+    private boolean isIncompressible(MediaType mediaType) {
+        return storedMediaTypes.stream()
+                .anyMatch(storedMediaType -> storedMediaType.includes(mediaType));
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.archive;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Getter
+@Setter
+class ZipStreamEntry {
+
+    private static final long ZIP64_SIZE_THRESHOLD = 0xFFFFFFFFL;
+    private static final int MINIMAL_DOS_YEAR = 1980;
+    private static final int MINIMAL_DOS_TIME = (1 << 21) | (1 << 16);
+
+    private final byte[] name;
+    private final int dosTime;
+    private final ZipMethod method;
+    private final long expectedSize;
+    private final boolean zip64;
+    private long crc;
+    private long size;
+    private long compressedSize;
+    private long offset;
+
+    ZipStreamEntry(String name, Instant lastModified, ZipMethod method, long expectedSize) {
+        this.name = name.getBytes(StandardCharsets.UTF_8);
+        this.dosTime = toDosTime(lastModified);
+        this.method = method;
+        this.expectedSize = expectedSize;
+        this.zip64 = (method == ZipMethod.STORED ? expectedSize : getMaxCompressedSize(expectedSize)) >= ZIP64_SIZE_THRESHOLD;
+    }
+
+    boolean hasDataDescriptor() {
+        return method == ZipMethod.DEFLATED;
+    }
+
+    private static long getMaxCompressedSize(long size) {
+        return size + (size >>> 12) + 1024;
+    }
+
+    private static int toDosTime(Instant instant) {
+        LocalDateTime time = LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        if (time.getYear() < MINIMAL_DOS_YEAR) {
+            return MINIMAL_DOS_TIME;
+        }
+        return (time.getYear() - MINIMAL_DOS_YEAR) << 25
+                | time.getMonthValue() << 21
+                | time.getDayOfMonth() << 16
+                | time.getHour() << 11
+                | time.getMinute() << 5
+                | time.getSecond() >> 1;
+    }
+
+}
@@ -0,0 +1,251 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.archive;
+
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import com.google.common.io.CountingOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+class ZipStreamWriter {
+
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+    private static final int CENTRAL_FILE_HEADER_SIGNATURE = 0x02014b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final short ZIP64_EXTRA_FIELD_ID = 0x0001;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_SHORT = 0xFFFF;
+    private static final short VERSION_DEFAULT = 20;
+    private static final short VERSION_ZIP64 = 45;
+    private static final short DATA_DESCRIPTOR_FLAG = 0x0008;
+    private static final short UTF8_NAME_FLAG = 0x0800;
+    private static final int LOCAL_FILE_HEADER_LENGTH = 30;
+    private static final int CENTRAL_FILE_HEADER_LENGTH = 46;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LENGTH = 56;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_LENGTH = 20;
+    private static final int END_OF_CENTRAL_DIRECTORY_LENGTH = 22;
+    private static final int EXTRA_FIELD_HEADER_LENGTH = 4;
+    private static final int ZIP64_LOCAL_EXTRA_FIELD_LENGTH = EXTRA_FIELD_HEADER_LENGTH + 2 * Long.BYTES;
+
+    private final CountingOutputStream outputStream;
+    private final List<ZipStreamEntry> entries = new ArrayList<>();
+    private ZipStreamEntry currentEntry;
+
+    ZipStreamWriter(OutputStream outputStream) {
+        this.outputStream = new CountingOutputStream(outputStream);
+    }
+
+    static long getArchiveLength(List<ZipStreamEntry> entries) {
+        long centralDirectoryOffset = 0;
+        long centralDirectorySize = 0;
+        for (ZipStreamEntry entry : entries) {
+            centralDirectorySize += getCentralFileHeaderLength(entry, centralDirectoryOffset);
+            centralDirectoryOffset += getLocalFileHeaderLength(entry) + entry.getCompressedSize() + getDataDescriptorLength(entry);
+        }
+        long endOfCentralDirectoryLength = isZip64EndOfCentralDirectoryRequired(entries.size(), centralDirectoryOffset, centralDirectorySize)
+                ? ZIP64_END_OF_CENTRAL_DIRECTORY_LENGTH + ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_LENGTH + END_OF_CENTRAL_DIRECTORY_LENGTH
+                : END_OF_CENTRAL_DIRECTORY_LENGTH;
+        return centralDirectoryOffset + centralDirectorySize + endOfCentralDirectoryLength;
+    }
+
+    void putEntry(ZipStreamEntry entry) throws IOException {
+        entry.setOffset(outputStream.getCount());
+        boolean sizesKnown = !entry.hasDataDescriptor();
+        long localSize = sizesKnown ? entry.getSize() : 0;
+        long localCompressedSize = sizesKnown ? entry.getCompressedSize() : 0;
+        ByteBuffer header = allocate(getLocalFileHeaderLength(entry))
+                .putInt(LOCAL_FILE_HEADER_SIGNATURE)
+                .putShort(entry.isZip64() ? VERSION_ZIP64 : VERSION_DEFAULT)
+                .putShort(getFlags(entry))
+                .putShort(entry.getMethod().getCode())
+                .putInt(entry.getDosTime())
+                .putInt(sizesKnown ? (int) entry.getCrc() : 0)
+                .putInt((int) (entry.isZip64() ? ZIP64_MAGIC : localCompressedSize))
+                .putInt((int) (entry.isZip64() ? ZIP64_MAGIC : localSize))
+                .putShort((short) entry.getName().length)
+                .putShort((short) (entry.isZip64() ? ZIP64_LOCAL_EXTRA_FIELD_LENGTH : 0))
+                .put(entry.getName());
+        if (entry.isZip64()) {
+            header.putShort(ZIP64_EXTRA_FIELD_ID)
+                    .putShort((short) (2 * Long.BYTES))
+                    .putLong(localSize)
+                    .putLong(localCompressedSize);
+        }
+        outputStream.write(header.array());
+        currentEntry = entry;
+    }
+
+    void write(byte[] compressedData) throws IOException {
+        outputStream.write(compressedData);
+        currentEntry.setCompressedSize(currentEntry.getCompressedSize() + compressedData.length);
+    }
+
+    void transfer(InputStream inputStream) throws IOException {
+        CheckedInputStream checkedInputStream = new CheckedInputStream(inputStream, new CRC32());
+        long transferred = checkedInputStream.transferTo(outputStream);
+        if (transferred != currentEntry.getSize() || checkedInputStream.getChecksum().getValue() != currentEntry.getCrc()) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Content of {0} does not match its stored size and checksum",
+                    new String(currentEntry.getName(), StandardCharsets.UTF_8)));
+        }
+    }
+
+    void closeEntry() throws IOException {
+        if (currentEntry.getSize() != currentEntry.getExpectedSize()) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Content of {0} does not match its stored size",
+                    new String(currentEntry.getName(), StandardCharsets.UTF_8)));
+        }
+        if (currentEntry.hasDataDescriptor()) {
+            writeDataDescriptor(currentEntry);
+        }
+        entries.add(currentEntry);
+        currentEntry = null;
+    }
+
+    private void writeDataDescriptor(ZipStreamEntry entry) throws IOException {
+        ByteBuffer descriptor = allocate(getDataDescriptorLength(entry))
+                .putInt(DATA_DESCRIPTOR_SIGNATURE)
+                .putInt((int) entry.getCrc());
+        if (entry.isZip64()) {
+            descriptor.putLong(entry.getCompressedSize()).putLong(entry.getSize());
+        } else {
+            descriptor.putInt((int) entry.getCompressedSize()).putInt((int) entry.getSize());
+        }
+        outputStream.write(descriptor.array());
+    }
+
+    void finish() throws IOException {
+        long centralDirectoryOffset = outputStream.getCount();
+        for (ZipStreamEntry entry : entries) {
+            writeCentralFileHeader(entry);
+        }
+        long centralDirectorySize = outputStream.getCount() - centralDirectoryOffset;
+        if (isZip64EndOfCentralDirectoryRequired(entries.size(), centralDirectoryOffset, centralDirectorySize)) {
+            writeZip64EndOfCentralDirectory(centralDirectoryOffset, centralDirectorySize);
+        }
+        writeEndOfCentralDirectory(centralDirectoryOffset, centralDirectorySize);
+        outputStream.flush();
+    }
+
+    private void writeCentralFileHeader(ZipStreamEntry entry) throws IOException {
+        boolean sizesInExtra = areSizesInCentralExtraField(entry);
+        boolean offsetInExtra = isOffsetInCentralExtraField(entry.getOffset());
+        int extraDataLength = getCentralExtraDataLength(entry, entry.getOffset());
+        short version = extraDataLength > 0 ? VERSION_ZIP64 : VERSION_DEFAULT;
+        ByteBuffer header = allocate(getCentralFileHeaderLength(entry, entry.getOffset()))
+                .putInt(CENTRAL_FILE_HEADER_SIGNATURE)
+                .putShort(version)
+                .putShort(version)
+                .putShort(getFlags(entry))
+                .putShort(entry.getMethod().getCode())
+                .putInt(entry.getDosTime())
+                .putInt((int) entry.getCrc())
+                .putInt((int) (sizesInExtra ? ZIP64_MAGIC : entry.getCompressedSize()))
+                .putInt((int) (sizesInExtra ? ZIP64_MAGIC : entry.getSize()))
+                .putShort((short) entry.getName().length)
+                .putShort((short) (extraDataLength > 0 ? EXTRA_FIELD_HEADER_LENGTH + extraDataLength : 0))
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putInt(0)
+                .putInt((int) (offsetInExtra ? ZIP64_MAGIC : entry.getOffset()))
+                .put(entry.getName());
+        if (extraDataLength > 0) {
+            header.putShort(ZIP64_EXTRA_FIELD_ID).putShort((short) extraDataLength);
+        }
+        if (sizesInExtra) {
+            header.putLong(entry.getSize()).putLong(entry.getCompressedSize());
+        }
+        if (offsetInExtra) {
+            header.putLong(entry.getOffset());
+        }
+        outputStream.write(header.array());
+    }
+
+    private void writeZip64EndOfCentralDirectory(long centralDirectoryOffset, long centralDirectorySize) throws IOException {
+        long zip64EndOfCentralDirectoryOffset = outputStream.getCount();
+        outputStream.write(allocate(ZIP64_END_OF_CENTRAL_DIRECTORY_LENGTH)
+                .putInt(ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+                .putLong(ZIP64_END_OF_CENTRAL_DIRECTORY_LENGTH - Integer.BYTES - Long.BYTES)
+                .putShort(VERSION_ZIP64)
+                .putShort(VERSION_ZIP64)
+                .putInt(0)
+                .putInt(0)
+                .putLong(entries.size())
+                .putLong(entries.size())
+                .putLong(centralDirectorySize)
+                .putLong(centralDirectoryOffset)
+                .array());
+        outputStream.write(allocate(ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_LENGTH)
+                .putInt(ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE)
+                .putInt(0)
+                .putLong(zip64EndOfCentralDirectoryOffset)
+                .putInt(1)
+                .array());
+    }
+
+    private void writeEndOfCentralDirectory(long centralDirectoryOffset, long centralDirectorySize) throws IOException {
+        short entryCount = (short) Math.min(entries.size(), ZIP64_MAGIC_SHORT);
+        outputStream.write(allocate(END_OF_CENTRAL_DIRECTORY_LENGTH)
+                .putInt(END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort(entryCount)
+                .putShort(entryCount)
+                .putInt((int) Math.min(centralDirectorySize, ZIP64_MAGIC))
+                .putInt((int) Math.min(centralDirectoryOffset, ZIP64_MAGIC))
+                .putShort((short) 0)
+                .array());
+    }
+
+    private static short getFlags(ZipStreamEntry entry) {
+        return entry.hasDataDescriptor() ? DATA_DESCRIPTOR_FLAG | UTF8_NAME_FLAG : UTF8_NAME_FLAG;
+    }
+
+    private static int getLocalFileHeaderLength(ZipStreamEntry entry) {
+        return LOCAL_FILE_HEADER_LENGTH + entry.getName().length + (entry.isZip64() ? ZIP64_LOCAL_EXTRA_FIELD_LENGTH : 0);
+    }
+
+    private static int getDataDescriptorLength(ZipStreamEntry entry) {
+        if (!entry.hasDataDescriptor()) {
+            return 0;
+        }
+        return 2 * Integer.BYTES + 2 * (entry.isZip64() ? Long.BYTES : Integer.BYTES);
+    }
+
+    private static int getCentralFileHeaderLength(ZipStreamEntry entry, long offset) {
+        int extraDataLength = getCentralExtraDataLength(entry, offset);
+        return CENTRAL_FILE_HEADER_LENGTH + entry.getName().length + (extraDataLength > 0 ? EXTRA_FIELD_HEADER_LENGTH + extraDataLength : 0);
+    }
+
+    private static int getCentralExtraDataLength(ZipStreamEntry entry, long offset) {
+        return (areSizesInCentralExtraField(entry) ? 2 * Long.BYTES : 0) + (isOffsetInCentralExtraField(offset) ? Long.BYTES : 0);
+    }
+
+    private static boolean areSizesInCentralExtraField(ZipStreamEntry entry) {
+        return entry.isZip64() || entry.getSize() >= ZIP64_MAGIC || entry.getCompressedSize() >= ZIP64_MAGIC;
+    }
+
+    private static boolean isOffsetInCentralExtraField(long offset) {
+        return offset >= ZIP64_MAGIC;
+    }
+
+    private static boolean isZip64EndOfCentralDirectoryRequired(int entryCount, long centralDirectoryOffset, long centralDirectorySize) {
+        return entryCount >= ZIP64_MAGIC_SHORT || centralDirectoryOffset >= ZIP64_MAGIC || centralDirectorySize >= ZIP64_MAGIC;
+    }
+
+    private static ByteBuffer allocate(int length) {
+        return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.awscourse.filesmanagementsystem.infrastructure.asynchronous.CompletableFutures;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+@ConditionalOnStorageScheme(AmazonSimpleStorageService.SCHEME)
+public class AmazonS3MetadataProbe {
+
+    private static final int LEADING_SLASH_OFFSET = 1;
+
+    private final AmazonS3 amazonS3;
+    private final AsyncTaskExecutor executor;
+    private final int maxProbesInFlight;
+    private final long timeoutNanos;
+
+    public AmazonS3MetadataProbe(AmazonS3 amazonS3,
+                                 @Qualifier("storageTransferExecutor") AsyncTaskExecutor executor,
+                                 @Value("${app.storage.metadata.max-probes-in-flight}") int maxProbesInFlight,
+                                 @Value("${app.storage.metadata.timeout}") Duration timeout) {
+        this.amazonS3 = amazonS3;
+        this.executor = executor;
+        this.maxProbesInFlight = maxProbesInFlight;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public Map<URI, ResourceMetadata> probe(Collection<URI> urls) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        Semaphore probesInFlight = new Semaphore(maxProbesInFlight);
+        List<URI> uniqueUrls = new ArrayList<>(new LinkedHashSet<>(urls));
+        List<CompletableFuture<ResourceMetadata>> probeFutures = new ArrayList<>();
+        try {
+            for (URI url : uniqueUrls) {
+                acquire(probesInFlight, deadline);
+                probeFutures.add(CompletableFuture.supplyAsync(() -> probe(url), executor)
+                        .whenComplete((metadata, exception) -> probesInFlight.release()));
+            }
+            List<ResourceMetadata> metadata = CompletableFutures.allOf(probeFutures).get(getRemainingNanos(deadline), TimeUnit.NANOSECONDS);
+            return toMap(uniqueUrls, metadata);
+        } catch (TimeoutException exception) {
+            probeFutures.forEach(future -> future.cancel(true));
+            throw new IllegalArgumentAppException(MessageFormat.format("Probing metadata of {0} resources timed out", uniqueUrls.size()), exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalArgumentAppException("Error during probing resources metadata: ", exception.getCause());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            probeFutures.forEach(future -> future.cancel(true));
+            throw new IllegalArgumentAppException("Probing resources metadata interrupted", exception);
+        }
+    }
+
+    private void acquire(Semaphore semaphore, long deadline) throws InterruptedException, TimeoutException {
+        if (!semaphore.tryAcquire(getRemainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException();
+        }
+    }
+
+    private long getRemainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private ResourceMetadata probe(URI url) {
+        try {
+            ObjectMetadata metadata = amazonS3.getObjectMetadata(url.getHost(), url.getPath().substring(LEADING_SLASH_OFFSET));
+            return new ResourceMetadata(true, metadata.getContentLength(), metadata.getETag());
+        } catch (AmazonS3Exception exception) {
+            if (exception.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+                return ResourceMetadata.nonExisting();
+            }
+            throw exception;
+        }
+    }
+
+    private Map<URI, ResourceMetadata> toMap(List<URI> urls, List<ResourceMetadata> metadata) {
+        Map<URI, ResourceMetadata> metadataByUrl = new HashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            metadataByUrl.put(urls.get(i), metadata.get(i));
+        }
+        return metadataByUrl;
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.awscourse.filesmanagementsystem.infrastructure.asynchronous.CompletableFutures;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+@Component
+@ConditionalOnStorageScheme(AmazonSimpleStorageService.SCHEME)
+public class AmazonS3MultipartUploader {
+
+    private static final int LEADING_SLASH_OFFSET = 1;
+    private static final int FIRST_PART_NUMBER = 1;
+
+    private final AmazonS3 amazonS3;
+    private final AsyncTaskExecutor executor;
+    private final int partSize;
+    private final int maxPartsInFlight;
+    private final int maxPartAttempts;
+
+    public AmazonS3MultipartUploader(AmazonS3 amazonS3,
+                                     @Qualifier("storageTransferExecutor") AsyncTaskExecutor executor,
+                                     @Value("${app.storage.multipart.part-size}") DataSize partSize,
+                                     @Value("${app.storage.multipart.max-parts-in-flight}") int maxPartsInFlight,
+                                     @Value("${app.storage.multipart.max-part-attempts}") int maxPartAttempts) {
+        this.amazonS3 = amazonS3;
+        this.executor = executor;
+        this.partSize = Math.toIntExact(partSize.toBytes());
+        this.maxPartsInFlight = maxPartsInFlight;
+        this.maxPartAttempts = maxPartAttempts;
+    }
+
+    public void upload(InputStream inputStream, URI url) {
+        String bucket = url.getHost();
+        String key = getKey(url);
+        try {
+            byte[] firstPart = readPart(inputStream);
+            if (firstPart.length < partSize) {
+                putObject(bucket, key, firstPart);
+                return;
+            }
+            uploadInParts(inputStream, firstPart, bucket, key);
+        } catch (IOException exception) {
+            log.error("Cannot upload file: ", exception);
+            throw new IllegalArgumentAppException("Error during file upload: ", exception);
+        }
+    }
+
+    private String getKey(URI url) {
+        return url.getPath().substring(LEADING_SLASH_OFFSET);
+    }
+
+    private byte[] readPart(InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[partSize];
+        int bytesRead = IOUtils.read(inputStream, buffer);
+        return bytesRead == partSize ? buffer : Arrays.copyOf(buffer, bytesRead);
+    }
+
+    private void putObject(String bucket, String key, byte[] content) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(content.length);
+        amazonS3.putObject(new PutObjectRequest(bucket, key, new ByteArrayInputStream(content), metadata));
+    }
+
+    private void uploadInParts(InputStream inputStream, byte[] firstPart, String bucket, String key) throws IOException {
+        String uploadId = amazonS3.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, key)).getUploadId();
+        try {
+            List<PartETag> partETags = uploadParts(inputStream, firstPart, bucket, key, uploadId);
+            amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, partETags));
+        } catch (IOException | RuntimeException exception) {
+            abortUpload(bucket, key, uploadId);
+            throw exception;
+        }
+    }
+
+    private List<PartETag> uploadParts(InputStream inputStream, byte[] firstPart, String bucket, String key, String uploadId) throws IOException {
+        Semaphore partsInFlight = new Semaphore(maxPartsInFlight);
+        List<CompletableFuture<PartETag>> partFutures = new ArrayList<>();
+        byte[] part = firstPart;
+        int partNumber = FIRST_PART_NUMBER;
+        while (part.length > 0 && !anyPartFailed(partFutures)) {
+            acquire(partsInFlight);
+            partFutures.add(uploadPartAsync(new UploadPartRequest()
+                    .withBucketName(bucket)
+                    .withKey(key)
+                    .withUploadId(uploadId)
+                    .withPartNumber(partNumber++)
+                    .withPartSize(part.length), part)
+                    .whenComplete((partETag, exception) -> partsInFlight.release()));
+            part = part.length < partSize ? new byte[0] : readPart(inputStream);
+        }
+        return joinParts(partFutures);
+    }
+
+    private boolean anyPartFailed(List<CompletableFuture<PartETag>> partFutures) {
+        return partFutures.stream()
+                .anyMatch(CompletableFuture::isCompletedExceptionally);
+    }
+
+    private void acquire(Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalArgumentAppException("File upload interrupted", exception);
+        }
+    }
+
+    private CompletableFuture<PartETag> uploadPartAsync(UploadPartRequest request, byte[] content) {
+        return CompletableFuture.supplyAsync(() -> uploadPartWithRetries(request, content), executor);
+    }
+
+    private PartETag uploadPartWithRetries(UploadPartRequest request, byte[] content) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return amazonS3.uploadPart(request.withInputStream(new ByteArrayInputStream(content))).getPartETag();
+            } catch (RuntimeException exception) {
+                if (attempt >= maxPartAttempts) {
+                    throw exception;
+                }
+                log.warn("Upload of part {} for {} failed, retrying (attempt {} of {})",
+                        request.getPartNumber(), request.getKey(), attempt + 1, maxPartAttempts, exception);
+            }
+        }
+    }
+
+    private List<PartETag> joinParts(List<CompletableFuture<PartETag>> partFutures) {
+        try {
+            return CompletableFutures.allOf(partFutures).join();
+        } catch (CompletionException exception) {
+            throw new IllegalArgumentAppException("Error during multipart file upload: ", exception.getCause());
+        }
+    }
+
+    private void abortUpload(String bucket, String key, String uploadId) {
+        try {
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+        } catch (RuntimeException exception) {
+            log.error("Cannot abort multipart upload {} for {}: ", uploadId, key, exception);
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.core.io.AbstractResource;
+
+import java.io.InputStream;
+import java.net.URI;
+
+class AmazonS3ObjectRangeResource extends AbstractResource {
+
+    private static final int LEADING_SLASH_OFFSET = 1;
+
+    private final AmazonS3 amazonS3;
+    private final URI url;
+    private final ByteRange range;
+
+    AmazonS3ObjectRangeResource(AmazonS3 amazonS3, URI url, ByteRange range) {
+        this.amazonS3 = amazonS3;
+        this.url = url;
+        this.range = range;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        GetObjectRequest request = new GetObjectRequest(url.getHost(), url.getPath().substring(LEADING_SLASH_OFFSET))
+                .withRange(range.getStart(), range.getEnd());
+        return amazonS3.getObject(request).getObjectContent();
+    }
+
+    @Override
+    public long contentLength() {
+        return range.getLength();
+    }
+
+    @Override
+    public String getFilename() {
+        return FilenameUtils.getName(url.getPath());
+    }
+
+    @Override
+    public String getDescription() {
+        return "Amazon S3 object range [" + url + ", bytes " + range.getStart() + "-" + range.getEnd() + "]";
+    }
+
+}
@@ -1,26 +1,46 @@
 package com.awscourse.filesmanagementsystem.domain.file.control.storage;
 
+import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.ResponseHeaderOverrides;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentCodec;
 import com.awscourse.filesmanagementsystem.infrastructure.asynchronous.CompletableFutures;
 import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
 import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.aws.core.io.s3.PathMatchingSimpleStorageResourcePatternResolver;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.WritableResource;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -28,17 +48,36 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Component("AmazonSimpleStorageService")
+@ConditionalOnStorageScheme(AmazonSimpleStorageService.SCHEME)
 public class AmazonSimpleStorageService implements StorageService {
 
+    static final String SCHEME = "s3";
+
+    private static final int LEADING_SLASH_OFFSET = 1;
+
     private final ResourceLoader resourceLoader;
+    private final AmazonS3 amazonS3;
     private final ResourcePatternResolver resourcePatternResolver;
     private final AsyncTaskExecutor executor;
+    private final AmazonS3MultipartUploader multipartUploader;
+    private final AmazonS3MetadataProbe metadataProbe;
+    private final long multipartUploadThreshold;
+    private final Duration presignedUrlExpiration;
 
     public AmazonSimpleStorageService(ResourceLoader resourceLoader, AmazonS3 amazonS3, ApplicationContext applicationContext,
-                                      @Qualifier("customizedThreadPoolExecutor") AsyncTaskExecutor executor) {
+                                      @Qualifier("customizedThreadPoolExecutor") AsyncTaskExecutor executor,
+                                      AmazonS3MultipartUploader multipartUploader,
+                                      AmazonS3MetadataProbe metadataProbe,
+                                      @Value("${app.storage.multipart.threshold}") DataSize multipartUploadThreshold,
+                                      @Value("${app.storage.presigned-url.expiration}") Duration presignedUrlExpiration) {
         this.resourceLoader = resourceLoader;
+        this.amazonS3 = amazonS3;
         this.resourcePatternResolver = new PathMatchingSimpleStorageResourcePatternResolver(amazonS3, applicationContext);
         this.executor = executor;
+        this.multipartUploader = multipartUploader;
+        this.metadataProbe = metadataProbe;
+        this.multipartUploadThreshold = multipartUploadThreshold.toBytes();
+        this.presignedUrlExpiration = presignedUrlExpiration;
     }
 
     @Override
@@ -53,11 +92,21 @@ public class AmazonSimpleStorageService implements StorageService {
         return new AbstractMap.SimpleEntry<>(url, resource);
     }
 
+    @Override
+    public Map<URI, ResourceMetadata> getResourcesMetadata(Collection<URI> urls) {
+        return metadataProbe.probe(urls);
+    }
+
     @Override
     public Resource getResource(URI url) {
         return resourceLoader.getResource(url.toString());
     }
 
+    @Override
+    public Resource getResource(URI url, ByteRange range) {
+        return new AmazonS3ObjectRangeResource(amazonS3, url, range);
+    }
+
     @Override
     public void saveResources(Map<URI, Resource> resourcesByUrl) {
         CompletableFuture<Void>[] uploadFutures = resourcesByUrl.entrySet().stream()
@@ -68,6 +117,10 @@ public class AmazonSimpleStorageService implements StorageService {
 
     @Override
     public void saveResource(Resource resourceToSave, URI url) {
+        if (isMultipartUploadRequired(resourceToSave)) {
+            saveResourceInParts(resourceToSave, url);
+            return;
+        }
         WritableResource s3Resource = (WritableResource) resourceLoader.getResource(url.toString());
         try (OutputStream outputStream = s3Resource.getOutputStream()) {
             resourceToSave.getInputStream().transferTo(outputStream);
@@ -77,6 +130,106 @@ public class AmazonSimpleStorageService implements StorageService {
         }
     }
 
+    @Override
+    public void saveResource(InputStream inputStream, URI url) {
+        multipartUploader.upload(inputStream, url);
+    }
+
+    @Override
+    public void moveResource(URI sourceUrl, URI targetUrl) {
+        amazonS3.copyObject(sourceUrl.getHost(), getKey(sourceUrl), targetUrl.getHost(), getKey(targetUrl));
+        amazonS3.deleteObject(sourceUrl.getHost(), getKey(sourceUrl));
+    }
+
+    @Override
+    public void deleteResources(Collection<URI> urls) {
+        urls.forEach(url -> amazonS3.deleteObject(url.getHost(), getKey(url)));
+    }
+
+    @Override
+    public String initiateMultipartUpload(URI url) {
+        return amazonS3.initiateMultipartUpload(new InitiateMultipartUploadRequest(url.getHost(), getKey(url))).getUploadId();
+    }
+
+    @Override
+    public String uploadPart(URI url, String uploadId, int partNumber, InputStream inputStream, long size, String md5Digest) {
+        UploadPartRequest request = new UploadPartRequest()
+                .withBucketName(url.getHost())
+                .withKey(getKey(url))
+                .withUploadId(uploadId)
+                .withPartNumber(partNumber)
+                .withPartSize(size)
+                .withMD5Digest(md5Digest)
+                .withInputStream(inputStream);
+        return amazonS3.uploadPart(request).getETag();
+    }
+
+    @Override
+    public void completeMultipartUpload(URI url, String uploadId, Map<Integer, String> eTagsByPartNumber) {
+        List<PartETag> partETags = eTagsByPartNumber.entrySet().stream()
+                .map(eTagByPartNumber -> new PartETag(eTagByPartNumber.getKey(), eTagByPartNumber.getValue()))
+                .sorted(Comparator.comparingInt(PartETag::getPartNumber))
+                .collect(Collectors.toList());
+        amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(url.getHost(), getKey(url), uploadId, partETags));
+    }
+
+    @Override
+    public void abortMultipartUpload(URI url, String uploadId) {
+        amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(url.getHost(), getKey(url), uploadId));
+    }
+
+    @Override
+    public PresignedUrl getPresignedUploadUrl(URI url, long size) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(url.getHost(), getKey(url), HttpMethod.PUT);
+        request.putCustomRequestHeader(Headers.CONTENT_LENGTH, String.valueOf(size));
+        return generatePresignedUrl(request);
+    }
+
+    @Override
+    public PresignedUrl getPresignedDownloadUrl(URI url, String filename, ContentCodec codec) {
+        ResponseHeaderOverrides responseHeaders = new ResponseHeaderOverrides()
+                .withContentDisposition("attachment; filename=\"" + filename + "\"");
+        if (codec != ContentCodec.NONE) {
+            responseHeaders.setContentEncoding(codec.getContentEncoding());
+        }
+        return generatePresignedUrl(new GeneratePresignedUrlRequest(url.getHost(), getKey(url), HttpMethod.GET)
+                .withResponseHeaders(responseHeaders));
+    }
+
+    private PresignedUrl generatePresignedUrl(GeneratePresignedUrlRequest request) {
+        Instant expiresAt = Instant.now().plus(presignedUrlExpiration);
+        URL presignedUrl = amazonS3.generatePresignedUrl(request.withExpiration(Date.from(expiresAt)));
+        try {
+            return new PresignedUrl(presignedUrl.toURI(), expiresAt);
+        } catch (URISyntaxException exception) {
+            throw new IllegalArgumentAppException("Error during generating presigned url: ", exception);
+        }
+    }
+
+    private String getKey(URI url) {
+        return url.getPath().substring(LEADING_SLASH_OFFSET);
+    }
+
+    private boolean isMultipartUploadRequired(Resource resource) {
+        if (resource instanceof InputStreamResource || resource instanceof CompressedResource) {
+            return true;
+        }
+        try {
+            return resource.contentLength() > multipartUploadThreshold;
+        } catch (IOException exception) {
+            return false;
+        }
+    }
+
+    private void saveResourceInParts(Resource resourceToSave, URI url) {
+        try (InputStream inputStream = resourceToSave.getInputStream()) {
+            multipartUploader.upload(inputStream, url);
+        } catch (IOException exception) {
+            log.error("Cannot upload file: ", exception);
+            throw new IllegalArgumentAppException("Error during file upload: ", exception);
+        }
+    }
+
     public List<Resource> getResourcesUnderPath(String s3UrlPattern) throws IOException {
         return Arrays.asList(this.resourcePatternResolver.getResources(s3UrlPattern));
     }
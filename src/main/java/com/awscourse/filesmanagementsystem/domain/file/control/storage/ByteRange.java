@@ -0,0 +1,15 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import lombok.Data;
+
+@Data
+public class ByteRange {
+
+    private final long start;
+    private final long end;
+
+    public long getLength() {
+        return end - start + 1;
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Slf4j
+class CacheFillingInputStream extends FilterInputStream {
+
+    private final URI url;
+    private final Path partialCopy;
+    private final long maxSize;
+    private final CachingStorageService storageService;
+    private OutputStream copyOutputStream;
+    private long copiedBytes;
+    private boolean exhausted;
+
+    CacheFillingInputStream(InputStream inputStream, URI url, Path partialCopy, long maxSize, CachingStorageService storageService) throws IOException {
+        super(inputStream);
+        this.url = url;
+        this.partialCopy = partialCopy;
+        this.maxSize = maxSize;
+        this.storageService = storageService;
+        this.copyOutputStream = Files.newOutputStream(partialCopy);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value == -1) {
+            exhausted = true;
+        } else {
+            copy(new byte[]{(byte) value}, 0, 1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int count = super.read(buffer, offset, length);
+        if (count == -1) {
+            exhausted = true;
+        } else {
+            copy(buffer, offset, count);
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        abandonCopy();
+        return super.skip(count);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            completeCopy();
+        }
+    }
+
+    private void copy(byte[] buffer, int offset, int length) {
+        if (copyOutputStream == null) {
+            return;
+        }
+        copiedBytes += length;
+        if (copiedBytes > maxSize) {
+            abandonCopy();
+            return;
+        }
+        try {
+            copyOutputStream.write(buffer, offset, length);
+        } catch (IOException exception) {
+            log.warn("Cannot cache resource {}, reading it directly from storage", url, exception);
+            abandonCopy();
+        }
+    }
+
+    private void completeCopy() {
+        if (copyOutputStream == null) {
+            return;
+        }
+        if (!exhausted) {
+            abandonCopy();
+        } else if (closeCopy()) {
+            storageService.completeCachedCopy(url, this, partialCopy);
+        } else {
+            storageService.abandonCachedCopy(url, this, partialCopy);
+        }
+    }
+
+    void abandonCopy() {
+        if (copyOutputStream != null) {
+            closeCopy();
+            storageService.abandonCachedCopy(url, this, partialCopy);
+        }
+    }
+
+    private boolean closeCopy() {
+        try {
+            copyOutputStream.close();
+            return true;
+        } catch (IOException exception) {
+            log.warn("Cannot cache resource {}", url, exception);
+            return false;
+        } finally {
+            copyOutputStream = null;
+        }
+    }
+
+}
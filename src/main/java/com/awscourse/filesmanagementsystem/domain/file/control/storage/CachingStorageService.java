@@ -0,0 +1,266 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentCodec;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Slf4j
+@Primary
+@Component
+@ConditionalOnStorageScheme(AmazonSimpleStorageService.SCHEME)
+@ConditionalOnProperty(value = "app.storage.cache.enabled", havingValue = "true")
+public class CachingStorageService implements StorageService {
+
+    private static final String CACHE_NAME = "storage";
+    private static final String CACHED_FILE_SUFFIX = ".cache";
+    private static final String PARTIAL_FILE_SUFFIX = ".partial";
+
+    private final StorageService delegate;
+    private final Path directory;
+    private final long maxObjectSize;
+    private final Cache<URI, Path> cache;
+    private final ConcurrentMap<URI, CacheFillingInputStream> fillsByUrl = new ConcurrentHashMap<>();
+
+    public CachingStorageService(@Qualifier("AmazonSimpleStorageService") StorageService delegate,
+                                 @Value("${app.storage.cache.directory}") Path directory,
+                                 @Value("${app.storage.cache.max-size}") DataSize maxSize,
+                                 @Value("${app.storage.cache.max-object-size}") DataSize maxObjectSize,
+                                 MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.directory = prepareDirectory(directory);
+        this.maxObjectSize = Math.min(maxObjectSize.toBytes(), Integer.MAX_VALUE);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((URI url, Path path) -> (int) path.toFile().length())
+                .removalListener((URI url, Path path, RemovalCause cause) -> deleteCachedCopy(path))
+                .recordStats()
+                .build();
+        registerMetrics(meterRegistry);
+    }
+
+    private Path prepareDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, "*{" + CACHED_FILE_SUFFIX + "," + PARTIAL_FILE_SUFFIX + "}")) {
+                for (Path leftover : leftovers) {
+                    Files.deleteIfExists(leftover);
+                }
+            }
+            return directory;
+        } catch (IOException exception) {
+            throw new IllegalArgumentAppException("Cannot prepare storage cache directory: ", exception);
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("storage.cache.bytes", cache, this::getWeightedSize)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("storage.cache.hit.ratio", cache, cachedObjects -> cachedObjects.stats().hitRate())
+                .register(meterRegistry);
+    }
+
+    private long getWeightedSize(Cache<URI, Path> cachedObjects) {
+        cachedObjects.cleanUp();
+        return cachedObjects.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    @Override
+    public Resource getResource(URI url) {
+        return new ReadThroughResource(url, delegate.getResource(url), this);
+    }
+
+    @Override
+    public Resource getResource(URI url, ByteRange range) {
+        return findCachedCopy(url)
+                .<Resource>map(cachedCopy -> new FileRangeResource(cachedCopy, range))
+                .orElseGet(() -> delegate.getResource(url, range));
+    }
+
+    @Override
+    public Map<URI, Resource> getResources(Collection<URI> urls) {
+        return TransformUtils.transformToMap(delegate.getResources(urls).entrySet(), Map.Entry::getKey,
+                urlAndResource -> new ReadThroughResource(urlAndResource.getKey(), urlAndResource.getValue(), this));
+    }
+
+    @Override
+    public Map<URI, ResourceMetadata> getResourcesMetadata(Collection<URI> urls) {
+        return delegate.getResourcesMetadata(urls);
+    }
+
+    @Override
+    public String initiateMultipartUpload(URI url) {
+        return delegate.initiateMultipartUpload(url);
+    }
+
+    @Override
+    public String uploadPart(URI url, String uploadId, int partNumber, InputStream inputStream, long size, String md5Digest) {
+        return delegate.uploadPart(url, uploadId, partNumber, inputStream, size, md5Digest);
+    }
+
+    @Override
+    public void completeMultipartUpload(URI url, String uploadId, Map<Integer, String> eTagsByPartNumber) {
+        delegate.completeMultipartUpload(url, uploadId, eTagsByPartNumber);
+        invalidate(List.of(url));
+    }
+
+    @Override
+    public void abortMultipartUpload(URI url, String uploadId) {
+        delegate.abortMultipartUpload(url, uploadId);
+    }
+
+    @Override
+    public PresignedUrl getPresignedUploadUrl(URI url, long size) {
+        return delegate.getPresignedUploadUrl(url, size);
+    }
+
+    @Override
+    public PresignedUrl getPresignedDownloadUrl(URI url, String filename, ContentCodec codec) {
+        return delegate.getPresignedDownloadUrl(url, filename, codec);
+    }
+
+    Optional<Path> findCachedCopy(URI url) {
+        return Optional.ofNullable(cache.asMap().get(url))
+                .filter(Files::exists);
+    }
+
+    InputStream getInputStream(URI url, Resource resource) throws IOException {
+        Path cachedCopy = cache.getIfPresent(url);
+        if (cachedCopy != null) {
+            try {
+                return Files.newInputStream(cachedCopy);
+            } catch (NoSuchFileException exception) {
+                cache.invalidate(url);
+            }
+        }
+        if (!isCacheable(url, resource)) {
+            return resource.getInputStream();
+        }
+        return fillCachedCopy(url, resource.getInputStream());
+    }
+
+    private boolean isCacheable(URI url, Resource resource) {
+        try {
+            return resource.contentLength() <= maxObjectSize;
+        } catch (IOException exception) {
+            log.warn("Cannot determine size of resource {}, reading it directly from storage", url, exception);
+            return false;
+        }
+    }
+
+    private InputStream fillCachedCopy(URI url, InputStream inputStream) {
+        Path partialCopy = directory.resolve(UUID.randomUUID() + PARTIAL_FILE_SUFFIX);
+        CacheFillingInputStream fillingInputStream;
+        try {
+            fillingInputStream = new CacheFillingInputStream(inputStream, url, partialCopy, maxObjectSize, this);
+        } catch (IOException exception) {
+            log.warn("Cannot cache resource {}, reading it directly from storage", url, exception);
+            return inputStream;
+        }
+        if (fillsByUrl.putIfAbsent(url, fillingInputStream) != null) {
+            fillingInputStream.abandonCopy();
+            return inputStream;
+        }
+        return fillingInputStream;
+    }
+
+    void completeCachedCopy(URI url, CacheFillingInputStream fillingInputStream, Path partialCopy) {
+        if (!fillsByUrl.remove(url, fillingInputStream)) {
+            deleteCachedCopy(partialCopy);
+            return;
+        }
+        Path cachedCopy = directory.resolve(UUID.randomUUID() + CACHED_FILE_SUFFIX);
+        try {
+            Files.move(partialCopy, cachedCopy, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            log.warn("Cannot cache resource {}", url, exception);
+            deleteCachedCopy(partialCopy);
+            return;
+        }
+        if (cache.asMap().putIfAbsent(url, cachedCopy) != null) {
+            deleteCachedCopy(cachedCopy);
+        }
+    }
+
+    void abandonCachedCopy(URI url, CacheFillingInputStream fillingInputStream, Path partialCopy) {
+        fillsByUrl.remove(url, fillingInputStream);
+        deleteCachedCopy(partialCopy);
+    }
+
+    private void deleteCachedCopy(Path cachedCopy) {
+        try {
+            Files.deleteIfExists(cachedCopy);
+        } catch (IOException exception) {
+            log.warn("Cannot delete cached copy {}", cachedCopy, exception);
+        }
+    }
+
+    @Override
+    public void saveResource(Resource resource, URI url) {
+        delegate.saveResource(resource, url);
+        invalidate(List.of(url));
+    }
+
+    @Override
+    public void saveResources(Map<URI, Resource> resourcesByUrl) {
+        delegate.saveResources(resourcesByUrl);
+        invalidate(resourcesByUrl.keySet());
+    }
+
+    @Override
+    public void saveResource(InputStream inputStream, URI url) {
+        delegate.saveResource(inputStream, url);
+        invalidate(List.of(url));
+    }
+
+    @Override
+    public void moveResource(URI sourceUrl, URI targetUrl) {
+        delegate.moveResource(sourceUrl, targetUrl);
+        invalidate(List.of(sourceUrl, targetUrl));
+    }
+
+    @Override
+    public void deleteResources(Collection<URI> urls) {
+        delegate.deleteResources(urls);
+        invalidate(urls);
+    }
+
+    private void invalidate(Collection<URI> urls) {
+        fillsByUrl.keySet().removeAll(urls);
+        cache.invalidateAll(urls);
+    }
+
+}
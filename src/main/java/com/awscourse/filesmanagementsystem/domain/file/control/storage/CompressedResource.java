@@ -0,0 +1,40 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentCodec;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public class CompressedResource extends AbstractResource {
+
+    private final Resource resource;
+    private final ContentCodec codec;
+
+    public CompressedResource(Resource resource, ContentCodec codec) {
+        this.resource = resource;
+        this.codec = codec;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return ContentCodecStreams.encode(codec, resource.getInputStream());
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        throw new IOException("Length of compressed content is not known before it is written");
+    }
+
+    @Override
+    public String getFilename() {
+        return resource.getFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return codec.getContentEncoding() + " compressed [" + resource.getDescription() + "]";
+    }
+
+}
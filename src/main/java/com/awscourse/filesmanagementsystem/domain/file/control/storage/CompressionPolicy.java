@@ -0,0 +1,38 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class CompressionPolicy {
+
+    private final boolean enabled;
+    private final List<MediaType> compressibleMediaTypes;
+
+    public CompressionPolicy(@Value("${app.storage.compression.enabled}") boolean enabled,
+                             @Value("${app.storage.compression.media-types}") List<MediaType> compressibleMediaTypes) {
+        this.enabled = enabled;
+        this.compressibleMediaTypes = compressibleMediaTypes;
+    }
+
+    public ContentCodec getCodec(String filename) {
+        if (!enabled || filename == null) {
+            return ContentCodec.NONE;
+        }
+        return MediaTypeFactory.getMediaType(filename)
+                .filter(this::isCompressible)
+                .map(mediaType -> ContentCodec.GZIP)
+                .orElse(ContentCodec.NONE);
+    }
+
+    private boolean isCompressible(MediaType mediaType) {
+        return compressibleMediaTypes.stream()
+                .anyMatch(compressibleMediaType -> compressibleMediaType.includes(mediaType));
+    }
+
+}
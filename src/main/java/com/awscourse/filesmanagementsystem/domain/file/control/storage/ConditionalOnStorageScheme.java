@@ -0,0 +1,19 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Conditional(OnStorageSchemeCondition.class)
+public @interface ConditionalOnStorageScheme {
+
+    String value();
+
+}
@@ -0,0 +1,28 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentCodec;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+@UtilityClass
+public class ContentCodecStreams {
+
+    public static InputStream encode(ContentCodec codec, InputStream inputStream) {
+        if (codec == ContentCodec.GZIP) {
+            return new GzipCompressingInputStream(inputStream, Deflater.DEFAULT_COMPRESSION);
+        }
+        return inputStream;
+    }
+
+    public static InputStream decode(ContentCodec codec, InputStream inputStream) throws IOException {
+        if (codec == ContentCodec.GZIP) {
+            return new GZIPInputStream(inputStream);
+        }
+        return inputStream;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class FileRangeResource extends AbstractResource {
+
+    private final Path path;
+    private final ByteRange range;
+
+    public FileRangeResource(Path path, ByteRange range) {
+        this.path = path;
+        this.range = range;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public ByteRange getRange() {
+        return range;
+    }
+
+    @Override
+    public boolean exists() {
+        return Files.exists(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        channel.position(range.getStart());
+        return new BoundedInputStream(Channels.newInputStream(channel), range.getLength());
+    }
+
+    @Override
+    public long contentLength() {
+        return range.getLength();
+    }
+
+    @Override
+    public String getFilename() {
+        return path.getFileName().toString();
+    }
+
+    @Override
+    public String getDescription() {
+        return "file range [" + path + ", bytes " + range.getStart() + "-" + range.getEnd() + "]";
+    }
+
+}
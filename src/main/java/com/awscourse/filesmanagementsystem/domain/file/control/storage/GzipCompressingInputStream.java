@@ -0,0 +1,82 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterInputStream;
+
+class GzipCompressingInputStream extends SequenceInputStream {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int TRAILER_LENGTH = 8;
+
+    private final Deflater deflater;
+
+    GzipCompressingInputStream(InputStream inputStream, int level) {
+        this(new GzipMembers(inputStream, new Deflater(level, true)));
+    }
+
+    private GzipCompressingInputStream(GzipMembers members) {
+        super(members);
+        this.deflater = members.deflater;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static class GzipMembers implements Enumeration<InputStream> {
+
+        private final CRC32 checksum = new CRC32();
+        private final CheckedInputStream checkedInputStream;
+        private final Deflater deflater;
+        private int index;
+
+        private GzipMembers(InputStream inputStream, Deflater deflater) {
+            this.checkedInputStream = new CheckedInputStream(inputStream, checksum);
+            this.deflater = deflater;
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return index < 3;
+        }
+
+        @Override
+        public InputStream nextElement() {
+            switch (index++) {
+                case 0:
+                    return new ByteArrayInputStream(HEADER);
+                case 1:
+                    return new DeflaterInputStream(checkedInputStream, deflater);
+                case 2:
+                    return new ByteArrayInputStream(getTrailer());
+                default:
+                    throw new NoSuchElementException();
+            }
+        }
+
+        private byte[] getTrailer() {
+            return ByteBuffer.allocate(TRAILER_LENGTH)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt((int) checksum.getValue())
+                    .putInt((int) deflater.getBytesRead())
+                    .array();
+        }
+
+    }
+
+}
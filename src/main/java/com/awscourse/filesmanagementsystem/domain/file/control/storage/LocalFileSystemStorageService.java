@@ -0,0 +1,302 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentCodec;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.text.MessageFormat;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component("LocalFileSystemStorageService")
+@ConditionalOnStorageScheme(LocalFileSystemStorageService.SCHEME)
+public class LocalFileSystemStorageService implements StorageService {
+
+    static final String SCHEME = "file";
+
+    private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+    private static final String TEMPORARY_FILE_PREFIX = ".upload-";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final String MULTIPART_UPLOADS_DIRECTORY = ".multipart";
+    private static final String PART_FILE_SUFFIX = ".part";
+
+    private final Path rootDirectory;
+    private final AsyncTaskExecutor executor;
+
+    public LocalFileSystemStorageService(@Value("${app.storage}") URI baseUrl,
+                                         @Qualifier("customizedThreadPoolExecutor") AsyncTaskExecutor executor) {
+        this.rootDirectory = Paths.get(baseUrl).toAbsolutePath().normalize();
+        this.executor = executor;
+    }
+
+    @Override
+    public Resource getResource(URI url) {
+        return new FileSystemResource(getPath(url));
+    }
+
+    @Override
+    public Resource getResource(URI url, ByteRange range) {
+        return new FileRangeResource(getPath(url), range);
+    }
+
+    @Override
+    public Map<URI, Resource> getResources(Collection<URI> urls) {
+        return TransformUtils.transformToMap(urls, Function.identity(), this::getResource);
+    }
+
+    @Override
+    public Map<URI, ResourceMetadata> getResourcesMetadata(Collection<URI> urls) {
+        return urls.stream()
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(), this::getResourceMetadata));
+    }
+
+    private ResourceMetadata getResourceMetadata(URI url) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(getPath(url), BasicFileAttributes.class);
+            return new ResourceMetadata(true, attributes.size(), getETag(attributes));
+        } catch (NoSuchFileException exception) {
+            return ResourceMetadata.nonExisting();
+        } catch (IOException exception) {
+            throw new IllegalArgumentAppException("Error during reading file attributes: ", exception);
+        }
+    }
+
+    private String getETag(BasicFileAttributes attributes) {
+        return Long.toHexString(attributes.lastModifiedTime().toMillis()) + "-" + Long.toHexString(attributes.size());
+    }
+
+    @Override
+    public void saveResource(Resource resource, URI url) {
+        if (resource.isFile()) {
+            saveFile(resource, url);
+            return;
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            saveResource(inputStream, url);
+        } catch (IOException exception) {
+            log.error("Cannot upload file: ", exception);
+            throw new IllegalArgumentAppException("Error during file upload: ", exception);
+        }
+    }
+
+    private void saveFile(Resource resource, URI url) {
+        try (FileChannel sourceChannel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+            write(sourceChannel, getPath(url));
+        } catch (IOException exception) {
+            log.error("Cannot upload file: ", exception);
+            throw new IllegalArgumentAppException("Error during file upload: ", exception);
+        }
+    }
+
+    @Override
+    public void saveResources(Map<URI, Resource> resourcesByUrl) {
+        CompletableFuture<Void>[] uploadFutures = resourcesByUrl.entrySet().stream()
+                .map(fileByPath -> CompletableFuture.runAsync(() -> saveResource(fileByPath.getValue(), fileByPath.getKey()), executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(uploadFutures).join();
+    }
+
+    @Override
+    public void saveResource(InputStream inputStream, URI url) {
+        try {
+            write(Channels.newChannel(inputStream), getPath(url));
+        } catch (IOException exception) {
+            log.error("Cannot upload file: ", exception);
+            throw new IllegalArgumentAppException("Error during file upload: ", exception);
+        }
+    }
+
+    @Override
+    public void moveResource(URI sourceUrl, URI targetUrl) {
+        Path target = getPath(targetUrl);
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(getPath(sourceUrl), target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException exception) {
+            log.error("Cannot move file: ", exception);
+            throw new IllegalArgumentAppException("Error during moving file: ", exception);
+        }
+    }
+
+    @Override
+    public void deleteResources(Collection<URI> urls) {
+        urls.forEach(this::deleteResource);
+    }
+
+    private void deleteResource(URI url) {
+        deleteResource(getPath(url));
+    }
+
+    private void deleteResource(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException exception) {
+            log.error("Cannot delete file: ", exception);
+            throw new IllegalArgumentAppException("Error during deleting file: ", exception);
+        }
+    }
+
+    @Override
+    public String initiateMultipartUpload(URI url) {
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Files.createDirectories(getMultipartUploadDirectory(uploadId));
+        } catch (IOException exception) {
+            log.error("Cannot initiate multipart upload: ", exception);
+            throw new IllegalArgumentAppException("Error during initiating multipart upload: ", exception);
+        }
+        return uploadId;
+    }
+
+    @Override
+    public String uploadPart(URI url, String uploadId, int partNumber, InputStream inputStream, long size, String md5Digest) {
+        Path part = getMultipartUploadDirectory(uploadId).resolve(partNumber + PART_FILE_SUFFIX);
+        MessageDigest messageDigest = DigestUtils.getMd5Digest();
+        try {
+            write(Channels.newChannel(new DigestInputStream(new BoundedInputStream(inputStream, size), messageDigest)), part);
+        } catch (IOException exception) {
+            log.error("Cannot upload part: ", exception);
+            throw new IllegalArgumentAppException("Error during part upload: ", exception);
+        }
+        byte[] digest = messageDigest.digest();
+        if (md5Digest != null && !Base64.getEncoder().encodeToString(digest).equals(md5Digest)) {
+            deleteResource(part);
+            throw new IllegalArgumentAppException(MessageFormat.format("Checksum of part {0} does not match", partNumber));
+        }
+        return Hex.encodeHexString(digest);
+    }
+
+    @Override
+    public void completeMultipartUpload(URI url, String uploadId, Map<Integer, String> eTagsByPartNumber) {
+        Path multipartUploadDirectory = getMultipartUploadDirectory(uploadId);
+        List<Path> parts = eTagsByPartNumber.keySet().stream()
+                .sorted()
+                .map(partNumber -> multipartUploadDirectory.resolve(partNumber + PART_FILE_SUFFIX))
+                .collect(Collectors.toList());
+        Path target = getPath(url);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temporaryFile = Files.createTempFile(target.getParent(), TEMPORARY_FILE_PREFIX, TEMPORARY_FILE_SUFFIX);
+            try {
+                concatenate(parts, temporaryFile);
+                Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException exception) {
+            log.error("Cannot complete multipart upload: ", exception);
+            throw new IllegalArgumentAppException("Error during completing multipart upload: ", exception);
+        }
+        abortMultipartUpload(url, uploadId);
+    }
+
+    private void concatenate(List<Path> parts, Path target) throws IOException {
+        try (FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            for (Path part : parts) {
+                try (FileChannel partChannel = FileChannel.open(part, StandardOpenOption.READ)) {
+                    transfer(partChannel, targetChannel, targetChannel.size());
+                }
+            }
+            targetChannel.force(false);
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(URI url, String uploadId) {
+        try {
+            FileSystemUtils.deleteRecursively(getMultipartUploadDirectory(uploadId));
+        } catch (IOException exception) {
+            log.error("Cannot abort multipart upload: ", exception);
+            throw new IllegalArgumentAppException("Error during aborting multipart upload: ", exception);
+        }
+    }
+
+    private Path getMultipartUploadDirectory(String uploadId) {
+        Path multipartUploadDirectory = rootDirectory.resolve(MULTIPART_UPLOADS_DIRECTORY).resolve(uploadId).normalize();
+        if (!multipartUploadDirectory.getParent().equals(rootDirectory.resolve(MULTIPART_UPLOADS_DIRECTORY))) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Invalid multipart upload id {0}", uploadId));
+        }
+        return multipartUploadDirectory;
+    }
+
+    @Override
+    public PresignedUrl getPresignedUploadUrl(URI url, long size) {
+        throw new IllegalArgumentAppException("Presigned urls are not supported by local file system storage");
+    }
+
+    @Override
+    public PresignedUrl getPresignedDownloadUrl(URI url, String filename, ContentCodec codec) {
+        throw new IllegalArgumentAppException("Presigned urls are not supported by local file system storage");
+    }
+
+    private void write(ReadableByteChannel sourceChannel, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temporaryFile = Files.createTempFile(target.getParent(), TEMPORARY_FILE_PREFIX, TEMPORARY_FILE_SUFFIX);
+        try {
+            try (FileChannel targetChannel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                transfer(sourceChannel, targetChannel);
+                targetChannel.force(false);
+            }
+            Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private void transfer(ReadableByteChannel sourceChannel, FileChannel targetChannel) throws IOException {
+        transfer(sourceChannel, targetChannel, 0);
+    }
+
+    private void transfer(ReadableByteChannel sourceChannel, FileChannel targetChannel, long position) throws IOException {
+        long transferred;
+        while ((transferred = targetChannel.transferFrom(sourceChannel, position, TRANSFER_CHUNK_SIZE)) > 0) {
+            position += transferred;
+        }
+    }
+
+    private Path getPath(URI url) {
+        if (!SCHEME.equalsIgnoreCase(url.getScheme())) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Url {0} does not point to local storage", url));
+        }
+        Path path = Paths.get(url).toAbsolutePath().normalize();
+        if (!path.startsWith(rootDirectory)) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Url {0} points outside of local storage", url));
+        }
+        return path;
+    }
+
+}
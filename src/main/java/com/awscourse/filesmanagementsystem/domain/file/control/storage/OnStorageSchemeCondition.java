@@ -0,0 +1,25 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+
+class OnStorageSchemeCondition implements Condition {
+
+    private static final String STORAGE_PROPERTY = "app.storage";
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnStorageScheme.class.getName());
+        String requiredScheme = (String) attributes.get("value");
+        return Optional.ofNullable(context.getEnvironment().getProperty(STORAGE_PROPERTY))
+                .map(storageUrl -> URI.create(storageUrl).getScheme())
+                .filter(requiredScheme::equalsIgnoreCase)
+                .isPresent();
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import lombok.Data;
+
+import java.net.URI;
+import java.time.Instant;
+
+@Data
+public class PresignedUrl {
+
+    private final URI url;
+    private final Instant expiresAt;
+
+}
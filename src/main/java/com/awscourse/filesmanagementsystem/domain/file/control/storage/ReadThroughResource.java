@@ -0,0 +1,53 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+
+class ReadThroughResource extends AbstractResource {
+
+    private final URI url;
+    private final Resource resource;
+    private final CachingStorageService storageService;
+
+    ReadThroughResource(URI url, Resource resource, CachingStorageService storageService) {
+        this.url = url;
+        this.resource = resource;
+        this.storageService = storageService;
+    }
+
+    @Override
+    public boolean exists() {
+        return storageService.findCachedCopy(url).isPresent() || resource.exists();
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        Optional<Path> cachedCopy = storageService.findCachedCopy(url);
+        if (cachedCopy.isPresent()) {
+            return cachedCopy.get().toFile().length();
+        }
+        return resource.contentLength();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return storageService.getInputStream(url, resource);
+    }
+
+    @Override
+    public String getFilename() {
+        return resource.getFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return resource.getDescription();
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage;
+
+import lombok.Data;
+
+@Data
+public class ResourceMetadata {
+
+    private static final ResourceMetadata NON_EXISTING = new ResourceMetadata(false, 0, null);
+
+    private final boolean exists;
+    private final long size;
+    private final String eTag;
+
+    public static ResourceMetadata nonExisting() {
+        return NON_EXISTING;
+    }
+
+}
@@ -1,9 +1,11 @@
 package com.awscourse.filesmanagementsystem.domain.file.control.storage;
 
 
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentCodec;
 import org.springframework.core.io.Resource;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Map;
@@ -13,10 +15,32 @@ public interface StorageService {
 
     Resource getResource(URI url);
 
+    Resource getResource(URI url, ByteRange range);
+
     Map<URI, Resource> getResources(Collection<URI> url);
 
+    Map<URI, ResourceMetadata> getResourcesMetadata(Collection<URI> urls);
+
     void saveResource(Resource resource, URI url);
 
     void saveResources(Map<URI, Resource> resourcesByUrl);
 
+    void saveResource(InputStream inputStream, URI url);
+
+    void moveResource(URI sourceUrl, URI targetUrl);
+
+    void deleteResources(Collection<URI> urls);
+
+    String initiateMultipartUpload(URI url);
+
+    String uploadPart(URI url, String uploadId, int partNumber, InputStream inputStream, long size, String md5Digest);
+
+    void completeMultipartUpload(URI url, String uploadId, Map<Integer, String> eTagsByPartNumber);
+
+    void abortMultipartUpload(URI url, String uploadId);
+
+    PresignedUrl getPresignedUploadUrl(URI url, long size);
+
+    PresignedUrl getPresignedDownloadUrl(URI url, String filename, ContentCodec codec);
+
 }
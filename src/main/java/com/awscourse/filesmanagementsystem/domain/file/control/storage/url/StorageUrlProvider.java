@@ -0,0 +1,78 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.storage.url;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class StorageUrlProvider implements UrlProvider {
+
+    private static final String CONTENT_PATH = "content";
+    private static final String STAGING_PATH = "staging";
+    private static final String DIRECT_UPLOAD_PATH = "direct";
+    private static final String ARCHIVE_PATH = "archives";
+    private static final String ARCHIVE_EXTENSION = ".zip";
+
+    private final String baseUrl;
+    public StorageUrlProvider(@Value("${app.storage}") String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public URI getUrlForContent(String contentHash, String filename) {
+        return getUrl(CONTENT_PATH, contentHash + "-" + UUID.randomUUID().toString() + getExtensionFilenamePart(filename));
+    }
+
+    @Override
+    public URI getStagingUrl(String filename) {
+        return getUrl(STAGING_PATH, UUID.randomUUID().toString() + getExtensionFilenamePart(filename));
+    }
+
+    @Override
+    public URI getDirectUploadUrl(String filename) {
+        return getUrl(DIRECT_UPLOAD_PATH, UUID.randomUUID().toString() + getExtensionFilenamePart(filename));
+    }
+
+    @Override
+    public boolean isDirectUploadUrl(URI url) {
+        return isUrlInDirectory(url, DIRECT_UPLOAD_PATH);
+    }
+
+    @Override
+    public boolean isContentUrl(URI url) {
+        return isUrlInDirectory(url, CONTENT_PATH) || isDirectUploadUrl(url);
+    }
+
+    private boolean isUrlInDirectory(URI url, String directory) {
+        return url.normalize().toString().startsWith(getUrl(directory, "") + "/");
+    }
+
+    @Override
+    public URI getArchiveUrl() {
+        return getUrl(ARCHIVE_PATH, UUID.randomUUID().toString() + ARCHIVE_EXTENSION);
+    }
+
+    private URI getUrl(String directory, String fileIdentifier) {
+        return UriComponentsBuilder.fromUriString(baseUrl)
+                .pathSegment(directory)
+                .pathSegment(fileIdentifier)
+                .build()
+                .toUri();
+    }
+
+    private String getExtensionFilenamePart(String filename) {
+        return Optional.ofNullable(FilenameUtils.getExtension(filename))
+                .filter(StringUtils::isNoneEmpty)
+                .map(extension -> "." + extension)
+                .orElse("");
+    }
+
+}
@@ -1,11 +1,19 @@
 package com.awscourse.filesmanagementsystem.domain.file.control.storage.url;
 
-import org.springframework.core.io.Resource;
-
 import java.net.URI;
 
 public interface UrlProvider {
 
-    URI getUrlForResource(Resource resource, String relativePath);
+    URI getUrlForContent(String contentHash, String filename);
+
+    URI getStagingUrl(String filename);
+
+    URI getDirectUploadUrl(String filename);
+
+    boolean isDirectUploadUrl(URI url);
+
+    boolean isContentUrl(URI url);
+
+    URI getArchiveUrl();
 
 }
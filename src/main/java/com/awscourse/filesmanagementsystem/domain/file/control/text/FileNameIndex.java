@@ -0,0 +1,183 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.text;
+
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Component
+public class FileNameIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    private Segment rebuiltSegment;
+    private Instant syncedAt;
+    private boolean ready;
+
+    public void index(Collection<File> files) {
+        lock.writeLock().lock();
+        try {
+            for (File file : files) {
+                String normalizedName = TextAnalyzer.normalize(file.getName());
+                segment.put(file.getId(), normalizedName);
+                if (rebuiltSegment != null) {
+                    rebuiltSegment.put(file.getId(), normalizedName);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<Long> fileIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long fileId : fileIds) {
+                segment.delete(fileId);
+                if (rebuiltSegment != null) {
+                    rebuiltSegment.delete(fileId);
+                    rebuiltSegment.removedFileIds.add(fileId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Set<Long>> findFileIdsWithNameContaining(String text, int maxResults) {
+        String normalizedText = TextAnalyzer.normalize(text);
+        if (normalizedText.length() < GRAM_LENGTH) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+            return segment.findFileIdsWithNameContaining(normalizedText, maxResults);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Instant> getSyncedAt() {
+        lock.readLock().lock();
+        try {
+            return ready ? Optional.of(syncedAt) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Rebuild rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuiltSegment = new Segment();
+            return new Rebuild(rebuiltSegment, Instant.now());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Set<String> getGrams(String normalizedText) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalizedText.length(); i++) {
+            grams.add(normalizedText.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    public class Rebuild {
+
+        private final Segment pendingSegment;
+        private final Instant startedAt;
+
+        private Rebuild(Segment pendingSegment, Instant startedAt) {
+            this.pendingSegment = pendingSegment;
+            this.startedAt = startedAt;
+        }
+
+        public void index(Collection<File> files) {
+            lock.writeLock().lock();
+            try {
+                files.forEach(file -> pendingSegment.putIfAbsent(file.getId(), TextAnalyzer.normalize(file.getName())));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        public void complete() {
+            lock.writeLock().lock();
+            try {
+                if (rebuiltSegment == pendingSegment) {
+                    pendingSegment.removedFileIds.clear();
+                    segment = pendingSegment;
+                    rebuiltSegment = null;
+                    syncedAt = startedAt;
+                    ready = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+    }
+
+    private static class Segment {
+
+        private final Map<Long, String> namesByFileId = new HashMap<>();
+        private final Map<String, Set<Long>> fileIdsByGram = new HashMap<>();
+        private final Set<Long> removedFileIds = new HashSet<>();
+
+        private void put(Long fileId, String normalizedName) {
+            delete(fileId);
+            namesByFileId.put(fileId, normalizedName);
+            getGrams(normalizedName).forEach(gram -> fileIdsByGram.computeIfAbsent(gram, unused -> new HashSet<>()).add(fileId));
+        }
+
+        private void putIfAbsent(Long fileId, String normalizedName) {
+            if (!namesByFileId.containsKey(fileId) && !removedFileIds.contains(fileId)) {
+                put(fileId, normalizedName);
+            }
+        }
+
+        private void delete(Long fileId) {
+            String normalizedName = namesByFileId.remove(fileId);
+            if (normalizedName == null) {
+                return;
+            }
+            getGrams(normalizedName).forEach(gram -> fileIdsByGram.computeIfPresent(gram, (unused, fileIds) -> {
+                fileIds.remove(fileId);
+                return fileIds.isEmpty() ? null : fileIds;
+            }));
+        }
+
+        private Optional<Set<Long>> findFileIdsWithNameContaining(String normalizedText, int maxResults) {
+            List<Set<Long>> candidateSets = getGrams(normalizedText).stream()
+                    .map(gram -> fileIdsByGram.getOrDefault(gram, Set.of()))
+                    .sorted(Comparator.comparingInt(Set::size))
+                    .collect(Collectors.toList());
+            Set<Long> fileIds = candidateSets.get(0).stream()
+                    .filter(fileId -> candidateSets.stream().skip(1).allMatch(candidates -> candidates.contains(fileId)))
+                    .filter(fileId -> namesByFileId.get(fileId).contains(normalizedText))
+                    .limit(maxResults + 1L)
+                    .collect(Collectors.toSet());
+            return fileIds.size() > maxResults ? Optional.empty() : Optional.of(fileIds);
+        }
+
+    }
+
+}
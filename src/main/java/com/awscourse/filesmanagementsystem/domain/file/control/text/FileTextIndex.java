@@ -0,0 +1,225 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.text;
+
+import com.awscourse.filesmanagementsystem.domain.auditedobject.ObjectState;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.label.entity.Label;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Component
+public class FileTextIndex {
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float LABEL_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float PREFIX_MATCH_WEIGHT = 0.5f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    private boolean ready;
+
+    public void index(Collection<File> files) {
+        List<IndexedFile> indexedFiles = TransformUtils.transformToList(files, this::analyze);
+        lock.writeLock().lock();
+        try {
+            indexedFiles.forEach(segment::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<Long> fileIds) {
+        lock.writeLock().lock();
+        try {
+            fileIds.forEach(segment::delete);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Set<Long> getFileIdsWithLabels(Collection<Long> labelIds) {
+        lock.readLock().lock();
+        try {
+            return labelIds.stream()
+                    .flatMap(labelId -> segment.fileIdsByLabelId.getOrDefault(labelId, Set.of()).stream())
+                    .collect(Collectors.toSet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<List<Long>> search(String query) {
+        Set<String> queryTerms = new LinkedHashSet<>(TextAnalyzer.tokenize(query));
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+            return Optional.of(queryTerms.isEmpty() ? List.of() : segment.search(queryTerms));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.filesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Rebuild rebuild() {
+        return new Rebuild();
+    }
+
+    private IndexedFile analyze(File file) {
+        List<Label> activeLabels = file.getLabels().stream()
+                .filter(label -> label.getObjectState() == ObjectState.ACTIVE)
+                .collect(Collectors.toList());
+        Map<String, Float> termFrequencies = new HashMap<>();
+        addTerms(termFrequencies, file.getName(), NAME_WEIGHT);
+        addTerms(termFrequencies, file.getDescription(), DESCRIPTION_WEIGHT);
+        activeLabels.forEach(label -> addTerms(termFrequencies, label.getName(), LABEL_WEIGHT));
+        float length = (float) termFrequencies.values().stream().mapToDouble(Float::doubleValue).sum();
+        Set<Long> labelIds = TransformUtils.transformToSet(activeLabels, Label::getId);
+        return new IndexedFile(file.getId(), termFrequencies, length, labelIds);
+    }
+
+    private void addTerms(Map<String, Float> termFrequencies, String text, float weight) {
+        TextAnalyzer.tokenize(text).forEach(term -> termFrequencies.merge(term, weight, Float::sum));
+    }
+
+    public class Rebuild {
+
+        private final Segment rebuiltSegment = new Segment();
+
+        private Rebuild() {
+        }
+
+        public void index(Collection<File> files) {
+            files.stream()
+                    .map(FileTextIndex.this::analyze)
+                    .forEach(rebuiltSegment::put);
+        }
+
+        public void complete() {
+            lock.writeLock().lock();
+            try {
+                segment = rebuiltSegment;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+    }
+
+    private static class Segment {
+
+        private final Map<Long, IndexedFile> filesById = new HashMap<>();
+        private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+        private final Map<Long, Set<Long>> fileIdsByLabelId = new HashMap<>();
+        private double totalLength;
+
+        private void put(IndexedFile indexedFile) {
+            delete(indexedFile.getFileId());
+            filesById.put(indexedFile.getFileId(), indexedFile);
+            indexedFile.getTermFrequencies().forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, unused -> new HashMap<>()).put(indexedFile.getFileId(), frequency));
+            indexedFile.getLabelIds().forEach(labelId ->
+                    fileIdsByLabelId.computeIfAbsent(labelId, unused -> new HashSet<>()).add(indexedFile.getFileId()));
+            totalLength += indexedFile.getLength();
+        }
+
+        private void delete(Long fileId) {
+            IndexedFile indexedFile = filesById.remove(fileId);
+            if (indexedFile == null) {
+                return;
+            }
+            indexedFile.getTermFrequencies().keySet().forEach(term ->
+                    postings.computeIfPresent(term, (unused, filePostings) -> removeFileId(filePostings, fileId)));
+            indexedFile.getLabelIds().forEach(labelId ->
+                    fileIdsByLabelId.computeIfPresent(labelId, (unused, fileIds) -> removeFileId(fileIds, fileId)));
+            totalLength -= indexedFile.getLength();
+        }
+
+        private Map<Long, Float> removeFileId(Map<Long, Float> filePostings, Long fileId) {
+            filePostings.remove(fileId);
+            return filePostings.isEmpty() ? null : filePostings;
+        }
+
+        private Set<Long> removeFileId(Set<Long> fileIds, Long fileId) {
+            fileIds.remove(fileId);
+            return fileIds.isEmpty() ? null : fileIds;
+        }
+
+        private List<Long> search(Collection<String> queryTerms) {
+            Map<Long, Double> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = scoreTerm(queryTerm);
+                if (scores != null) {
+                    termScores.keySet().retainAll(scores.keySet());
+                    scores.forEach((fileId, score) -> termScores.computeIfPresent(fileId, (unused, termScore) -> termScore + score));
+                }
+                scores = termScores;
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        }
+
+        private Map<Long, Double> scoreTerm(String queryTerm) {
+            Map<Long, Double> termScores = new HashMap<>();
+            getMatchingPostings(queryTerm).forEach((term, filePostings) -> {
+                double weight = term.equals(queryTerm) ? 1.0 : PREFIX_MATCH_WEIGHT;
+                double idf = getInverseDocumentFrequency(filePostings.size());
+                filePostings.forEach((fileId, frequency) ->
+                        termScores.merge(fileId, weight * idf * getTermFrequencyFactor(fileId, frequency), Math::max));
+            });
+            return termScores;
+        }
+
+        private Map<String, Map<Long, Float>> getMatchingPostings(String queryTerm) {
+            if (queryTerm.length() < MIN_PREFIX_LENGTH) {
+                return postings.containsKey(queryTerm) ? Map.of(queryTerm, postings.get(queryTerm)) : Map.of();
+            }
+            return postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false);
+        }
+
+        private double getInverseDocumentFrequency(int documentFrequency) {
+            return Math.log(1 + (filesById.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        }
+
+        private double getTermFrequencyFactor(Long fileId, float frequency) {
+            double averageLength = totalLength / filesById.size();
+            double lengthRatio = averageLength > 0 ? filesById.get(fileId).getLength() / averageLength : 1;
+            return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * lengthRatio));
+        }
+
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.text;
+
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileBulkCreatedEvent;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileBulkUpdatedEvent;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FilesSearchCriteria;
+import com.awscourse.filesmanagementsystem.domain.file.control.FileService;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FilesSearchResult;
+import com.awscourse.filesmanagementsystem.domain.label.boundary.LabelBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.label.boundary.LabelBulkUpdatedEvent;
+import com.awscourse.filesmanagementsystem.domain.label.entity.Label;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.boundary.LabelAssignmentBulkCreatedEvent;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.boundary.LabelAssignmentBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment;
+import com.awscourse.filesmanagementsystem.infrastructure.event.crud.bulk.BulkAbstractEvent;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+public class FileTextIndexer {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final FileTextIndex fileTextIndex;
+    private final FileNameIndex fileNameIndex;
+    private final FileService fileService;
+    private final AsyncTaskExecutor executor;
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    public FileTextIndexer(FileTextIndex fileTextIndex, FileNameIndex fileNameIndex, FileService fileService,
+                           @Qualifier("textIndexExecutor") AsyncTaskExecutor executor) {
+        this.fileTextIndex = fileTextIndex;
+        this.fileNameIndex = fileNameIndex;
+        this.fileService = fileService;
+        this.executor = executor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.search.index.reconcile-interval}", fixedDelayString = "${app.search.index.reconcile-interval}")
+    public void reconcileIndex() {
+        rebuildIndex();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, classes = {FileBulkCreatedEvent.class, FileBulkUpdatedEvent.class})
+    public void indexChangedFiles(BulkAbstractEvent<File> event) {
+        fileNameIndex.index(event.getRelatedObjects());
+        Set<Long> fileIds = TransformUtils.transformToSet(event.getRelatedObjects(), File::getId);
+        executor.execute(() -> reindex(fileIds));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void removeDeletedFiles(FileBulkDeletedEvent event) {
+        Set<Long> fileIds = TransformUtils.transformToSet(event.getRelatedObjects(), File::getId);
+        fileNameIndex.remove(fileIds);
+        executor.execute(() -> fileTextIndex.remove(fileIds));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT,
+            classes = {LabelAssignmentBulkCreatedEvent.class, LabelAssignmentBulkDeletedEvent.class})
+    public void indexFilesWithChangedLabelAssignments(BulkAbstractEvent<LabelAssignment> event) {
+        Set<Long> fileIds = TransformUtils.transformToSet(event.getRelatedObjects(), labelAssignment -> labelAssignment.getFile().getId());
+        executor.execute(() -> reindex(fileIds));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, classes = {LabelBulkUpdatedEvent.class, LabelBulkDeletedEvent.class})
+    public void indexFilesWithChangedLabels(BulkAbstractEvent<Label> event) {
+        Set<Long> labelIds = TransformUtils.transformToSet(event.getRelatedObjects(), Label::getId);
+        executor.execute(() -> reindex(fileTextIndex.getFileIdsWithLabels(labelIds)));
+    }
+
+    private void reindex(Collection<Long> fileIds) {
+        for (List<Long> batch : Iterables.partition(fileIds, BATCH_SIZE)) {
+            List<File> files = fileService.getFileDetailsByIds(batch);
+            fileTextIndex.remove(Sets.difference(Set.copyOf(batch), TransformUtils.transformToSet(files, File::getId)));
+            fileTextIndex.index(files);
+        }
+    }
+
+    private void rebuild() {
+        try {
+            FileTextIndex.Rebuild textIndexRebuild = fileTextIndex.rebuild();
+            FileNameIndex.Rebuild nameIndexRebuild = fileNameIndex.rebuild();
+            FilesSearchCriteria searchCriteria = new FilesSearchCriteria();
+            String cursor = null;
+            do {
+                FilesSearchResult batch = fileService.searchFilesByCriteria(searchCriteria, cursor, PageRequest.of(0, BATCH_SIZE));
+                textIndexRebuild.index(batch.getFiles());
+                nameIndexRebuild.index(batch.getFiles());
+                cursor = batch.getNextCursor();
+            } while (cursor != null);
+            textIndexRebuild.complete();
+            nameIndexRebuild.complete();
+            log.info("Text indexes rebuilt with {} files", fileTextIndex.size());
+        } catch (RuntimeException exception) {
+            log.error("Cannot rebuild text indexes: ", exception);
+        } finally {
+            rebuildPending.set(false);
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.awscourse.filesmanagementsystem.domain.file.control.text;
+
+import lombok.Data;
+
+import java.util.Map;
+import java.util.Set;
+
+@Data
+class IndexedFile {
+
+    private final Long fileId;
+    private final Map<String, Float> termFrequencies;
+    private final float length;
+    private final Set<Long> labelIds;
+
+}
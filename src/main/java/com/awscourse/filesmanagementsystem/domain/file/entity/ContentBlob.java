@@ -0,0 +1,69 @@
+package com.awscourse.filesmanagementsystem.domain.file.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Objects;
+
+@Entity
+@Table(name = "content_blob")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ContentBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @NotNull
+    @Column(length = 1000, unique = true)
+    private URI url;
+
+    @NotNull
+    private long size;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ContentCodec codec;
+
+    private Long crc32;
+
+    @NotNull
+    private long referenceCount;
+
+    private Instant lastUploadedAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ContentBlob)) {
+            return false;
+        }
+
+        ContentBlob other = (ContentBlob) o;
+
+        return Objects.equals(getHash(), other.getHash());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getHash());
+    }
+
+}
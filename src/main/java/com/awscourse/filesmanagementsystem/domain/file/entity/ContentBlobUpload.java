@@ -0,0 +1,67 @@
+package com.awscourse.filesmanagementsystem.domain.file.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Entity
+@Table(name = "content_blob_upload")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentBlobUpload {
+
+    @EmbeddedId
+    private Id id;
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Id implements Serializable {
+
+        @Column(length = 64)
+        private String hash;
+        private Long ownerId;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Id)) return false;
+
+            Id that = (Id) o;
+
+            return Objects.equals(hash, that.hash) && Objects.equals(ownerId, that.ownerId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hash, ownerId);
+        }
+
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ContentBlobUpload)) return false;
+
+        ContentBlobUpload that = (ContentBlobUpload) o;
+
+        return Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId());
+    }
+
+}
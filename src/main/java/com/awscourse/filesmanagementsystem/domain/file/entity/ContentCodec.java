@@ -0,0 +1,15 @@
+package com.awscourse.filesmanagementsystem.domain.file.entity;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ContentCodec {
+
+    NONE("identity"),
+    GZIP("gzip");
+
+    private final String contentEncoding;
+
+}
@@ -0,0 +1,15 @@
+package com.awscourse.filesmanagementsystem.domain.file.entity;
+
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.PresignedUrl;
+import lombok.Data;
+
+import java.net.URI;
+
+@Data
+public class DirectUpload {
+
+    private final String filename;
+    private final URI url;
+    private final PresignedUrl uploadUrl;
+
+}
@@ -0,0 +1,77 @@
+package com.awscourse.filesmanagementsystem.domain.file.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Objects;
+
+import static com.awscourse.filesmanagementsystem.infrastructure.jpa.PersistenceConstants.ID_GENERATOR;
+
+@Entity
+@Table(name = "direct_upload_session")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DirectUploadSession {
+
+    @Id
+    @GeneratedValue(generator = ID_GENERATOR)
+    private Long id;
+
+    @NotBlank
+    private String filename;
+
+    @NotNull
+    @Column(length = 1000, unique = true)
+    private URI url;
+
+    @NotNull
+    private long size;
+
+    @NotNull
+    private Long ownerId;
+
+    @Column(length = 1000)
+    private URI contentUrl;
+
+    @NotNull
+    private Instant expiresAt;
+
+    public boolean isCompleted() {
+        return contentUrl != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DirectUploadSession)) {
+            return false;
+        }
+
+        DirectUploadSession other = (DirectUploadSession) o;
+
+        return id != null && Objects.equals(getId(), other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+}
@@ -1,9 +1,11 @@
 package com.awscourse.filesmanagementsystem.domain.file.entity;
 
 import com.awscourse.filesmanagementsystem.domain.auditedobject.AuditedObject;
+import com.awscourse.filesmanagementsystem.domain.auditedobject.AuditedObject_;
 import com.awscourse.filesmanagementsystem.domain.label.entity.Label;
 import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment;
 import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment_;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -15,9 +17,14 @@ import org.hibernate.annotations.Where;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.NamedQuery;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.validation.constraints.NotBlank;
@@ -38,12 +45,26 @@ import static com.awscourse.filesmanagementsystem.infrastructure.jpa.Persistence
 @Loader(namedQuery = "findFileById")
 @NamedQuery(name = "findFileById", query = "SELECT f FROM File f WHERE f.id = ?1 AND f.objectState = com.awscourse.filesmanagementsystem.domain.auditedobject.ObjectState.ACTIVE")
 @Where(clause = AuditedObject.IS_ACTIVE_OBJECT)
+@NamedEntityGraph(name = File.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(AuditedObject_.CREATED_BY),
+                @NamedAttributeNode(AuditedObject_.UPDATED_BY),
+                @NamedAttributeNode(value = File_.LABEL_ASSIGNMENTS, subgraph = File.LABEL_ASSIGNMENTS_SUBGRAPH)},
+        subgraphs = {
+                @NamedSubgraph(name = File.LABEL_ASSIGNMENTS_SUBGRAPH,
+                        attributeNodes = @NamedAttributeNode(value = LabelAssignment_.LABEL, subgraph = File.LABEL_SUBGRAPH)),
+                @NamedSubgraph(name = File.LABEL_SUBGRAPH,
+                        attributeNodes = {@NamedAttributeNode(AuditedObject_.CREATED_BY), @NamedAttributeNode(AuditedObject_.UPDATED_BY)})})
 @Getter
 @Setter
 @SuperBuilder
 @NoArgsConstructor
 public class File extends AuditedObject {
 
+    public static final String DETAILS_GRAPH = "File.details";
+    static final String LABEL_ASSIGNMENTS_SUBGRAPH = "File.details.labelAssignments";
+    static final String LABEL_SUBGRAPH = "File.details.labelAssignments.label";
+
     @Id
     @GeneratedValue(generator = ID_GENERATOR)
     private Long id;
@@ -65,10 +86,17 @@ public class File extends AuditedObject {
     private long size;
 
     @NotNull
-    @Column(length = 1000, unique = true)
+    @Column(length = 1000)
     private URI url;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ContentCodec contentCodec;
+
+    private Long crc32;
+
     @OneToMany(mappedBy = LabelAssignment_.FILE)
+    @Builder.Default
     Set<LabelAssignment> labelAssignments = new HashSet<>();
 
     public List<Label> getLabels() {
@@ -77,6 +105,10 @@ public class File extends AuditedObject {
                 .collect(Collectors.toList());
     }
 
+    public ContentCodec getContentCodec() {
+        return contentCodec == null ? ContentCodec.NONE : contentCodec;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
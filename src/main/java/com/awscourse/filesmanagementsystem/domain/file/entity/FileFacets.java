@@ -0,0 +1,40 @@
+package com.awscourse.filesmanagementsystem.domain.file.entity;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+public class FileFacets {
+
+    private final List<LabelCount> labelCounts;
+    private final List<SizeBucket> sizeBuckets;
+    private final List<DateBucket> createdAtHistogram;
+
+    @Data
+    public static class LabelCount {
+
+        private final String labelName;
+        private final long count;
+
+    }
+
+    @Data
+    public static class SizeBucket {
+
+        private final Long minSize;
+        private final Long maxSize;
+        private final long count;
+
+    }
+
+    @Data
+    public static class DateBucket {
+
+        private final Instant start;
+        private final long count;
+
+    }
+
+}
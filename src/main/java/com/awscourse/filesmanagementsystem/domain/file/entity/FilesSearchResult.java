@@ -0,0 +1,15 @@
+package com.awscourse.filesmanagementsystem.domain.file.entity;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class FilesSearchResult {
+
+    private final List<File> files;
+    private final String nextCursor;
+    private Long totalCount;
+    private boolean truncated;
+
+}
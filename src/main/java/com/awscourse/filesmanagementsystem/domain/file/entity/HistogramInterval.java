@@ -0,0 +1,37 @@
+package com.awscourse.filesmanagementsystem.domain.file.entity;
+
+import lombok.RequiredArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjuster;
+import java.time.temporal.TemporalAdjusters;
+
+@RequiredArgsConstructor
+public enum HistogramInterval {
+
+    DAY(dateTime -> dateTime, ChronoUnit.DAYS),
+    WEEK(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY), ChronoUnit.WEEKS),
+    MONTH(TemporalAdjusters.firstDayOfMonth(), ChronoUnit.MONTHS),
+    YEAR(TemporalAdjusters.firstDayOfYear(), ChronoUnit.YEARS);
+
+    private final TemporalAdjuster bucketStartAdjuster;
+    private final ChronoUnit unit;
+
+    public Instant getBucketStart(Instant instant) {
+        return ZonedDateTime.ofInstant(instant, ZoneOffset.UTC)
+                .truncatedTo(ChronoUnit.DAYS)
+                .with(bucketStartAdjuster)
+                .toInstant();
+    }
+
+    public Instant getNextBucketStart(Instant bucketStart) {
+        return ZonedDateTime.ofInstant(bucketStart, ZoneOffset.UTC)
+                .plus(1, unit)
+                .toInstant();
+    }
+
+}
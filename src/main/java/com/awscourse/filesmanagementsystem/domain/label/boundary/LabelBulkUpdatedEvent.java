@@ -0,0 +1,14 @@
+package com.awscourse.filesmanagementsystem.domain.label.boundary;
+
+import com.awscourse.filesmanagementsystem.domain.label.entity.Label;
+import com.awscourse.filesmanagementsystem.infrastructure.event.crud.bulk.BulkUpdateEvent;
+
+import java.util.List;
+
+public class LabelBulkUpdatedEvent extends BulkUpdateEvent<Label> {
+
+    public LabelBulkUpdatedEvent(Object source, List<Label> relatedObjects) {
+        super(source, relatedObjects);
+    }
+
+}
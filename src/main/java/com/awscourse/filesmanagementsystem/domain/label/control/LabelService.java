@@ -2,6 +2,7 @@ package com.awscourse.filesmanagementsystem.domain.label.control;
 
 import com.awscourse.filesmanagementsystem.domain.auditedobject.ObjectState;
 import com.awscourse.filesmanagementsystem.domain.label.boundary.LabelBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.label.boundary.LabelBulkUpdatedEvent;
 import com.awscourse.filesmanagementsystem.domain.label.entity.Label;
 import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
 import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
@@ -100,6 +101,7 @@ public class LabelService {
         List<Label> foundLabels = labelRepository.findAllById(getNonNullUniqueIds(updatedLabels));
         validateBeforeUpdate(foundLabels, updatedLabels, userId);
         updateLabels(foundLabels, updatedLabels);
+        eventPublisher.publishEvent(new LabelBulkUpdatedEvent(this, foundLabels));
     }
 
     private void validateBeforeUpdate(Collection<Label> existingLabels, Collection<Label> updatedLabels, Long userId) {
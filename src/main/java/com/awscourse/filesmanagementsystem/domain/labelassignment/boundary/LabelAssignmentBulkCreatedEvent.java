@@ -0,0 +1,14 @@
+package com.awscourse.filesmanagementsystem.domain.labelassignment.boundary;
+
+import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment;
+import com.awscourse.filesmanagementsystem.infrastructure.event.crud.bulk.BulkCreateEvent;
+
+import java.util.List;
+
+public class LabelAssignmentBulkCreatedEvent extends BulkCreateEvent<LabelAssignment> {
+
+    public LabelAssignmentBulkCreatedEvent(Object source, List<LabelAssignment> relatedObjects) {
+        super(source, relatedObjects);
+    }
+
+}
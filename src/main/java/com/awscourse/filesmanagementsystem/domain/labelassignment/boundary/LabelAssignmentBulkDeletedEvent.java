@@ -0,0 +1,14 @@
+package com.awscourse.filesmanagementsystem.domain.labelassignment.boundary;
+
+import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment;
+import com.awscourse.filesmanagementsystem.infrastructure.event.crud.bulk.BulkDeleteEvent;
+
+import java.util.List;
+
+public class LabelAssignmentBulkDeletedEvent extends BulkDeleteEvent<LabelAssignment> {
+
+    public LabelAssignmentBulkDeletedEvent(Object source, List<LabelAssignment> relatedObjects) {
+        super(source, relatedObjects);
+    }
+
+}
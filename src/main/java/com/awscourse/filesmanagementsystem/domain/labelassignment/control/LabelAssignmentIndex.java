@@ -0,0 +1,171 @@
+package com.awscourse.filesmanagementsystem.domain.labelassignment.control;
+
+import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment;
+import com.awscourse.filesmanagementsystem.infrastructure.collection.CompressedBitmap;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class LabelAssignmentIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, CompressedBitmap> fileIdsByLabelId = new HashMap<>();
+    private List<Consumer<Map<Long, CompressedBitmap>>> changesDuringRebuild;
+    private Instant syncedAt;
+    private boolean ready;
+    private boolean disabled;
+
+    public void add(Collection<LabelAssignment.Id> labelAssignmentIds) {
+        if (!labelAssignmentIds.stream().allMatch(LabelAssignmentIndex::isIndexable)) {
+            disable();
+            return;
+        }
+        apply(index -> labelAssignmentIds.forEach(id ->
+                index.computeIfAbsent(id.getLabelId(), unused -> new CompressedBitmap()).add(id.getFileId().intValue())));
+    }
+
+    public void remove(Collection<LabelAssignment.Id> labelAssignmentIds) {
+        apply(index -> labelAssignmentIds.stream().filter(LabelAssignmentIndex::isIndexable).forEach(id -> index.computeIfPresent(id.getLabelId(), (unused, fileIds) -> {
+            fileIds.remove(id.getFileId().intValue());
+            return fileIds.isEmpty() ? null : fileIds;
+        })));
+    }
+
+    public void removeLabels(Collection<Long> labelIds) {
+        apply(index -> index.keySet().removeAll(labelIds));
+    }
+
+    public void removeFiles(Collection<Long> fileIds) {
+        apply(index -> index.values().removeIf(labelFileIds -> {
+            fileIds.stream()
+                    .filter(fileId -> fileId <= Integer.MAX_VALUE)
+                    .forEach(fileId -> labelFileIds.remove(fileId.intValue()));
+            return labelFileIds.isEmpty();
+        }));
+    }
+
+    public Optional<CompressedBitmap> getFileIdsWithAnyOfLabels(Collection<Long> labelIds) {
+        return getFileIds(labelIds, CompressedBitmap::or);
+    }
+
+    public Optional<CompressedBitmap> getFileIdsWithAllOfLabels(Collection<Long> labelIds) {
+        return getFileIds(labelIds, CompressedBitmap::and);
+    }
+
+    public Optional<Instant> getSyncedAt() {
+        lock.readLock().lock();
+        try {
+            return ready && !disabled ? Optional.of(syncedAt) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Optional<CompressedBitmap> getFileIds(Collection<Long> labelIds, Function<Collection<CompressedBitmap>, CompressedBitmap> operation) {
+        lock.readLock().lock();
+        try {
+            if (!ready || disabled) {
+                return Optional.empty();
+            }
+            List<CompressedBitmap> bitmaps = labelIds.stream()
+                    .distinct()
+                    .map(labelId -> fileIdsByLabelId.getOrDefault(labelId, new CompressedBitmap()))
+                    .collect(Collectors.toList());
+            return Optional.of(operation.apply(bitmaps));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Rebuild rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+            return new Rebuild(Instant.now());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Map<Long, CompressedBitmap>> change) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+            change.accept(fileIdsByLabelId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void disable() {
+        lock.writeLock().lock();
+        try {
+            disabled = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isIndexable(LabelAssignment.Id labelAssignmentId) {
+        return labelAssignmentId.getFileId() <= Integer.MAX_VALUE;
+    }
+
+    public class Rebuild {
+
+        private final Map<Long, CompressedBitmap> rebuiltIndex = new HashMap<>();
+        private final Instant startedAt;
+        private boolean overflow;
+
+        private Rebuild(Instant startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        public void add(LabelAssignment.Id labelAssignmentId) {
+            if (!isIndexable(labelAssignmentId)) {
+                overflow = true;
+                return;
+            }
+            rebuiltIndex.computeIfAbsent(labelAssignmentId.getLabelId(), unused -> new CompressedBitmap())
+                    .add(labelAssignmentId.getFileId().intValue());
+        }
+
+        public void complete() {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild.forEach(change -> change.accept(rebuiltIndex));
+                changesDuringRebuild = null;
+                fileIdsByLabelId = rebuiltIndex;
+                syncedAt = startedAt;
+                disabled = disabled || overflow;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        public void cancel() {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.awscourse.filesmanagementsystem.domain.labelassignment.control;
+
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.label.boundary.LabelBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.label.entity.Label;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.boundary.LabelAssignmentBulkCreatedEvent;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.boundary.LabelAssignmentBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+public class LabelAssignmentIndexer {
+
+    private final LabelAssignmentIndex labelAssignmentIndex;
+    private final LabelAssignmentService labelAssignmentService;
+    private final AsyncTaskExecutor executor;
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    public LabelAssignmentIndexer(LabelAssignmentIndex labelAssignmentIndex, LabelAssignmentService labelAssignmentService,
+                                  @Qualifier("customizedThreadPoolExecutor") AsyncTaskExecutor executor) {
+        this.labelAssignmentIndex = labelAssignmentIndex;
+        this.labelAssignmentService = labelAssignmentService;
+        this.executor = executor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.search.index.reconcile-interval}", fixedDelayString = "${app.search.index.reconcile-interval}")
+    public void reconcileIndex() {
+        rebuildIndex();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void indexCreatedLabelAssignments(LabelAssignmentBulkCreatedEvent event) {
+        labelAssignmentIndex.add(TransformUtils.transformToList(event.getRelatedObjects(), LabelAssignment::getId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void removeDeletedLabelAssignments(LabelAssignmentBulkDeletedEvent event) {
+        labelAssignmentIndex.remove(TransformUtils.transformToList(event.getRelatedObjects(), LabelAssignment::getId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void removeDeletedLabels(LabelBulkDeletedEvent event) {
+        labelAssignmentIndex.removeLabels(TransformUtils.transformToSet(event.getRelatedObjects(), Label::getId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void removeDeletedFiles(FileBulkDeletedEvent event) {
+        labelAssignmentIndex.removeFiles(TransformUtils.transformToSet(event.getRelatedObjects(), File::getId));
+    }
+
+    private void rebuild() {
+        try {
+            LabelAssignmentIndex.Rebuild rebuild = labelAssignmentIndex.rebuild();
+            try {
+                labelAssignmentService.forEachLabelAssignmentId(rebuild::add);
+            } catch (RuntimeException exception) {
+                rebuild.cancel();
+                log.error("Cannot rebuild label assignment index: ", exception);
+                return;
+            }
+            rebuild.complete();
+            log.info("Label assignment index rebuilt");
+        } finally {
+            rebuildPending.set(false);
+        }
+    }
+
+}
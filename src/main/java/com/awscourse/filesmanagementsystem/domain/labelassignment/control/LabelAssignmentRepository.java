@@ -1,11 +1,19 @@
 package com.awscourse.filesmanagementsystem.domain.labelassignment.control;
 
 import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment;
+import com.awscourse.filesmanagementsystem.infrastructure.jpa.PersistenceConstants;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface LabelAssignmentRepository extends JpaRepository<LabelAssignment, LabelAssignment.Id> {
@@ -20,4 +28,10 @@ public interface LabelAssignmentRepository extends JpaRepository<LabelAssignment
 
     void deleteAllByFileIdIn(Collection<Long> fileId);
 
+    @Query("SELECT la.id FROM LabelAssignment la")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = PersistenceConstants.STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<LabelAssignment.Id> streamAllIds();
+
 }
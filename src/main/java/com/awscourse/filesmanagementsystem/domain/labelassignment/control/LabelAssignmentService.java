@@ -4,11 +4,14 @@ import com.awscourse.filesmanagementsystem.domain.file.control.FileService;
 import com.awscourse.filesmanagementsystem.domain.file.entity.File;
 import com.awscourse.filesmanagementsystem.domain.label.control.LabelService;
 import com.awscourse.filesmanagementsystem.domain.label.entity.Label;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.boundary.LabelAssignmentBulkCreatedEvent;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.boundary.LabelAssignmentBulkDeletedEvent;
 import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment;
 import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
 import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
 import com.google.common.collect.Sets;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,8 +22,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -30,6 +35,7 @@ public class LabelAssignmentService {
     private final LabelAssignmentRepository labelAssignmentRepository;
     private final FileService fileService;
     private final LabelService labelService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<LabelAssignment> createLabelAssignments(Map<Long, List<Long>> idsOfLabelsToAssignByFileId) {
         List<File> foundFiles = fileService.getFilesByIds(idsOfLabelsToAssignByFileId.keySet());
@@ -37,7 +43,9 @@ public class LabelAssignmentService {
         validateBeforeCreate(idsOfLabelsToAssignByFileId, foundFiles, foundLabels);
         Map<File, Set<Label>> labelsToAssignByFile = getLabelsByFile(idsOfLabelsToAssignByFileId, foundFiles, foundLabels);
         List<LabelAssignment> labelAssignmentsToCreate = buildLabelAssignments(labelsToAssignByFile);
-        return labelAssignmentRepository.saveAll(labelAssignmentsToCreate);
+        List<LabelAssignment> createdLabelAssignments = labelAssignmentRepository.saveAll(labelAssignmentsToCreate);
+        eventPublisher.publishEvent(new LabelAssignmentBulkCreatedEvent(this, createdLabelAssignments));
+        return createdLabelAssignments;
     }
 
     private void validateBeforeCreate(Map<Long, List<Long>> idsOfLabelsToAssignByFileId, List<File> foundFiles, List<Label> foundLabels) {
@@ -97,6 +105,8 @@ public class LabelAssignmentService {
         List<Label> foundLabels = labelService.getLabelsByIds(TransformUtils.flattenValues(idsOfLabelsToUnassignByFileId, ArrayList::new));
         validateBeforeDelete(idsOfLabelsToUnassignByFileId, foundFiles, foundLabels);
         idsOfLabelsToUnassignByFileId.forEach(labelAssignmentRepository::deleteAllByFileIdAndLabelIdIn);
+        Map<File, Set<Label>> unassignedLabelsByFile = getLabelsByFile(idsOfLabelsToUnassignByFileId, foundFiles, foundLabels);
+        eventPublisher.publishEvent(new LabelAssignmentBulkDeletedEvent(this, buildLabelAssignments(unassignedLabelsByFile)));
     }
 
     private void validateBeforeDelete(Map<Long, List<Long>> idsOfLabelsToUnassignByFileId, List<File> foundFiles, List<Label> foundLabels) {
@@ -112,4 +122,11 @@ public class LabelAssignmentService {
         labelAssignmentRepository.deleteAllByFileIdIn(fileIds);
     }
 
+    @Transactional(readOnly = true)
+    public void forEachLabelAssignmentId(Consumer<LabelAssignment.Id> consumer) {
+        try (Stream<LabelAssignment.Id> labelAssignmentIds = labelAssignmentRepository.streamAllIds()) {
+            labelAssignmentIds.forEach(consumer);
+        }
+    }
+
 }
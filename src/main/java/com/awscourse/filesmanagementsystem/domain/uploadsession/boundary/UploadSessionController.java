@@ -0,0 +1,113 @@
+package com.awscourse.filesmanagementsystem.domain.uploadsession.boundary;
+
+import com.awscourse.filesmanagementsystem.api.common.ResponseDTO;
+import com.awscourse.filesmanagementsystem.api.file.FileUploadResponseDTO;
+import com.awscourse.filesmanagementsystem.api.uploadsession.UploadSessionDTO;
+import com.awscourse.filesmanagementsystem.api.uploadsession.UploadSessionDetailsDTO;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileMapper;
+import com.awscourse.filesmanagementsystem.domain.file.entity.UploadInfo;
+import com.awscourse.filesmanagementsystem.domain.label.control.LabelCalculationService;
+import com.awscourse.filesmanagementsystem.domain.label.entity.LabelCalculationResult;
+import com.awscourse.filesmanagementsystem.domain.uploadsession.control.UploadSessionService;
+import com.awscourse.filesmanagementsystem.domain.uploadsession.entity.UploadSessionStatus;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import com.awscourse.filesmanagementsystem.infrastructure.security.UserInfo;
+import com.awscourse.filesmanagementsystem.infrastructure.security.annotation.LoggedUser;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import springfox.documentation.annotations.ApiIgnore;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import static com.awscourse.filesmanagementsystem.infrastructure.rest.ResourcePaths.ID;
+import static com.awscourse.filesmanagementsystem.infrastructure.rest.ResourcePaths.ID_PATH;
+
+@Api(tags = "Upload sessions")
+@RestController
+@RequestMapping(UploadSessionController.UPLOAD_SESSION_RESOURCE)
+@RequiredArgsConstructor
+public class UploadSessionController {
+
+    public static final String UPLOAD_SESSION_RESOURCE = "/api/upload-sessions";
+    private static final String CHUNK_NUMBER = "chunkNumber";
+    private static final String CHUNK_PATH = ID_PATH + "/chunks/{" + CHUNK_NUMBER + "}";
+    private static final String OFFSET = "offset";
+    private static final String CONTENT_MD5 = "Content-MD5";
+    private static final String MAX_LABELS_PER_FILE = "maxLabelsPerFile";
+    private static final String MIN_CONFIDENCE = "minConfidence";
+    private static final String DEFAULT_MAX_LABELS_PER_FILE = "5";
+    private static final String DEFAULT_MIN_CONFIDENCE = "80";
+    private static final long UNKNOWN_CONTENT_LENGTH = -1;
+
+    private final UploadSessionService uploadSessionService;
+    private final UploadSessionMapper uploadSessionMapper;
+    private final LabelCalculationService labelCalculationService;
+    private final FileMapper fileMapper;
+
+    @ApiOperation(value = "${api.uploadSessions.createUploadSession.value}", notes = "${api.uploadSessions.createUploadSession.notes}")
+    @PostMapping
+    public UploadSessionDetailsDTO createUploadSession(@Valid @RequestBody UploadSessionDTO uploadSessionDTO, @ApiIgnore @LoggedUser UserInfo userInfo) {
+        UploadSessionStatus sessionStatus = uploadSessionService.createSession(uploadSessionDTO.getFilename(), uploadSessionDTO.getSize(), userInfo.getId());
+        return uploadSessionMapper.mapToUploadSessionDetailsDTO(sessionStatus);
+    }
+
+    @ApiOperation(value = "${api.uploadSessions.getUploadSession.value}", notes = "${api.uploadSessions.getUploadSession.notes}")
+    @GetMapping(ID_PATH)
+    public UploadSessionDetailsDTO getUploadSession(@PathVariable(ID) Long id, @ApiIgnore @LoggedUser UserInfo userInfo) {
+        UploadSessionStatus sessionStatus = uploadSessionService.getSessionStatus(id, userInfo.getId());
+        return uploadSessionMapper.mapToUploadSessionDetailsDTO(sessionStatus);
+    }
+
+    @ApiOperation(value = "${api.uploadSessions.uploadChunk.value}", notes = "${api.uploadSessions.uploadChunk.notes}")
+    @PutMapping(value = CHUNK_PATH, consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public UploadSessionDetailsDTO uploadChunk(@PathVariable(ID) Long id,
+                                               @PathVariable(CHUNK_NUMBER) int chunkNumber,
+                                               @RequestParam(OFFSET) long offset,
+                                               @RequestHeader(CONTENT_MD5) String md5Digest,
+                                               @ApiIgnore @LoggedUser UserInfo userInfo,
+                                               HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() == UNKNOWN_CONTENT_LENGTH) {
+            throw new IllegalArgumentAppException("Content-Length header is required when uploading chunk");
+        }
+        UploadSessionStatus sessionStatus = uploadSessionService.uploadChunk(id, userInfo.getId(), chunkNumber, offset,
+                request.getContentLengthLong(), md5Digest, request.getInputStream());
+        return uploadSessionMapper.mapToUploadSessionDetailsDTO(sessionStatus);
+    }
+
+    @ApiOperation(value = "${api.uploadSessions.finalizeUploadSession.value}", notes = "${api.uploadSessions.finalizeUploadSession.notes}")
+    @PostMapping(ID_PATH + "/finalize")
+    public FileUploadResponseDTO finalizeUploadSession(@PathVariable(ID) Long id,
+                                                       @RequestParam(value = MAX_LABELS_PER_FILE, defaultValue = DEFAULT_MAX_LABELS_PER_FILE) int maxLabelsPerFile,
+                                                       @RequestParam(value = MIN_CONFIDENCE, defaultValue = DEFAULT_MIN_CONFIDENCE) float minConfidence,
+                                                       @ApiIgnore @LoggedUser UserInfo userInfo) {
+        UploadInfo uploadInfo = uploadSessionService.finalizeSession(id, userInfo.getId());
+        Map<URI, List<LabelCalculationResult>> suggestedLabelsByUri =
+                labelCalculationService.calculateLabelsForResources(List.of(uploadInfo.getUrl()), maxLabelsPerFile, minConfidence);
+        return fileMapper.mapToFileUploadResponseDTOs(List.of(uploadInfo), suggestedLabelsByUri).get(0);
+    }
+
+    @ApiOperation(value = "${api.uploadSessions.abortUploadSession.value}", notes = "${api.uploadSessions.abortUploadSession.notes}")
+    @DeleteMapping(ID_PATH)
+    public ResponseDTO<Boolean> abortUploadSession(@PathVariable(ID) Long id, @ApiIgnore @LoggedUser UserInfo userInfo) {
+        uploadSessionService.abortSession(id, userInfo.getId());
+        return new ResponseDTO<>(true, "Upload session aborted successfully");
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.awscourse.filesmanagementsystem.domain.uploadsession.boundary;
+
+import com.awscourse.filesmanagementsystem.api.uploadsession.ByteRangeDTO;
+import com.awscourse.filesmanagementsystem.api.uploadsession.UploadSessionDetailsDTO;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ByteRange;
+import com.awscourse.filesmanagementsystem.domain.uploadsession.entity.UploadSession;
+import com.awscourse.filesmanagementsystem.domain.uploadsession.entity.UploadSessionStatus;
+import com.awscourse.filesmanagementsystem.infrastructure.transform.TransformUtils;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UploadSessionMapper {
+
+    public UploadSessionDetailsDTO mapToUploadSessionDetailsDTO(UploadSessionStatus sessionStatus) {
+        if (sessionStatus == null) {
+            return null;
+        }
+        UploadSession session = sessionStatus.getSession();
+        return UploadSessionDetailsDTO.builder()
+                .id(session.getId())
+                .filename(session.getFilename())
+                .size(session.getSize())
+                .chunkSize(session.getChunkSize())
+                .chunkCount(session.getChunkCount())
+                .receivedRanges(TransformUtils.transformToList(sessionStatus.getReceivedRanges(), this::mapToByteRangeDTO))
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+
+    private ByteRangeDTO mapToByteRangeDTO(ByteRange range) {
+        return new ByteRangeDTO(range.getStart(), range.getEnd());
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.awscourse.filesmanagementsystem.domain.uploadsession.control;
+
+import com.awscourse.filesmanagementsystem.domain.uploadsession.entity.UploadSessionPart;
+import com.awscourse.filesmanagementsystem.domain.uploadsession.entity.UploadSessionPartId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface UploadSessionPartRepository extends JpaRepository<UploadSessionPart, UploadSessionPartId> {
+
+    List<UploadSessionPart> findAllBySessionIdOrderByChunkNumber(Long sessionId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UploadSessionPart p WHERE p.sessionId = :sessionId")
+    int deleteAllBySessionId(@Param("sessionId") Long sessionId);
+
+}
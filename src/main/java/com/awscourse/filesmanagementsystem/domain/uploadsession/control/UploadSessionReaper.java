@@ -0,0 +1,18 @@
+package com.awscourse.filesmanagementsystem.domain.uploadsession.control;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class UploadSessionReaper {
+
+    private final UploadSessionService uploadSessionService;
+
+    @Scheduled(fixedDelayString = "${app.upload-session.reaper-interval}")
+    public void abortExpiredSessions() {
+        uploadSessionService.abortExpiredSessions();
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.awscourse.filesmanagementsystem.domain.uploadsession.control;
+
+import com.awscourse.filesmanagementsystem.domain.uploadsession.entity.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+
+    Optional<UploadSession> findByIdAndOwnerId(Long id, Long ownerId);
+
+    List<UploadSession> findAllByExpiresAtBefore(Instant instant);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.expiresAt = :expiresAt WHERE s.id = :id")
+    int updateExpiresAt(@Param("id") Long id, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.completed = true WHERE s.id = :id")
+    int markCompleted(@Param("id") Long id);
+
+}
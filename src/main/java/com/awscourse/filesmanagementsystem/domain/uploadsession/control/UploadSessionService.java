@@ -0,0 +1,278 @@
+package com.awscourse.filesmanagementsystem.domain.uploadsession.control;
+
+import com.awscourse.filesmanagementsystem.domain.file.control.ContentBlobService;
+import com.awscourse.filesmanagementsystem.domain.file.control.RunningContentDigest;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ByteRange;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.StorageService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.url.UrlProvider;
+import com.awscourse.filesmanagementsystem.domain.file.entity.UploadInfo;
+import com.awscourse.filesmanagementsystem.domain.uploadsession.entity.UploadSession;
+import com.awscourse.filesmanagementsystem.domain.uploadsession.entity.UploadSessionPart;
+import com.awscourse.filesmanagementsystem.domain.uploadsession.entity.UploadSessionStatus;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.ExceptionUtils;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Slf4j
+@Service
+@Transactional
+public class UploadSessionService {
+
+    private static final int MAX_CHUNK_COUNT = 10000;
+    private static final int FIRST_PART_NUMBER = 1;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadSessionPartRepository uploadSessionPartRepository;
+    private final StorageService storageService;
+    private final UrlProvider urlProvider;
+    private final ContentBlobService contentBlobService;
+    private final int chunkSize;
+    private final Duration expiration;
+    private final ConcurrentMap<Long, SessionDigest> digestsBySessionId = new ConcurrentHashMap<>();
+
+    public UploadSessionService(UploadSessionRepository uploadSessionRepository,
+                                UploadSessionPartRepository uploadSessionPartRepository,
+                                StorageService storageService,
+                                UrlProvider urlProvider,
+                                ContentBlobService contentBlobService,
+                                @Value("${app.upload-session.chunk-size}") DataSize chunkSize,
+                                @Value("${app.upload-session.expiration}") Duration expiration) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.uploadSessionPartRepository = uploadSessionPartRepository;
+        this.storageService = storageService;
+        this.urlProvider = urlProvider;
+        this.contentBlobService = contentBlobService;
+        this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+        this.expiration = expiration;
+    }
+
+    public UploadSessionStatus createSession(String filename, long size, Long userId) {
+        validateSize(size);
+        URI url = urlProvider.getStagingUrl(filename);
+        UploadSession session = UploadSession.builder()
+                .filename(filename)
+                .url(url)
+                .storageUploadId(storageService.initiateMultipartUpload(url))
+                .size(size)
+                .chunkSize(chunkSize)
+                .ownerId(userId)
+                .expiresAt(getExpiresAt())
+                .build();
+        UploadSession savedSession = uploadSessionRepository.save(session);
+        digestsBySessionId.put(savedSession.getId(), new SessionDigest());
+        return new UploadSessionStatus(savedSession, List.of());
+    }
+
+    private void validateSize(long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentAppException("Size of uploaded file has to be positive");
+        }
+        if ((size + chunkSize - 1) / chunkSize > MAX_CHUNK_COUNT) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Uploaded file cannot be split into more than {0} chunks", String.valueOf(MAX_CHUNK_COUNT)));
+        }
+    }
+
+    private Instant getExpiresAt() {
+        return Instant.now().plus(expiration);
+    }
+
+    public UploadSessionStatus getSessionStatus(Long id, Long userId) {
+        return getSessionStatus(getSession(id, userId));
+    }
+
+    private UploadSessionStatus getSessionStatus(UploadSession session) {
+        List<UploadSessionPart> parts = uploadSessionPartRepository.findAllBySessionIdOrderByChunkNumber(session.getId());
+        return new UploadSessionStatus(session, getReceivedRanges(session, parts));
+    }
+
+    private UploadSession getSession(Long id, Long userId) {
+        return uploadSessionRepository.findByIdAndOwnerId(id, userId)
+                .orElseThrow(() -> ExceptionUtils.getObjectNotFoundException(UploadSession.class, id));
+    }
+
+    private List<ByteRange> getReceivedRanges(UploadSession session, List<UploadSessionPart> parts) {
+        List<ByteRange> receivedRanges = new ArrayList<>();
+        for (UploadSessionPart part : parts) {
+            long start = session.getChunkOffset(part.getChunkNumber());
+            long end = start + part.getSize() - 1;
+            int lastIndex = receivedRanges.size() - 1;
+            if (lastIndex >= 0 && receivedRanges.get(lastIndex).getEnd() + 1 == start) {
+                receivedRanges.set(lastIndex, new ByteRange(receivedRanges.get(lastIndex).getStart(), end));
+            } else {
+                receivedRanges.add(new ByteRange(start, end));
+            }
+        }
+        return receivedRanges;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UploadSessionStatus uploadChunk(Long id, Long userId, int chunkNumber, long offset, long length, String md5Digest, InputStream inputStream) {
+        UploadSession session = getSession(id, userId);
+        validateChunk(session, chunkNumber, offset, length);
+        SessionDigest digest = digestsBySessionId.get(session.getId());
+        boolean digested = digest != null && digest.startChunk(chunkNumber);
+        try {
+            InputStream chunkInputStream = digested ? digest.getRunningDigest().digest(inputStream) : inputStream;
+            String eTag = storageService.uploadPart(session.getUrl(), session.getStorageUploadId(), chunkNumber + FIRST_PART_NUMBER, chunkInputStream, length, md5Digest);
+            uploadSessionPartRepository.save(new UploadSessionPart(session.getId(), chunkNumber, length, eTag));
+        } catch (RuntimeException exception) {
+            if (digested) {
+                digest.failChunk();
+            }
+            throw exception;
+        }
+        if (digested) {
+            digest.completeChunk();
+        }
+        uploadSessionRepository.updateExpiresAt(session.getId(), getExpiresAt());
+        return getSessionStatus(session);
+    }
+
+    private void validateChunk(UploadSession session, int chunkNumber, long offset, long length) {
+        if (chunkNumber < 0 || chunkNumber >= session.getChunkCount()) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Chunk {0} is out of range of upload session {1}", String.valueOf(chunkNumber), String.valueOf(session.getId())));
+        }
+        if (offset != session.getChunkOffset(chunkNumber)) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Chunk {0} has to start at offset {1}", String.valueOf(chunkNumber), String.valueOf(session.getChunkOffset(chunkNumber))));
+        }
+        if (length != session.getChunkLength(chunkNumber)) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Chunk {0} has to be {1} bytes long", String.valueOf(chunkNumber), String.valueOf(session.getChunkLength(chunkNumber))));
+        }
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UploadInfo finalizeSession(Long id, Long userId) {
+        UploadSession session = getSession(id, userId);
+        if (!session.isCompleted()) {
+            List<UploadSessionPart> parts = uploadSessionPartRepository.findAllBySessionIdOrderByChunkNumber(session.getId());
+            validateIfAllChunksReceived(session, parts);
+            storageService.completeMultipartUpload(session.getUrl(), session.getStorageUploadId(), getETagsByPartNumber(parts));
+            uploadSessionRepository.markCompleted(session.getId());
+        }
+        URI url = saveStagedResource(session);
+        deleteSession(session);
+        return new UploadInfo(session.getFilename(), url);
+    }
+
+    private URI saveStagedResource(UploadSession session) {
+        Optional<RunningContentDigest> digest = Optional.ofNullable(digestsBySessionId.get(session.getId()))
+                .flatMap(sessionDigest -> sessionDigest.getCompletedDigest(session.getChunkCount()));
+        if (digest.isPresent()) {
+            return contentBlobService.saveStagedResource(session.getFilename(), session.getUrl(), digest.get(), session.getOwnerId());
+        }
+        return contentBlobService.saveStagedResource(session.getFilename(), session.getUrl(), session.getOwnerId());
+    }
+
+    private void validateIfAllChunksReceived(UploadSession session, List<UploadSessionPart> parts) {
+        Set<Integer> receivedChunkNumbers = parts.stream()
+                .map(UploadSessionPart::getChunkNumber)
+                .collect(Collectors.toSet());
+        List<Integer> missingChunkNumbers = IntStream.range(0, session.getChunkCount())
+                .filter(chunkNumber -> !receivedChunkNumbers.contains(chunkNumber))
+                .boxed()
+                .collect(Collectors.toList());
+        if (!missingChunkNumbers.isEmpty()) {
+            throw new IllegalArgumentAppException(MessageFormat.format("Chunks {0} of upload session {1} were not received", missingChunkNumbers, String.valueOf(session.getId())));
+        }
+    }
+
+    private Map<Integer, String> getETagsByPartNumber(List<UploadSessionPart> parts) {
+        return parts.stream()
+                .collect(Collectors.toMap(part -> part.getChunkNumber() + FIRST_PART_NUMBER, UploadSessionPart::getETag));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void abortSession(Long id, Long userId) {
+        abortSession(getSession(id, userId));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void abortExpiredSessions() {
+        List<UploadSession> expiredSessions = uploadSessionRepository.findAllByExpiresAtBefore(Instant.now());
+        for (UploadSession session : expiredSessions) {
+            try {
+                abortSession(session);
+            } catch (RuntimeException exception) {
+                log.error("Cannot abort expired upload session {}: ", session.getId(), exception);
+            }
+        }
+    }
+
+    private void abortSession(UploadSession session) {
+        try {
+            if (session.isCompleted()) {
+                storageService.deleteResources(List.of(session.getUrl()));
+            } else {
+                storageService.abortMultipartUpload(session.getUrl(), session.getStorageUploadId());
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Cannot abort storage upload of upload session {}: ", session.getId(), exception);
+        }
+        deleteSession(session);
+    }
+
+    private void deleteSession(UploadSession session) {
+        uploadSessionPartRepository.deleteAllBySessionId(session.getId());
+        uploadSessionRepository.delete(session);
+        digestsBySessionId.remove(session.getId());
+    }
+
+    private static class SessionDigest {
+
+        private final RunningContentDigest runningDigest = new RunningContentDigest();
+        private int nextChunkNumber;
+        private boolean chunkInProgress;
+        private boolean invalid;
+
+        synchronized boolean startChunk(int chunkNumber) {
+            if (chunkNumber < nextChunkNumber || (chunkNumber == nextChunkNumber && chunkInProgress)) {
+                invalid = true;
+            }
+            if (invalid || chunkInProgress || chunkNumber != nextChunkNumber) {
+                return false;
+            }
+            chunkInProgress = true;
+            return true;
+        }
+
+        RunningContentDigest getRunningDigest() {
+            return runningDigest;
+        }
+
+        synchronized void completeChunk() {
+            chunkInProgress = false;
+            nextChunkNumber++;
+        }
+
+        synchronized void failChunk() {
+            chunkInProgress = false;
+            invalid = true;
+        }
+
+        synchronized Optional<RunningContentDigest> getCompletedDigest(int chunkCount) {
+            return !invalid && !chunkInProgress && nextChunkNumber == chunkCount ? Optional.of(runningDigest) : Optional.empty();
+        }
+
+    }
+
+}
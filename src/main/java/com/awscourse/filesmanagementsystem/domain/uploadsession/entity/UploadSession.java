@@ -0,0 +1,92 @@
+package com.awscourse.filesmanagementsystem.domain.uploadsession.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Objects;
+
+import static com.awscourse.filesmanagementsystem.infrastructure.jpa.PersistenceConstants.ID_GENERATOR;
+
+@Entity
+@Table(name = "upload_session")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UploadSession {
+
+    @Id
+    @GeneratedValue(generator = ID_GENERATOR)
+    private Long id;
+
+    @NotBlank
+    private String filename;
+
+    @NotNull
+    @Column(length = 1000)
+    private URI url;
+
+    @NotBlank
+    @Column(length = 1000)
+    private String storageUploadId;
+
+    @NotNull
+    private long size;
+
+    @NotNull
+    private int chunkSize;
+
+    @NotNull
+    private Long ownerId;
+
+    @NotNull
+    private Instant expiresAt;
+
+    @NotNull
+    private boolean completed;
+
+    public int getChunkCount() {
+        return (int) ((size + chunkSize - 1) / chunkSize);
+    }
+
+    public long getChunkOffset(int chunkNumber) {
+        return (long) chunkNumber * chunkSize;
+    }
+
+    public long getChunkLength(int chunkNumber) {
+        return Math.min(chunkSize, size - getChunkOffset(chunkNumber));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UploadSession)) {
+            return false;
+        }
+
+        UploadSession other = (UploadSession) o;
+
+        return id != null && Objects.equals(getId(), other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+}
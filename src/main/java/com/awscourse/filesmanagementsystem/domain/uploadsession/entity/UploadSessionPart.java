@@ -0,0 +1,56 @@
+package com.awscourse.filesmanagementsystem.domain.uploadsession.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.util.Objects;
+
+@Entity
+@Table(name = "upload_session_part")
+@IdClass(UploadSessionPartId.class)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UploadSessionPart {
+
+    @Id
+    private Long sessionId;
+
+    @Id
+    private int chunkNumber;
+
+    @NotNull
+    private long size;
+
+    @NotBlank
+    private String eTag;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UploadSessionPart)) {
+            return false;
+        }
+
+        UploadSessionPart other = (UploadSessionPart) o;
+
+        return Objects.equals(getSessionId(), other.getSessionId()) && getChunkNumber() == other.getChunkNumber();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getSessionId(), getChunkNumber());
+    }
+
+}
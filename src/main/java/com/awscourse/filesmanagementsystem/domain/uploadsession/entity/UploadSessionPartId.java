@@ -0,0 +1,17 @@
+package com.awscourse.filesmanagementsystem.domain.uploadsession.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionPartId implements Serializable {
+
+    private Long sessionId;
+    private int chunkNumber;
+
+}
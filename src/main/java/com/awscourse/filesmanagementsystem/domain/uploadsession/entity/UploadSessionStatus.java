@@ -0,0 +1,14 @@
+package com.awscourse.filesmanagementsystem.domain.uploadsession.entity;
+
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ByteRange;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UploadSessionStatus {
+
+    private final UploadSession session;
+    private final List<ByteRange> receivedRanges;
+
+}
@@ -0,0 +1,327 @@
+package com.awscourse.filesmanagementsystem.infrastructure.collection;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class CompressedBitmap {
+
+    private static final int ARRAY_CONTAINER_MAX_SIZE = 4096;
+    private static final int BITMAP_CONTAINER_WORDS = 1024;
+    private static final int LOW_BITS = 16;
+    private static final int LOW_MASK = 0xFFFF;
+
+    private final TreeMap<Integer, Container> containers = new TreeMap<>();
+
+    public static CompressedBitmap of(int... values) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        Arrays.stream(values).forEach(bitmap::add);
+        return bitmap;
+    }
+
+    public void add(int value) {
+        containers.compute(value >>> LOW_BITS, (unused, container) ->
+                (container == null ? new ArrayContainer() : container).add((char) (value & LOW_MASK)));
+    }
+
+    public void remove(int value) {
+        containers.computeIfPresent(value >>> LOW_BITS, (unused, container) -> {
+            Container result = container.remove((char) (value & LOW_MASK));
+            return result.getCardinality() == 0 ? null : result;
+        });
+    }
+
+    public boolean contains(int value) {
+        Container container = containers.get(value >>> LOW_BITS);
+        return container != null && container.contains((char) (value & LOW_MASK));
+    }
+
+    public long getCardinality() {
+        return containers.values().stream()
+                .mapToLong(Container::getCardinality)
+                .sum();
+    }
+
+    public boolean isEmpty() {
+        return containers.isEmpty();
+    }
+
+    public IntStream stream() {
+        IntStream.Builder builder = IntStream.builder();
+        forEach(builder::add);
+        return builder.build();
+    }
+
+    public void forEach(IntConsumer consumer) {
+        containers.forEach((high, container) -> container.forEach(low -> consumer.accept(high << LOW_BITS | low)));
+    }
+
+    public long andCardinality(CompressedBitmap other) {
+        return containers.entrySet().stream()
+                .filter(entry -> other.containers.containsKey(entry.getKey()))
+                .mapToLong(entry -> entry.getValue().andCardinality(other.containers.get(entry.getKey())))
+                .sum();
+    }
+
+    public static CompressedBitmap or(Collection<CompressedBitmap> bitmaps) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (CompressedBitmap bitmap : bitmaps) {
+            bitmap.containers.forEach((high, container) -> result.containers.merge(high, container.copy(), Container::or));
+        }
+        return result;
+    }
+
+    public static CompressedBitmap and(Collection<CompressedBitmap> bitmaps) {
+        CompressedBitmap result = new CompressedBitmap();
+        if (bitmaps.isEmpty()) {
+            return result;
+        }
+        List<CompressedBitmap> bitmapsBySize = bitmaps.stream()
+                .sorted(Comparator.comparingInt(bitmap -> bitmap.containers.size()))
+                .collect(Collectors.toList());
+        Iterator<CompressedBitmap> iterator = bitmapsBySize.iterator();
+        iterator.next().containers.forEach((high, container) -> result.containers.put(high, container.copy()));
+        while (iterator.hasNext() && !result.isEmpty()) {
+            CompressedBitmap bitmap = iterator.next();
+            Iterator<Map.Entry<Integer, Container>> resultIterator = result.containers.entrySet().iterator();
+            while (resultIterator.hasNext()) {
+                Map.Entry<Integer, Container> entry = resultIterator.next();
+                Container other = bitmap.containers.get(entry.getKey());
+                Container intersection = other == null ? null : entry.getValue().and(other);
+                if (intersection == null || intersection.getCardinality() == 0) {
+                    resultIterator.remove();
+                } else {
+                    entry.setValue(intersection);
+                }
+            }
+        }
+        return result;
+    }
+
+    private abstract static class Container {
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int getCardinality();
+
+        abstract void forEach(IntConsumer consumer);
+
+        abstract long[] toWords();
+
+        abstract Container copy();
+
+        Container or(Container other) {
+            if (this instanceof ArrayContainer && other instanceof ArrayContainer
+                    && getCardinality() + other.getCardinality() <= ARRAY_CONTAINER_MAX_SIZE) {
+                ArrayContainer result = new ArrayContainer();
+                forEach(value -> result.add((char) value));
+                other.forEach(value -> result.add((char) value));
+                return result;
+            }
+            long[] words = toWords();
+            long[] otherWords = other.toWords();
+            for (int i = 0; i < BITMAP_CONTAINER_WORDS; i++) {
+                words[i] |= otherWords[i];
+            }
+            return BitmapContainer.of(words);
+        }
+
+        Container and(Container other) {
+            if (this instanceof ArrayContainer || other instanceof ArrayContainer) {
+                Container smaller = this instanceof ArrayContainer ? this : other;
+                Container larger = smaller == this ? other : this;
+                ArrayContainer result = new ArrayContainer();
+                smaller.forEach(value -> {
+                    if (larger.contains((char) value)) {
+                        result.add((char) value);
+                    }
+                });
+                return result;
+            }
+            long[] words = toWords();
+            long[] otherWords = other.toWords();
+            for (int i = 0; i < BITMAP_CONTAINER_WORDS; i++) {
+                words[i] &= otherWords[i];
+            }
+            return BitmapContainer.of(words);
+        }
+
+        int andCardinality(Container other) {
+            if (this instanceof ArrayContainer || other instanceof ArrayContainer) {
+                ArrayContainer smaller = (ArrayContainer) (this instanceof ArrayContainer ? this : other);
+                Container larger = smaller == this ? other : this;
+                int cardinality = 0;
+                for (int i = 0; i < smaller.size; i++) {
+                    if (larger.contains(smaller.values[i])) {
+                        cardinality++;
+                    }
+                }
+                return cardinality;
+            }
+            long[] words = ((BitmapContainer) this).words;
+            long[] otherWords = ((BitmapContainer) other).words;
+            int cardinality = 0;
+            for (int i = 0; i < BITMAP_CONTAINER_WORDS; i++) {
+                cardinality += Long.bitCount(words[i] & otherWords[i]);
+            }
+            return cardinality;
+        }
+
+    }
+
+    private static class ArrayContainer extends Container {
+
+        private char[] values = new char[4];
+        private int size;
+
+        @Override
+        Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (size == ARRAY_CONTAINER_MAX_SIZE) {
+                return new BitmapContainer(toWords(), size).add(value);
+            }
+            int insertionPoint = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(values.length * 2, ARRAY_CONTAINER_MAX_SIZE));
+            }
+            System.arraycopy(values, insertionPoint, values, insertionPoint + 1, size - insertionPoint);
+            values[insertionPoint] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        int getCardinality() {
+            return size;
+        }
+
+        @Override
+        void forEach(IntConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(values[i]);
+            }
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[BITMAP_CONTAINER_WORDS];
+            for (int i = 0; i < size; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return words;
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer copy = new ArrayContainer();
+            copy.values = Arrays.copyOf(values, values.length);
+            copy.size = size;
+            return copy;
+        }
+
+    }
+
+    private static class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        static Container of(long[] words) {
+            int cardinality = Arrays.stream(words).mapToInt(Long::bitCount).sum();
+            BitmapContainer bitmapContainer = new BitmapContainer(words, cardinality);
+            return cardinality > ARRAY_CONTAINER_MAX_SIZE ? bitmapContainer : bitmapContainer.toArrayContainer();
+        }
+
+        @Override
+        Container add(char value) {
+            if (!contains(value)) {
+                words[value >>> 6] |= 1L << value;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            if (!contains(value)) {
+                return this;
+            }
+            words[value >>> 6] &= ~(1L << value);
+            cardinality--;
+            return cardinality > ARRAY_CONTAINER_MAX_SIZE ? this : toArrayContainer();
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        int getCardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(IntConsumer consumer) {
+            for (int i = 0; i < BITMAP_CONTAINER_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    consumer.accept(i << 6 | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        long[] toWords() {
+            return words.clone();
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(toWords(), cardinality);
+        }
+
+        private ArrayContainer toArrayContainer() {
+            ArrayContainer arrayContainer = new ArrayContainer();
+            forEach(value -> arrayContainer.add((char) value));
+            return arrayContainer;
+        }
+
+    }
+
+}
@@ -4,15 +4,23 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 @EnableAsync
+@EnableScheduling
 @Configuration
 public class ExecutorConfiguration {
 
     private static final int CORE_POOL_SIZE = 100;
     private static final int MAX_POOL_SIZE = 200;
     private static final int QUEUE_CAPACITY = 2000;
+    private static final int STORAGE_TRANSFER_POOL_SIZE = 32;
+    private static final int STORAGE_TRANSFER_QUEUE_CAPACITY = 1000;
+    private static final int ARCHIVE_COMPRESSION_QUEUE_CAPACITY = 1000;
+    private static final int TEXT_INDEX_QUEUE_CAPACITY = 10000;
 
     @Bean
     public AsyncTaskExecutor customizedThreadPoolExecutor() {
@@ -24,4 +32,38 @@ public class ExecutorConfiguration {
         return executor;
     }
 
+    @Bean
+    public AsyncTaskExecutor storageTransferExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(STORAGE_TRANSFER_POOL_SIZE);
+        executor.setMaxPoolSize(STORAGE_TRANSFER_POOL_SIZE);
+        executor.setQueueCapacity(STORAGE_TRANSFER_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("storage-transfer-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public AsyncTaskExecutor archiveCompressionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Runtime.getRuntime().availableProcessors());
+        executor.setMaxPoolSize(Runtime.getRuntime().availableProcessors());
+        executor.setQueueCapacity(ARCHIVE_COMPRESSION_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("archive-compression-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public AsyncTaskExecutor textIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(TEXT_INDEX_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("text-index-");
+        executor.initialize();
+        return executor;
+    }
+
 }
@@ -1,11 +1,11 @@
 package com.awscourse.filesmanagementsystem.infrastructure.event.crud.bulk;
 
-import com.awscourse.filesmanagementsystem.infrastructure.event.crud.single.AbstractEvent;
+import java.util.List;
 
-public class BulkCreateEvent<T> extends AbstractEvent<T> {
+public class BulkCreateEvent<T> extends BulkAbstractEvent<T> {
 
-    public BulkCreateEvent(Object source, T affectedObject) {
-        super(source, affectedObject);
+    public BulkCreateEvent(Object source, List<T> relatedObjects) {
+        super(source, relatedObjects);
     }
 
 }
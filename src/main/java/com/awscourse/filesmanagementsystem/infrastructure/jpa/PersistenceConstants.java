@@ -6,5 +6,6 @@ import lombok.experimental.UtilityClass;
 public class PersistenceConstants {
 
     public static final String ID_GENERATOR = "ID_GENERATOR";
+    public static final String STREAM_FETCH_SIZE = "" + Integer.MIN_VALUE;
 
 }
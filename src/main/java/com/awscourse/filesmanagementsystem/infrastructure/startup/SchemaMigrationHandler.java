@@ -0,0 +1,146 @@
+package com.awscourse.filesmanagementsystem.infrastructure.startup;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class SchemaMigrationHandler implements SmartInitializingSingleton {
+
+    private static final Pattern MIGRATION_FILENAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String MIGRATION_LOCK = "schema_migration";
+    private static final int MIGRATION_LOCK_TIMEOUT_SECONDS = 300;
+    private static final String CREATE_HISTORY_TABLE = "CREATE TABLE IF NOT EXISTS schema_migration ("
+            + "version INT NOT NULL PRIMARY KEY, description VARCHAR(255) NOT NULL, checksum CHAR(64) NOT NULL, applied_at TIMESTAMP NOT NULL)";
+    private static final String SELECT_APPLIED_MIGRATIONS = "SELECT version, checksum FROM schema_migration";
+    private static final String INSERT_APPLIED_MIGRATION = "INSERT INTO schema_migration (version, description, checksum, applied_at) VALUES (?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final String location;
+    private final ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+
+    public SchemaMigrationHandler(DataSource dataSource,
+                                  @Value("${app.schema-migration.location}") String location) {
+        this.dataSource = dataSource;
+        this.location = location;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            migrate();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Cannot apply schema migrations", exception);
+        }
+    }
+
+    public void migrate() throws IOException, SQLException {
+        List<Migration> migrations = getMigrations();
+        try (Connection connection = dataSource.getConnection()) {
+            SingleConnectionDataSource migrationDataSource = new SingleConnectionDataSource(connection, true);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(migrationDataSource);
+            acquireLock(jdbcTemplate);
+            try {
+                jdbcTemplate.execute(CREATE_HISTORY_TABLE);
+                Map<Integer, String> appliedChecksums = getAppliedChecksums(jdbcTemplate);
+                for (Migration migration : migrations) {
+                    String appliedChecksum = appliedChecksums.get(migration.getVersion());
+                    if (appliedChecksum == null) {
+                        apply(migration, migrationDataSource, jdbcTemplate);
+                    } else if (!appliedChecksum.equals(migration.getChecksum())) {
+                        throw new IllegalStateException(MessageFormat.format("Migration {0} was modified after it had been applied", migration.getFilename()));
+                    }
+                }
+            } finally {
+                jdbcTemplate.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, MIGRATION_LOCK);
+            }
+        }
+    }
+
+    private void acquireLock(JdbcTemplate jdbcTemplate) {
+        Integer locked = jdbcTemplate.queryForObject("SELECT GET_LOCK(?, ?)", Integer.class, MIGRATION_LOCK, MIGRATION_LOCK_TIMEOUT_SECONDS);
+        if (!Objects.equals(locked, 1)) {
+            throw new IllegalStateException("Cannot acquire schema migration lock");
+        }
+    }
+
+    private Map<Integer, String> getAppliedChecksums(JdbcTemplate jdbcTemplate) {
+        Map<Integer, String> appliedChecksums = new HashMap<>();
+        jdbcTemplate.query(SELECT_APPLIED_MIGRATIONS, resultSet -> {
+            appliedChecksums.put(resultSet.getInt(1), resultSet.getString(2));
+        });
+        return appliedChecksums;
+    }
+
+    private void apply(Migration migration, DataSource migrationDataSource, JdbcTemplate jdbcTemplate) {
+        log.info("Applying schema migration {}", migration.getFilename());
+        new ResourceDatabasePopulator(migration.getResource()).execute(migrationDataSource);
+        jdbcTemplate.update(INSERT_APPLIED_MIGRATION, migration.getVersion(), migration.getDescription(), migration.getChecksum(), Timestamp.from(Instant.now()));
+    }
+
+    List<Migration> getMigrations() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        for (Resource resource : resourcePatternResolver.getResources(location + "/V*__*.sql")) {
+            Matcher matcher = MIGRATION_FILENAME.matcher(Objects.requireNonNull(resource.getFilename()));
+            if (!matcher.matches()) {
+                throw new IllegalStateException(MessageFormat.format("Invalid migration filename {0}", resource.getFilename()));
+            }
+            migrations.add(new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '), resource.getFilename(), getChecksum(resource), resource));
+        }
+        migrations.sort(Comparator.comparingInt(Migration::getVersion));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).getVersion() == migrations.get(i - 1).getVersion()) {
+                throw new IllegalStateException(MessageFormat.format("Duplicated migration version {0}", migrations.get(i).getVersion()));
+            }
+        }
+        return migrations;
+    }
+
+    private String getChecksum(Resource resource) throws IOException {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return DigestUtils.sha256Hex(inputStream);
+        }
+    }
+
+    @Data
+    static class Migration {
+
+        private final int version;
+        private final String description;
+        private final String filename;
+        private final String checksum;
+        private final Resource resource;
+
+    }
+
+}
@@ -0,0 +1,5 @@
+CREATE INDEX file_object_state_path_idx ON file (object_state, path);
+CREATE INDEX file_object_state_name_idx ON file (object_state, name);
+CREATE INDEX file_object_state_size_idx ON file (object_state, size);
+CREATE INDEX file_object_state_created_at_idx ON file (object_state, created_at);
+CREATE INDEX file_object_state_updated_at_idx ON file (object_state, updated_at);
@@ -0,0 +1,9 @@
+SET @drop_file_url_unique_index = (SELECT IFNULL(MAX(CONCAT('ALTER TABLE file DROP INDEX `', url_index.index_name, '`')), 'DO 0')
+    FROM information_schema.statistics url_index
+    WHERE url_index.table_schema = DATABASE() AND url_index.table_name = 'file' AND url_index.column_name = 'url' AND url_index.non_unique = 0
+    AND NOT EXISTS (SELECT 1 FROM information_schema.statistics other_column
+        WHERE other_column.table_schema = url_index.table_schema AND other_column.table_name = url_index.table_name
+        AND other_column.index_name = url_index.index_name AND other_column.column_name <> 'url'));
+PREPARE drop_file_url_unique_index FROM @drop_file_url_unique_index;
+EXECUTE drop_file_url_unique_index;
+DEALLOCATE PREPARE drop_file_url_unique_index;
@@ -0,0 +1,149 @@
+package com.awscourse.filesmanagementsystem.domain.archive;
+
+import com.awscourse.filesmanagementsystem.domain.archive.boundary.ArchiveJobCreatedEvent;
+import com.awscourse.filesmanagementsystem.domain.archive.control.ArchiveJobRepository;
+import com.awscourse.filesmanagementsystem.domain.archive.control.ArchiveJobService;
+import com.awscourse.filesmanagementsystem.domain.archive.entity.ArchiveJob;
+import com.awscourse.filesmanagementsystem.domain.archive.entity.ArchiveJobStatus;
+import com.awscourse.filesmanagementsystem.domain.file.control.FileService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.StorageService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.url.StorageUrlProvider;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ArchiveJobService Test")
+@ExtendWith(MockitoExtension.class)
+public class ArchiveJobServiceTest {
+
+    private static final Long OWNER_ID = 7L;
+    private static final Instant UPDATED_AT = Instant.parse("2021-01-10T10:15:30Z");
+
+    private ArchiveJobService archiveJobService;
+    @Mock
+    private ArchiveJobRepository archiveJobRepository;
+    @Mock
+    private FileService fileService;
+    @Mock
+    private StorageService storageService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    public void setUp() {
+        archiveJobService = new ArchiveJobService(archiveJobRepository, fileService, storageService, new StorageUrlProvider("s3://bucket"),
+                eventPublisher, Duration.ofHours(24), Duration.ofHours(1));
+    }
+
+    @Test
+    public void existingJobIsReusedForSameFilesTest() {
+        ArchiveJob existingJob = ArchiveJob.builder().id(10L).status(ArchiveJobStatus.COMPLETED).build();
+        when(fileService.getFilesByIds(List.of(2L, 1L))).thenReturn(List.of(createFile(2L), createFile(1L)));
+        when(archiveJobRepository.findFirstByCacheKeyAndOwnerIdAndStatusInAndExpiresAtAfterOrderByCreatedAtDesc(anyString(), eq(OWNER_ID), anyCollection(), any()))
+                .thenReturn(Optional.of(existingJob));
+
+        Assertions.assertSame(existingJob, archiveJobService.submitJob(List.of(2L, 1L), OWNER_ID));
+        verify(archiveJobRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void cacheKeyDoesNotDependOnFilesOrderTest() {
+        when(fileService.getFilesByIds(List.of(1L, 2L))).thenReturn(List.of(createFile(1L), createFile(2L)));
+        when(fileService.getFilesByIds(List.of(2L, 1L))).thenReturn(List.of(createFile(2L), createFile(1L)));
+        when(archiveJobRepository.findFirstByCacheKeyAndOwnerIdAndStatusInAndExpiresAtAfterOrderByCreatedAtDesc(anyString(), eq(OWNER_ID), anyCollection(), any()))
+                .thenReturn(Optional.empty());
+        when(archiveJobRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ArchiveJob first = archiveJobService.submitJob(List.of(1L, 2L), OWNER_ID);
+        ArchiveJob second = archiveJobService.submitJob(List.of(2L, 1L), OWNER_ID);
+
+        Assertions.assertEquals(first.getCacheKey(), second.getCacheKey());
+        Assertions.assertNotEquals(first.getUrl(), second.getUrl());
+    }
+
+    @Test
+    public void newJobIsCreatedAndAnnouncedTest() {
+        when(fileService.getFilesByIds(List.of(1L, 2L))).thenReturn(List.of(createFile(1L), createFile(2L)));
+        when(archiveJobRepository.findFirstByCacheKeyAndOwnerIdAndStatusInAndExpiresAtAfterOrderByCreatedAtDesc(anyString(), eq(OWNER_ID), anyCollection(), any()))
+                .thenReturn(Optional.empty());
+        when(archiveJobRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ArchiveJob job = archiveJobService.submitJob(List.of(1L, 2L), OWNER_ID);
+
+        Assertions.assertEquals(ArchiveJobStatus.PENDING, job.getStatus());
+        Assertions.assertEquals(2, job.getFileCount());
+        Assertions.assertEquals(OWNER_ID, job.getOwnerId());
+        Assertions.assertEquals(Set.of(1L, 2L), job.getFileIds());
+        Assertions.assertTrue(job.getUrl().toString().startsWith("s3://bucket/archives/"));
+        ArgumentCaptor<ArchiveJobCreatedEvent> eventCaptor = ArgumentCaptor.forClass(ArchiveJobCreatedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        Assertions.assertEquals(List.of(1L, 2L), eventCaptor.getValue().getFileIds());
+    }
+
+    @Test
+    public void jobForNonExistingFilesIsRejectedTest() {
+        when(fileService.getFilesByIds(List.of(1L, 2L))).thenReturn(List.of(createFile(1L)));
+
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> archiveJobService.submitJob(List.of(1L, 2L), OWNER_ID));
+    }
+
+    @Test
+    public void jobOfDifferentOwnerIsNotFoundTest() {
+        when(archiveJobRepository.findByIdAndOwnerId(10L, OWNER_ID)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> archiveJobService.getJob(10L, OWNER_ID));
+    }
+
+    @Test
+    public void jobWithRemovedFilesIsNotAvailableTest() {
+        ArchiveJob job = ArchiveJob.builder().id(10L).ownerId(OWNER_ID).fileIds(Set.of(1L, 2L)).status(ArchiveJobStatus.COMPLETED).build();
+        when(archiveJobRepository.findByIdAndOwnerId(10L, OWNER_ID)).thenReturn(Optional.of(job));
+        when(fileService.getFilesByIds(Set.of(1L, 2L))).thenReturn(List.of(createFile(1L)));
+
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> archiveJobService.getJob(10L, OWNER_ID));
+    }
+
+    @Test
+    public void expiredJobsAreDeletedTogetherWithArchivesTest() {
+        ArchiveJob expiredJob = ArchiveJob.builder().id(10L).url(URI.create("s3://bucket/archives/archive.zip")).build();
+        when(archiveJobRepository.findAllByExpiresAtBefore(any())).thenReturn(List.of(expiredJob));
+
+        archiveJobService.deleteExpiredJobs();
+
+        verify(storageService).deleteResources(List.of(expiredJob.getUrl()));
+        verify(archiveJobRepository).deleteAll(List.of(expiredJob));
+    }
+
+    private File createFile(Long id) {
+        return File.builder()
+                .id(id)
+                .url(URI.create("s3://bucket/content/" + id + ".txt"))
+                .updatedAt(UPDATED_AT)
+                .build();
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.AmazonS3MetadataProbe;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ResourceMetadata;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("AmazonS3MetadataProbe Test")
+@ExtendWith(MockitoExtension.class)
+public class AmazonS3MetadataProbeTest {
+
+    private static final URI EXISTING_URL = URI.create("s3://bucket/content/existing.txt");
+    private static final URI MISSING_URL = URI.create("s3://bucket/content/missing.txt");
+
+    @Mock
+    private AmazonS3 amazonS3;
+
+    @Test
+    public void metadataOfEachUniqueUrlIsProbedOnceTest() {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(42);
+        metadata.setHeader("ETag", "etag");
+        AmazonS3Exception notFound = new AmazonS3Exception("Not Found");
+        notFound.setStatusCode(404);
+        when(amazonS3.getObjectMetadata("bucket", "content/existing.txt")).thenReturn(metadata);
+        when(amazonS3.getObjectMetadata("bucket", "content/missing.txt")).thenThrow(notFound);
+
+        Map<URI, ResourceMetadata> metadataByUrl = createProbe(2, Duration.ofSeconds(5))
+                .probe(List.of(EXISTING_URL, MISSING_URL, EXISTING_URL));
+
+        Assertions.assertEquals(new ResourceMetadata(true, 42, "etag"), metadataByUrl.get(EXISTING_URL));
+        Assertions.assertFalse(metadataByUrl.get(MISSING_URL).isExists());
+        verify(amazonS3, times(1)).getObjectMetadata("bucket", "content/existing.txt");
+    }
+
+    @Test
+    public void probesInFlightAreCappedTest() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(amazonS3.getObjectMetadata(anyString(), anyString())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return new ObjectMetadata();
+        });
+
+        createProbe(2, Duration.ofSeconds(5)).probe(List.of(URI.create("s3://bucket/a"), URI.create("s3://bucket/b"),
+                URI.create("s3://bucket/c"), URI.create("s3://bucket/d"), URI.create("s3://bucket/e")));
+
+        Assertions.assertTrue(maxInFlight.get() <= 2);
+    }
+
+    @Test
+    public void slowProbesTimeOutTest() {
+        when(amazonS3.getObjectMetadata(anyString(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return new ObjectMetadata();
+        });
+
+        AmazonS3MetadataProbe probe = createProbe(1, Duration.ofMillis(50));
+
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> probe.probe(List.of(EXISTING_URL, MISSING_URL)));
+    }
+
+    private AmazonS3MetadataProbe createProbe(int maxProbesInFlight, Duration timeout) {
+        return new AmazonS3MetadataProbe(amazonS3, new SimpleAsyncTaskExecutor(), maxProbesInFlight, timeout);
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.AmazonS3MultipartUploader;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("AmazonS3MultipartUploader Test")
+@ExtendWith(MockitoExtension.class)
+public class AmazonS3MultipartUploaderTest {
+
+    private static final int PART_SIZE = 1024;
+    private static final URI URL = URI.create("s3://bucket/user/file.bin");
+
+    private AmazonS3MultipartUploader uploader;
+    @Mock
+    private AmazonS3 amazonS3;
+
+    @BeforeEach
+    public void setUp() {
+        uploader = new AmazonS3MultipartUploader(amazonS3, new SimpleAsyncTaskExecutor(), DataSize.ofBytes(PART_SIZE), 2, 2);
+    }
+
+    @Test
+    public void smallContentIsUploadedWithSinglePutTest() {
+        uploader.upload(new ByteArrayInputStream(new byte[PART_SIZE - 1]), URL);
+
+        verify(amazonS3).putObject(any(PutObjectRequest.class));
+        verify(amazonS3, never()).initiateMultipartUpload(any());
+    }
+
+    @Test
+    public void largeContentIsSplitIntoOrderedPartsTest() {
+        mockInitiateMultipartUpload();
+        when(amazonS3.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> getUploadPartResult(invocation.getArgument(0)));
+
+        uploader.upload(new ByteArrayInputStream(new byte[PART_SIZE * 3 + 10]), URL);
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> completeRequest = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(amazonS3).completeMultipartUpload(completeRequest.capture());
+        Assertions.assertEquals("bucket", completeRequest.getValue().getBucketName());
+        Assertions.assertEquals("user/file.bin", completeRequest.getValue().getKey());
+        Assertions.assertEquals(List.of(1, 2, 3, 4), completeRequest.getValue().getPartETags().stream()
+                .map(PartETag::getPartNumber)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void failedPartIsRetriedTest() {
+        mockInitiateMultipartUpload();
+        when(amazonS3.uploadPart(any(UploadPartRequest.class)))
+                .thenThrow(new AmazonClientException("Connection reset"))
+                .thenAnswer(invocation -> getUploadPartResult(invocation.getArgument(0)));
+
+        uploader.upload(new ByteArrayInputStream(new byte[PART_SIZE]), URL);
+
+        verify(amazonS3, times(2)).uploadPart(any(UploadPartRequest.class));
+        verify(amazonS3).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    public void uploadIsAbortedWhenPartFailsPermanentlyTest() {
+        mockInitiateMultipartUpload();
+        when(amazonS3.uploadPart(any(UploadPartRequest.class))).thenThrow(new AmazonClientException("Connection reset"));
+
+        Assertions.assertThrows(IllegalArgumentAppException.class,
+                () -> uploader.upload(new ByteArrayInputStream(new byte[PART_SIZE]), URL));
+
+        verify(amazonS3).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(amazonS3, never()).completeMultipartUpload(any());
+    }
+
+    private void mockInitiateMultipartUpload() {
+        InitiateMultipartUploadResult initiateResult = new InitiateMultipartUploadResult();
+        initiateResult.setUploadId("upload-id");
+        when(amazonS3.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiateResult);
+    }
+
+    private UploadPartResult getUploadPartResult(UploadPartRequest request) {
+        UploadPartResult result = new UploadPartResult();
+        result.setPartNumber(request.getPartNumber());
+        result.setETag("etag-" + request.getPartNumber());
+        return result;
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.CachingStorageService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.StorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.lenient;
+
+@DisplayName("CachingStorageService Test")
+@ExtendWith(MockitoExtension.class)
+public class CachingStorageServiceTest {
+
+    private static final URI URL = URI.create("s3://bucket/content/hash.txt");
+    private static final byte[] CONTENT = "cached content".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private StorageService delegate;
+    private AtomicInteger storageReads;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        storageReads = new AtomicInteger();
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(delegate.getResource(URL)).thenAnswer(invocation -> new ByteArrayResource(CONTENT) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                storageReads.incrementAndGet();
+                return super.getInputStream();
+            }
+        });
+    }
+
+    @Test
+    public void repeatedReadIsServedFromLocalCopyTest() throws IOException {
+        CachingStorageService storageService = createStorageService(DataSize.ofKilobytes(1));
+
+        Assertions.assertArrayEquals(CONTENT, read(storageService.getResource(URL)));
+        Assertions.assertArrayEquals(CONTENT, read(storageService.getResource(URL)));
+
+        Assertions.assertEquals(1, storageReads.get());
+        Assertions.assertEquals(CONTENT.length, meterRegistry.get("storage.cache.bytes").gauge().value());
+        Assertions.assertEquals(0.5, meterRegistry.get("storage.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    public void deletedResourceIsInvalidatedTest() throws IOException {
+        CachingStorageService storageService = createStorageService(DataSize.ofKilobytes(1));
+        read(storageService.getResource(URL));
+
+        storageService.deleteResources(List.of(URL));
+        read(storageService.getResource(URL));
+
+        Assertions.assertEquals(2, storageReads.get());
+    }
+
+    @Test
+    public void oversizedResourceIsNotCachedTest() throws IOException {
+        CachingStorageService storageService = createStorageService(DataSize.ofBytes(1));
+
+        read(storageService.getResource(URL));
+        read(storageService.getResource(URL));
+
+        Assertions.assertEquals(2, storageReads.get());
+    }
+
+    @Test
+    public void partiallyReadResourceIsNotCachedTest() throws IOException {
+        CachingStorageService storageService = createStorageService(DataSize.ofKilobytes(1));
+
+        try (InputStream inputStream = storageService.getResource(URL).getInputStream()) {
+            inputStream.read();
+        }
+        read(storageService.getResource(URL));
+
+        Assertions.assertEquals(2, storageReads.get());
+        Assertions.assertEquals(CONTENT.length, meterRegistry.get("storage.cache.bytes").gauge().value());
+    }
+
+    @Test
+    public void onlyFilesCreatedByCacheAreRemovedOnStartupTest() throws IOException {
+        Path cacheDirectory = Files.createDirectories(directory.resolve("cache"));
+        Path foreignFile = Files.createFile(cacheDirectory.resolve("foreign.txt"));
+        Path leftoverCopy = Files.createFile(cacheDirectory.resolve("leftover.cache"));
+
+        createStorageService(DataSize.ofKilobytes(1));
+
+        Assertions.assertTrue(Files.exists(foreignFile));
+        Assertions.assertFalse(Files.exists(leftoverCopy));
+    }
+
+    private CachingStorageService createStorageService(DataSize maxObjectSize) {
+        return new CachingStorageService(delegate, directory.resolve("cache"), DataSize.ofMegabytes(1), maxObjectSize, meterRegistry);
+    }
+
+    private byte[] read(Resource resource) throws IOException {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+}
@@ -0,0 +1,293 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.domain.file.boundary.ContentBlobBulkDeletedEvent;
+import com.awscourse.filesmanagementsystem.domain.file.control.ContentBlobRepository;
+import com.awscourse.filesmanagementsystem.domain.file.control.ContentBlobService;
+import com.awscourse.filesmanagementsystem.domain.file.control.ContentBlobUploadRepository;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.CompressionPolicy;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ContentCodecStreams;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.StorageService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.url.StorageUrlProvider;
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentBlob;
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentBlobUpload;
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentCodec;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ContentBlobService Test")
+@ExtendWith(MockitoExtension.class)
+public class ContentBlobServiceTest {
+
+    private static final URI URL = URI.create("s3://bucket/content/hash.txt");
+    private static final Long OWNER_ID = 1L;
+    private static final Duration UNREFERENCED_TIME_TO_LIVE = Duration.ofHours(24);
+
+    private ContentBlobService contentBlobService;
+    private Map<String, ContentBlob> storedBlobsByHash;
+    @Mock
+    private ContentBlobRepository contentBlobRepository;
+    @Mock
+    private ContentBlobUploadRepository contentBlobUploadRepository;
+    @Mock
+    private StorageService storageService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    public void setUp() {
+        contentBlobService = new ContentBlobService(contentBlobRepository, contentBlobUploadRepository, storageService, new StorageUrlProvider("s3://bucket"),
+                new CompressionPolicy(true, List.of(MediaType.parseMediaType("text/*"))), eventPublisher, UNREFERENCED_TIME_TO_LIVE);
+        storedBlobsByHash = new HashMap<>();
+        lenient().when(contentBlobRepository.insertIfAbsent(anyString(), anyString(), anyLong(), anyString(), any(), any())).thenAnswer(invocation -> {
+            String hash = invocation.getArgument(0);
+            storedBlobsByHash.putIfAbsent(hash, new ContentBlob(hash, URI.create(invocation.getArgument(1)), invocation.getArgument(2),
+                    ContentCodec.valueOf(invocation.getArgument(3)), invocation.getArgument(4), 0, invocation.getArgument(5)));
+            return 1;
+        });
+        lenient().when(contentBlobRepository.findLockedByHashIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> hashes = invocation.getArgument(0);
+            return hashes.stream()
+                    .filter(storedBlobsByHash::containsKey)
+                    .map(storedBlobsByHash::get)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    public void identicalContentIsStoredOnceTest() {
+        when(contentBlobRepository.findAllById(any())).thenReturn(List.of());
+
+        List<URI> urls = contentBlobService.saveResources(List.of(createResource("a.txt", "content"), createResource("b.txt", "content")), OWNER_ID);
+
+        Assertions.assertEquals(2, urls.size());
+        Assertions.assertEquals(urls.get(0), urls.get(1));
+        ArgumentCaptor<Map<URI, Resource>> resourcesCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(storageService).saveResources(resourcesCaptor.capture());
+        Assertions.assertEquals(1, resourcesCaptor.getValue().size());
+    }
+
+    @Test
+    public void compressibleContentIsStoredCompressedTest() throws IOException {
+        when(contentBlobRepository.findAllById(any())).thenReturn(List.of());
+
+        URI url = contentBlobService.saveResources(List.of(createResource("a.txt", "content")), OWNER_ID).get(0);
+
+        ArgumentCaptor<Map<URI, Resource>> resourcesCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(storageService).saveResources(resourcesCaptor.capture());
+        try (InputStream inputStream = ContentCodecStreams.decode(ContentCodec.GZIP, resourcesCaptor.getValue().get(url).getInputStream())) {
+            Assertions.assertEquals("content", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        ContentBlob storedBlob = storedBlobsByHash.values().iterator().next();
+        Assertions.assertEquals(ContentCodec.GZIP, storedBlob.getCodec());
+        Assertions.assertEquals(7, storedBlob.getSize());
+    }
+
+    @Test
+    public void incompressibleContentIsStoredRawTest() {
+        when(contentBlobRepository.findAllById(any())).thenReturn(List.of());
+        Resource resource = createResource("a.png", "content");
+
+        URI url = contentBlobService.saveResources(List.of(resource), OWNER_ID).get(0);
+
+        verify(storageService).saveResources(Map.of(url, resource));
+    }
+
+    @Test
+    public void alreadyStoredContentIsNotUploadedAgainTest() {
+        Resource resource = createResource("a.txt", "content");
+        when(contentBlobRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<String> hashes = invocation.getArgument(0);
+            ContentBlob blob = new ContentBlob(hashes.iterator().next(), URL, 7, ContentCodec.NONE, null, 1, null);
+            storedBlobsByHash.put(blob.getHash(), blob);
+            return List.of(blob);
+        });
+
+        List<URI> urls = contentBlobService.saveResources(List.of(resource), OWNER_ID);
+
+        Assertions.assertEquals(List.of(URL), urls);
+        verify(storageService).saveResources(Map.of());
+        verify(contentBlobRepository, never()).insertIfAbsent(anyString(), anyString(), anyLong(), anyString(), any(), any());
+    }
+
+    @Test
+    public void contentStoredByConcurrentUploadIsUsedAndOwnCopyIsDeletedTest() {
+        when(contentBlobRepository.findAllById(any())).thenReturn(List.of());
+        doAnswer(invocation -> {
+            String hash = invocation.getArgument(0);
+            storedBlobsByHash.put(hash, new ContentBlob(hash, URL, 7, ContentCodec.NONE, null, 0, Instant.now()));
+            return 0;
+        }).when(contentBlobRepository).insertIfAbsent(anyString(), anyString(), anyLong(), anyString(), any(), any());
+
+        List<URI> urls = contentBlobService.saveResources(List.of(createResource("a.png", "content")), OWNER_ID);
+
+        Assertions.assertEquals(List.of(URL), urls);
+        ArgumentCaptor<Map<URI, Resource>> resourcesCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(storageService).saveResources(resourcesCaptor.capture());
+        verify(storageService).deleteResources(List.copyOf(resourcesCaptor.getValue().keySet()));
+    }
+
+    @Test
+    public void stagedContentRacingWithCompressedUploadKeepsItsOwnKeyTest() {
+        URI stagingUrl = URI.create("s3://bucket/staging/upload.txt");
+        when(contentBlobRepository.existsById(anyString())).thenReturn(false);
+        when(storageService.getResource(stagingUrl)).thenReturn(createResource("a.txt", "content"));
+        doAnswer(invocation -> {
+            String hash = invocation.getArgument(0);
+            storedBlobsByHash.put(hash, new ContentBlob(hash, URL, 7, ContentCodec.GZIP, null, 0, Instant.now()));
+            return 0;
+        }).when(contentBlobRepository).insertIfAbsent(anyString(), anyString(), anyLong(), anyString(), any(), any());
+
+        URI url = contentBlobService.saveStagedResource("a.txt", stagingUrl, OWNER_ID);
+
+        Assertions.assertEquals(URL, url);
+        ArgumentCaptor<URI> movedUrlCaptor = ArgumentCaptor.forClass(URI.class);
+        verify(storageService).moveResource(eq(stagingUrl), movedUrlCaptor.capture());
+        Assertions.assertNotEquals(URL, movedUrlCaptor.getValue());
+        verify(storageService).deleteResources(List.of(movedUrlCaptor.getValue()));
+    }
+
+    @Test
+    public void contentUploadedAgainAfterBlobRemovalIsStoredUnderNewUrlTest() {
+        when(contentBlobRepository.findAllById(any())).thenReturn(List.of());
+        URI removedUrl = contentBlobService.saveResources(List.of(createResource("a.png", "content")), OWNER_ID).get(0);
+        storedBlobsByHash.clear();
+
+        URI url = contentBlobService.saveResources(List.of(createResource("a.png", "content")), OWNER_ID).get(0);
+
+        Assertions.assertNotEquals(removedUrl, url);
+    }
+
+    @Test
+    public void uploadIsRecordedForOwnerTest() {
+        when(contentBlobRepository.findAllById(any())).thenReturn(List.of());
+
+        contentBlobService.saveResources(List.of(createResource("a.txt", "content")), OWNER_ID);
+
+        String hash = storedBlobsByHash.keySet().iterator().next();
+        verify(contentBlobRepository).updateLastUploadedAt(eq(Set.of(hash)), any());
+        verify(contentBlobUploadRepository).insertIfAbsent(hash, OWNER_ID);
+    }
+
+    @Test
+    public void contentNotUploadedByOwnerIsRejectedTest() {
+        when(contentBlobRepository.findLockedByUrlIn(anyCollection())).thenReturn(List.of(new ContentBlob("hash", URL, 7, ContentCodec.NONE, null, 1, null)));
+        when(contentBlobUploadRepository.findAllByIdOwnerIdAndIdHashIn(OWNER_ID, Set.of("hash"))).thenReturn(List.of());
+
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> contentBlobService.getUploadedBlobsByUrl(List.of(URL), OWNER_ID));
+    }
+
+    @Test
+    public void contentUploadedByOwnerIsReturnedTest() {
+        ContentBlob blob = new ContentBlob("hash", URL, 7, ContentCodec.NONE, null, 1, null);
+        when(contentBlobRepository.findLockedByUrlIn(anyCollection())).thenReturn(List.of(blob));
+        when(contentBlobUploadRepository.findAllByIdOwnerIdAndIdHashIn(OWNER_ID, Set.of("hash")))
+                .thenReturn(List.of(new ContentBlobUpload(new ContentBlobUpload.Id("hash", OWNER_ID))));
+
+        Assertions.assertEquals(Map.of(URL, blob), contentBlobService.getUploadedBlobsByUrl(List.of(URL), OWNER_ID));
+    }
+
+    @Test
+    public void missingContentIsRejectedTest() {
+        when(contentBlobRepository.findLockedByUrlIn(anyCollection())).thenReturn(List.of());
+
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> contentBlobService.getUploadedBlobsByUrl(List.of(URL), OWNER_ID));
+    }
+
+    @Test
+    public void urlOutsideOfManagedContentIsAcceptedWithoutBlobTest() {
+        when(contentBlobRepository.findLockedByUrlIn(anyCollection())).thenReturn(List.of());
+
+        Assertions.assertEquals(Map.of(), contentBlobService.getUploadedBlobsByUrl(List.of(URI.create("s3://bucket/directory/file.txt")), OWNER_ID));
+    }
+
+    @Test
+    public void unreferencedBlobsAreRemovedTest() {
+        ContentBlob blob = new ContentBlob("hash", URL, 7, ContentCodec.NONE, null, 0, Instant.now().minus(UNREFERENCED_TIME_TO_LIVE).minusSeconds(1));
+        when(contentBlobRepository.findAllByUrlInAndReferenceCountLessThanEqual(anyCollection(), anyLong())).thenReturn(List.of(blob));
+
+        contentBlobService.removeReferences(List.of(URL, URL));
+
+        verify(contentBlobRepository).updateReferenceCount(URL, -2);
+        verify(contentBlobUploadRepository).deleteAllByHashIn(Set.of("hash"));
+        verify(contentBlobRepository).deleteAll(List.of(blob));
+        verify(eventPublisher).publishEvent(any(ContentBlobBulkDeletedEvent.class));
+    }
+
+    @Test
+    public void recentlyUploadedUnreferencedBlobsAreKeptTest() {
+        ContentBlob blob = new ContentBlob("hash", URL, 7, ContentCodec.NONE, null, 0, Instant.now());
+        when(contentBlobRepository.findAllByUrlInAndReferenceCountLessThanEqual(anyCollection(), anyLong())).thenReturn(List.of(blob));
+
+        contentBlobService.removeReferences(List.of(URL));
+
+        verify(contentBlobRepository, never()).deleteAll(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void referencedBlobsAreKeptTest() {
+        when(contentBlobRepository.findAllByUrlInAndReferenceCountLessThanEqual(anyCollection(), eq(0L))).thenReturn(List.of());
+
+        contentBlobService.removeReferences(List.of(URL));
+
+        verify(contentBlobRepository, never()).deleteAll(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void expiredUnreferencedBlobsAreReapedTest() {
+        ContentBlob blob = new ContentBlob("hash", URL, 7, ContentCodec.NONE, null, 0, Instant.now().minus(UNREFERENCED_TIME_TO_LIVE).minusSeconds(1));
+        when(contentBlobRepository.findLockedUnreferencedUploadedBefore(any())).thenReturn(List.of(blob));
+
+        contentBlobService.deleteUnreferencedBlobs();
+
+        verify(contentBlobUploadRepository).deleteAllByHashIn(Set.of("hash"));
+        verify(contentBlobRepository).deleteAll(List.of(blob));
+        verify(eventPublisher).publishEvent(any(ContentBlobBulkDeletedEvent.class));
+    }
+
+    private Resource createResource(String filename, String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        };
+    }
+
+}
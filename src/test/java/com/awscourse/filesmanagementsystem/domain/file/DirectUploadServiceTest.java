@@ -0,0 +1,133 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.domain.file.control.ContentBlobService;
+import com.awscourse.filesmanagementsystem.domain.file.control.DirectUploadService;
+import com.awscourse.filesmanagementsystem.domain.file.control.DirectUploadSessionRepository;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.PresignedUrl;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ResourceMetadata;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.StorageService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.url.StorageUrlProvider;
+import com.awscourse.filesmanagementsystem.domain.file.entity.DirectUploadSession;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("DirectUploadService Test")
+@ExtendWith(MockitoExtension.class)
+public class DirectUploadServiceTest {
+
+    private static final URI URL = URI.create("s3://bucket/direct/upload-id.txt");
+    private static final URI CONTENT_URL = URI.create("s3://bucket/content/hash.txt");
+    private static final Long OWNER_ID = 1L;
+    private static final long SIZE = 7;
+
+    private DirectUploadService directUploadService;
+    @Mock
+    private DirectUploadSessionRepository directUploadSessionRepository;
+    @Mock
+    private ContentBlobService contentBlobService;
+    @Mock
+    private StorageService storageService;
+
+    @BeforeEach
+    public void setUp() {
+        directUploadService = new DirectUploadService(directUploadSessionRepository, contentBlobService, storageService,
+                new StorageUrlProvider("s3://bucket"), DataSize.ofKilobytes(1), Duration.ofHours(24));
+    }
+
+    @Test
+    public void preparedUploadIsSignedWithSizeAndBoundToOwnerTest() {
+        when(storageService.getPresignedUploadUrl(any(), eq(SIZE))).thenReturn(new PresignedUrl(URI.create("https://upload"), Instant.now()));
+
+        directUploadService.prepareDirectUpload("a.txt", SIZE, OWNER_ID);
+
+        ArgumentCaptor<DirectUploadSession> sessionCaptor = ArgumentCaptor.forClass(DirectUploadSession.class);
+        verify(directUploadSessionRepository).save(sessionCaptor.capture());
+        Assertions.assertEquals(OWNER_ID, sessionCaptor.getValue().getOwnerId());
+        Assertions.assertEquals(SIZE, sessionCaptor.getValue().getSize());
+    }
+
+    @Test
+    public void oversizedUploadIsRejectedTest() {
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> directUploadService.prepareDirectUpload("a.txt", 1025, OWNER_ID));
+
+        verify(storageService, never()).getPresignedUploadUrl(any(), anyLong());
+    }
+
+    @Test
+    public void uploadOfDifferentOwnerIsRejectedTest() {
+        when(directUploadSessionRepository.findLockedByUrlInAndOwnerId(anyCollection(), eq(OWNER_ID))).thenReturn(List.of());
+
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> directUploadService.completeDirectUploads(List.of(URL), OWNER_ID));
+
+        verify(contentBlobService, never()).saveStagedResource(any(), any(), any());
+    }
+
+    @Test
+    public void uploadedContentIsStoredAsHashedContentTest() {
+        DirectUploadSession session = createSession(null);
+        when(directUploadSessionRepository.findLockedByUrlInAndOwnerId(anyCollection(), eq(OWNER_ID))).thenReturn(List.of(session));
+        when(storageService.getResourcesMetadata(List.of(URL))).thenReturn(Map.of(URL, new ResourceMetadata(true, SIZE, "etag")));
+        when(contentBlobService.saveStagedResource("a.txt", URL, OWNER_ID)).thenReturn(CONTENT_URL);
+
+        Map<URI, URI> contentUrlsByUrl = directUploadService.completeDirectUploads(List.of(URL), OWNER_ID);
+
+        Assertions.assertEquals(Map.of(URL, CONTENT_URL), contentUrlsByUrl);
+        Assertions.assertEquals(CONTENT_URL, session.getContentUrl());
+    }
+
+    @Test
+    public void uploadWithUnexpectedSizeIsRejectedTest() {
+        when(directUploadSessionRepository.findLockedByUrlInAndOwnerId(anyCollection(), eq(OWNER_ID))).thenReturn(List.of(createSession(null)));
+        when(storageService.getResourcesMetadata(List.of(URL))).thenReturn(Map.of(URL, new ResourceMetadata(true, SIZE + 1, "etag")));
+
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> directUploadService.completeDirectUploads(List.of(URL), OWNER_ID));
+    }
+
+    @Test
+    public void completedUploadCanBeCompletedAgainTest() {
+        when(directUploadSessionRepository.findLockedByUrlInAndOwnerId(anyCollection(), eq(OWNER_ID))).thenReturn(List.of(createSession(CONTENT_URL)));
+
+        Assertions.assertEquals(Map.of(URL, CONTENT_URL), directUploadService.completeDirectUploads(List.of(URL), OWNER_ID));
+        verify(contentBlobService, never()).saveStagedResource(any(), any(), any());
+    }
+
+    @Test
+    public void contentOfExpiredUnfinishedUploadsIsDeletedTest() {
+        DirectUploadSession unfinishedSession = createSession(null);
+        DirectUploadSession completedSession = createSession(CONTENT_URL);
+        completedSession.setUrl(URI.create("s3://bucket/direct/completed-id.txt"));
+        when(directUploadSessionRepository.findLockedByExpiresAtBefore(any())).thenReturn(List.of(unfinishedSession, completedSession));
+
+        directUploadService.deleteExpiredSessions();
+
+        verify(storageService).deleteResources(List.of(URL));
+        verify(directUploadSessionRepository).deleteAll(List.of(unfinishedSession, completedSession));
+    }
+
+    private DirectUploadSession createSession(URI contentUrl) {
+        return new DirectUploadSession(1L, "a.txt", URL, SIZE, OWNER_ID, contentUrl, Instant.now());
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FilesSearchCriteria;
+import com.awscourse.filesmanagementsystem.domain.file.control.FileCountCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@DisplayName("FileCountCache Test")
+public class FileCountCacheTest {
+
+    private FileCountCache fileCountCache;
+    private AtomicInteger countQueries;
+    private Function<FilesSearchCriteria, Long> counter;
+
+    @BeforeEach
+    public void setUp() {
+        fileCountCache = new FileCountCache(100, Duration.ofMinutes(5), new TaskExecutorAdapter(Runnable::run), new SimpleMeterRegistry());
+        countQueries = new AtomicInteger();
+        counter = searchCriteria -> (long) countQueries.incrementAndGet();
+    }
+
+    @Test
+    public void countIsSharedByCriteriaDifferingOnlyInLabelsOrderTest() {
+        long firstCount = fileCountCache.getCount(createCriteria("cat", "dog", "cat"), counter).join();
+        long secondCount = fileCountCache.getCount(createCriteria("dog", "cat"), counter).join();
+
+        Assertions.assertEquals(firstCount, secondCount);
+        Assertions.assertEquals(1, countQueries.get());
+    }
+
+    @Test
+    public void countIsRecomputedAfterInvalidationTest() {
+        fileCountCache.getCount(createCriteria("cat"), counter).join();
+
+        fileCountCache.invalidate();
+
+        Assertions.assertEquals(2L, fileCountCache.getCount(createCriteria("cat"), counter).join());
+    }
+
+    @Test
+    public void searchCriteriaPassedToCounterAreNotModifiedTest() {
+        FilesSearchCriteria searchCriteria = createCriteria("dog", "cat", "cat");
+
+        fileCountCache.getCount(searchCriteria, counter).join();
+
+        Assertions.assertEquals(List.of("dog", "cat", "cat"), searchCriteria.getContainsAllOfLabels());
+    }
+
+    private FilesSearchCriteria createCriteria(String... labels) {
+        FilesSearchCriteria searchCriteria = new FilesSearchCriteria();
+        searchCriteria.setName("report");
+        searchCriteria.setContainsAllOfLabels(List.of(labels));
+        return searchCriteria;
+    }
+
+}
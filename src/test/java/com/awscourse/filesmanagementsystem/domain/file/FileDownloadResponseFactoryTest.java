@@ -0,0 +1,256 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileDownloadResponseFactory;
+import com.awscourse.filesmanagementsystem.domain.file.control.FileService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ByteRange;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ContentCodecStreams;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.FileRangeResource;
+import com.awscourse.filesmanagementsystem.domain.file.entity.ContentCodec;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("FileDownloadResponseFactory Test")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class FileDownloadResponseFactoryTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final Instant UPDATED_AT = Instant.parse("2021-01-10T10:15:30Z");
+
+    private FileDownloadResponseFactory responseFactory;
+    @Mock
+    private FileService fileService;
+    private File file;
+
+    @BeforeEach
+    public void setUp() {
+        responseFactory = new FileDownloadResponseFactory(fileService);
+        file = File.builder()
+                .id(1L)
+                .name("file.txt")
+                .size(CONTENT.length)
+                .url(URI.create("s3://bucket/user/file.txt"))
+                .updatedAt(UPDATED_AT)
+                .build();
+        when(fileService.downloadResource(file)).thenReturn(new ByteArrayResource(CONTENT));
+        when(fileService.downloadResource(eq(file), any(ByteRange.class))).thenAnswer(invocation -> {
+            ByteRange range = invocation.getArgument(1);
+            return new ByteArrayResource(Arrays.copyOfRange(CONTENT, (int) range.getStart(), (int) range.getEnd() + 1));
+        });
+    }
+
+    @Test
+    public void fullContentIsReturnedWithoutRangeHeaderTest() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = createResponse(new HttpHeaders());
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+        Assertions.assertEquals(CONTENT.length, response.getHeaders().getContentLength());
+        Assertions.assertEquals("0123456789", getBody(response));
+    }
+
+    @Test
+    public void singleRangeIsFetchedFromStorageTest() throws IOException {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-4");
+
+        ResponseEntity<StreamingResponseBody> response = createResponse(requestHeaders);
+
+        Assertions.assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        Assertions.assertEquals("bytes 2-4/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        Assertions.assertEquals(3, response.getHeaders().getContentLength());
+        Assertions.assertEquals("234", getBody(response));
+        verify(fileService, never()).downloadResource(file);
+    }
+
+    @Test
+    public void multipleRangesAreReturnedAsMultipartByterangesTest() throws IOException {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=0-1,-2");
+
+        ResponseEntity<StreamingResponseBody> response = createResponse(requestHeaders);
+
+        Assertions.assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        Assertions.assertEquals("multipart", response.getHeaders().getContentType().getType());
+        Assertions.assertEquals("byteranges", response.getHeaders().getContentType().getSubtype());
+        String body = getBody(response);
+        Assertions.assertTrue(body.contains("Content-Range: bytes 0-1/10\r\n\r\n01"));
+        Assertions.assertTrue(body.contains("Content-Range: bytes 8-9/10\r\n\r\n89"));
+    }
+
+    @Test
+    public void overlappingAndAdjacentRangesAreMergedTest() throws IOException {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=4-5,1-2,2-3,8-9");
+
+        ResponseEntity<StreamingResponseBody> response = createResponse(requestHeaders);
+
+        Assertions.assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        String body = getBody(response);
+        Assertions.assertTrue(body.contains("Content-Range: bytes 1-5/10\r\n\r\n12345"));
+        Assertions.assertTrue(body.contains("Content-Range: bytes 8-9/10\r\n\r\n89"));
+        Assertions.assertEquals(2, body.split("Content-Range").length - 1);
+    }
+
+    @Test
+    public void fullContentIsReturnedWhenTooManyRangesAreRequestedTest() throws IOException {
+        file.setSize(100);
+        byte[] content = new byte[100];
+        when(fileService.downloadResource(file)).thenReturn(new ByteArrayResource(content));
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=" + IntStream.range(0, 20)
+                .mapToObj(index -> index * 4 + "-" + index * 4)
+                .collect(Collectors.joining(",")));
+
+        ResponseEntity<StreamingResponseBody> response = createResponse(requestHeaders);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(100, response.getHeaders().getContentLength());
+    }
+
+    @Test
+    public void fullContentIsReturnedWhenIfRangeDoesNotMatchTest() throws IOException {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-4");
+        requestHeaders.set(HttpHeaders.IF_RANGE, "\"stale\"");
+
+        ResponseEntity<StreamingResponseBody> response = createResponse(requestHeaders);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("0123456789", getBody(response));
+    }
+
+    @Test
+    public void rangeIsReturnedWhenIfRangeMatchesETagTest() {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-4");
+        requestHeaders.set(HttpHeaders.IF_RANGE, "\"1-" + UPDATED_AT.toEpochMilli() + "\"");
+
+        Assertions.assertEquals(HttpStatus.PARTIAL_CONTENT, createResponse(requestHeaders).getStatusCode());
+    }
+
+    @Test
+    public void unsatisfiableRangeIsRejectedTest() {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=20-30");
+
+        ResponseEntity<StreamingResponseBody> response = createResponse(requestHeaders);
+
+        Assertions.assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        Assertions.assertEquals("bytes */10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    public void compressedContentIsPassedThroughWhenEncodingIsAcceptedTest() throws IOException {
+        file.setContentCodec(ContentCodec.GZIP);
+        byte[] compressedContent = ContentCodecStreams.encode(ContentCodec.GZIP, new ByteArrayInputStream(CONTENT)).readAllBytes();
+        when(fileService.downloadResource(file)).thenReturn(new ByteArrayResource(compressedContent));
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8");
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-4");
+
+        ResponseEntity<StreamingResponseBody> response = createResponse(requestHeaders);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals("none", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        Assertions.assertArrayEquals(compressedContent, outputStream.toByteArray());
+    }
+
+    @Test
+    public void compressedContentIsDecodedWhenEncodingIsNotAcceptedTest() throws IOException {
+        file.setContentCodec(ContentCodec.GZIP);
+        byte[] compressedContent = ContentCodecStreams.encode(ContentCodec.GZIP, new ByteArrayInputStream(CONTENT)).readAllBytes();
+        when(fileService.downloadResource(file)).thenReturn(new ByteArrayResource(compressedContent));
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0");
+
+        ResponseEntity<StreamingResponseBody> response = createResponse(requestHeaders);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals(CONTENT.length, response.getHeaders().getContentLength());
+        Assertions.assertEquals("0123456789", getBody(response));
+    }
+
+    @Test
+    public void localFileIsHandedToSendfileWhenSupportedTest(@TempDir Path directory) throws IOException {
+        Path path = Files.write(directory.resolve("file.txt"), CONTENT);
+        when(fileService.downloadResource(file)).thenReturn(new FileSystemResource(path));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        ResponseEntity<StreamingResponseBody> response = responseFactory.createDownloadResponse(file, MediaType.TEXT_PLAIN, request);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertNull(response.getBody());
+        Assertions.assertEquals(CONTENT.length, response.getHeaders().getContentLength());
+        Assertions.assertEquals(path.toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        Assertions.assertEquals(0L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        Assertions.assertEquals((long) CONTENT.length, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    public void localFileRangeIsTransferredFromChannelWithoutSendfileTest(@TempDir Path directory) throws IOException {
+        Path path = Files.write(directory.resolve("file.txt"), CONTENT);
+        when(fileService.downloadResource(eq(file), any(ByteRange.class)))
+                .thenAnswer(invocation -> new FileRangeResource(path, invocation.getArgument(1)));
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=3-6");
+
+        ResponseEntity<StreamingResponseBody> response = createResponse(requestHeaders);
+
+        Assertions.assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        Assertions.assertEquals("3456", getBody(response));
+    }
+
+    private ResponseEntity<StreamingResponseBody> createResponse(HttpHeaders requestHeaders) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        requestHeaders.forEach((name, values) -> values.forEach(value -> request.addHeader(name, value)));
+        return responseFactory.createDownloadResponse(file, MediaType.TEXT_PLAIN, request);
+    }
+
+    private String getBody(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.US_ASCII);
+    }
+
+}
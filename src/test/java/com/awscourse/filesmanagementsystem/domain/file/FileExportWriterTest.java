@@ -0,0 +1,90 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.api.file.FileDetailsDTO;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileExportWriter;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileMapper;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FilesSearchCriteria;
+import com.awscourse.filesmanagementsystem.domain.file.control.FileService;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@DisplayName("FileExportWriter Test")
+@ExtendWith(MockitoExtension.class)
+public class FileExportWriterTest {
+
+    private static final FilesSearchCriteria SEARCH_CRITERIA = new FilesSearchCriteria();
+
+    private FileExportWriter fileExportWriter;
+    @Mock
+    private FileService fileService;
+    @Mock
+    private FileMapper fileMapper;
+
+    @BeforeEach
+    public void setUp() {
+        fileExportWriter = new FileExportWriter(fileService, fileMapper, new ObjectMapper());
+    }
+
+    @Test
+    public void eachFileIsWrittenAsSeparateJsonLineTest() throws IOException {
+        File first = File.builder().id(1L).name("a.txt").build();
+        File second = File.builder().id(2L).name("b.txt").build();
+        when(fileMapper.mapToFileDetailsDTO(any(File.class)))
+                .thenAnswer(invocation -> FileDetailsDTO.builder().id(invocation.<File>getArgument(0).getId()).name(invocation.<File>getArgument(0).getName()).build());
+        exportBatches(List.of(first), List.of(second));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        fileExportWriter.write(SEARCH_CRITERIA, Sort.unsorted(), outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("{\"id\":1,\"name\":\"a.txt\""));
+        Assertions.assertTrue(lines[1].startsWith("{\"id\":2,\"name\":\"b.txt\""));
+    }
+
+    @Test
+    public void writeFailureIsPropagatedAsIOExceptionTest() {
+        when(fileMapper.mapToFileDetailsDTO(any(File.class))).thenReturn(FileDetailsDTO.builder().id(1L).build());
+        exportBatches(List.of(File.builder().id(1L).build()));
+        OutputStream failingOutputStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        Assertions.assertThrows(IOException.class, () -> fileExportWriter.write(SEARCH_CRITERIA, Sort.unsorted(), failingOutputStream));
+    }
+
+    @SafeVarargs
+    private void exportBatches(List<File>... batches) {
+        doAnswer(invocation -> {
+            Consumer<List<File>> filesBatchConsumer = invocation.getArgument(2);
+            for (List<File> batch : batches) {
+                filesBatchConsumer.accept(batch);
+            }
+            return null;
+        }).when(fileService).exportFilesByCriteria(eq(SEARCH_CRITERIA), any(Sort.class), any());
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.domain.file.control.FileFacetsCollector;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FileFacets;
+import com.awscourse.filesmanagementsystem.domain.file.entity.HistogramInterval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+@DisplayName("FileFacetsCollector Test")
+public class FileFacetsCollectorTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2021-01-10T10:15:30Z");
+
+    @Test
+    public void filesAreCountedInSizeBucketsWithInclusiveLowerBoundTest() {
+        FileFacetsCollector collector = new FileFacetsCollector(List.of(1024L, 10L), HistogramInterval.MONTH);
+        collector.add(0, CREATED_AT);
+        collector.add(10, CREATED_AT);
+        collector.add(1023, CREATED_AT);
+        collector.add(1024, CREATED_AT);
+
+        Assertions.assertEquals(List.of(
+                new FileFacets.SizeBucket(null, 10L, 1),
+                new FileFacets.SizeBucket(10L, 1024L, 2),
+                new FileFacets.SizeBucket(1024L, null, 1)), collector.getSizeBuckets());
+    }
+
+    @Test
+    public void histogramContainsEmptyBucketsBetweenCreationDatesTest() {
+        FileFacetsCollector collector = new FileFacetsCollector(List.of(), HistogramInterval.MONTH);
+        collector.add(0, Instant.parse("2021-03-31T23:59:59Z"));
+        collector.add(0, CREATED_AT);
+        collector.add(0, Instant.parse("2021-01-01T00:00:00Z"));
+
+        Assertions.assertEquals(List.of(
+                new FileFacets.DateBucket(Instant.parse("2021-01-01T00:00:00Z"), 2),
+                new FileFacets.DateBucket(Instant.parse("2021-02-01T00:00:00Z"), 0),
+                new FileFacets.DateBucket(Instant.parse("2021-03-01T00:00:00Z"), 1)), collector.getCreatedAtHistogram());
+    }
+
+    @Test
+    public void weeklyHistogramBucketsStartOnMondayTest() {
+        FileFacetsCollector collector = new FileFacetsCollector(List.of(), HistogramInterval.WEEK);
+        collector.add(0, CREATED_AT);
+
+        Assertions.assertEquals(List.of(new FileFacets.DateBucket(Instant.parse("2021-01-04T00:00:00Z"), 1)), collector.getCreatedAtHistogram());
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.domain.file.control.text.FileNameIndex;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@DisplayName("FileNameIndex Test")
+public class FileNameIndexTest {
+
+    private FileNameIndex fileNameIndex;
+
+    @BeforeEach
+    public void setUp() {
+        fileNameIndex = new FileNameIndex();
+        FileNameIndex.Rebuild rebuild = fileNameIndex.rebuild();
+        rebuild.index(List.of(
+                createFile(1L, "2021_Invoice.pdf"),
+                createFile(2L, "invoices_2020.zip"),
+                createFile(3L, "Résumé.docx")));
+        rebuild.complete();
+    }
+
+    @Test
+    public void substringIsMatchedIgnoringCaseTest() {
+        Assertions.assertEquals(Optional.of(Set.of(1L)), fileNameIndex.findFileIdsWithNameContaining("2021_INV", 10));
+        Assertions.assertEquals(Optional.of(Set.of(1L, 2L)), fileNameIndex.findFileIdsWithNameContaining("voice", 10));
+    }
+
+    @Test
+    public void candidatesSharingTrigramsAreVerifiedTest() {
+        Assertions.assertEquals(Optional.of(Set.of()), fileNameIndex.findFileIdsWithNameContaining("pdf.2021", 10));
+    }
+
+    @Test
+    public void accentsAreIgnoredTest() {
+        Assertions.assertEquals(Optional.of(Set.of(3L)), fileNameIndex.findFileIdsWithNameContaining("resume", 10));
+    }
+
+    @Test
+    public void indexIsNotUsedForShortOrTooBroadQueriesTest() {
+        Assertions.assertEquals(Optional.empty(), fileNameIndex.findFileIdsWithNameContaining("in", 10));
+        Assertions.assertEquals(Optional.empty(), fileNameIndex.findFileIdsWithNameContaining("invoice", 1));
+    }
+
+    @Test
+    public void indexIsNotUsedBeforeFirstRebuildCompletesTest() {
+        FileNameIndex notBuiltIndex = new FileNameIndex();
+        notBuiltIndex.index(List.of(createFile(1L, "invoice.pdf")));
+
+        Assertions.assertEquals(Optional.empty(), notBuiltIndex.findFileIdsWithNameContaining("invoice", 10));
+    }
+
+    @Test
+    public void syncPointIsRebuildStartTest() {
+        Instant beforeRebuild = Instant.now();
+        FileNameIndex.Rebuild rebuild = fileNameIndex.rebuild();
+        Instant afterRebuildStart = Instant.now();
+        rebuild.complete();
+        Instant syncedAt = fileNameIndex.getSyncedAt().orElseThrow();
+
+        Assertions.assertFalse(syncedAt.isBefore(beforeRebuild));
+        Assertions.assertFalse(syncedAt.isAfter(afterRebuildStart));
+        Assertions.assertEquals(Optional.empty(), new FileNameIndex().getSyncedAt());
+    }
+
+    @Test
+    public void changesMadeDuringRebuildAreKeptTest() {
+        FileNameIndex.Rebuild rebuild = fileNameIndex.rebuild();
+        fileNameIndex.index(List.of(createFile(1L, "2021_report.pdf")));
+        fileNameIndex.remove(List.of(2L));
+        rebuild.index(List.of(createFile(1L, "2021_Invoice.pdf"), createFile(2L, "invoices_2020.zip")));
+        rebuild.complete();
+
+        Assertions.assertEquals(Optional.of(Set.of()), fileNameIndex.findFileIdsWithNameContaining("invoice", 10));
+        Assertions.assertEquals(Optional.of(Set.of(1L)), fileNameIndex.findFileIdsWithNameContaining("report", 10));
+    }
+
+    private File createFile(Long id, String name) {
+        return File.builder()
+                .id(id)
+                .name(name)
+                .build();
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.domain.auditedobject.ObjectState;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FilesSearchCriteria;
+import com.awscourse.filesmanagementsystem.domain.file.control.FileRepository;
+import com.awscourse.filesmanagementsystem.domain.file.control.text.FileNameIndex;
+import com.awscourse.filesmanagementsystem.domain.file.control.text.FileTextIndex;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FilesSearchResult;
+import com.awscourse.filesmanagementsystem.domain.label.entity.Label;
+import com.awscourse.filesmanagementsystem.domain.label.entity.LabelType;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.control.LabelAssignmentIndex;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment;
+import com.awscourse.filesmanagementsystem.domain.user.entity.User;
+import com.awscourse.filesmanagementsystem.domain.user.entity.UserRole;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import javax.persistence.EntityManager;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@DisplayName("FileRepository Test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({FileTextIndex.class, FileNameIndex.class, LabelAssignmentIndex.class})
+@EnabledIfSystemProperty(named = "spring.datasource.url", matches = ".+")
+public class FileRepositoryTest {
+
+    private static final int FILES_COUNT = 100;
+    private static final int LABELS_COUNT = 5;
+    private static final Instant CREATED_AT = Instant.parse("2021-01-10T10:15:30Z");
+
+    @Autowired
+    private FileRepository fileRepository;
+    @Autowired
+    private EntityManager em;
+
+    private List<Long> fileIds;
+
+    @BeforeEach
+    public void setUp() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            User user = User.builder()
+                    .name("Name")
+                    .surname("Surname")
+                    .username("user" + i)
+                    .password("password")
+                    .email("user" + i + "@example.com")
+                    .phoneNumber("123456789")
+                    .role(UserRole.ROLE_USER)
+                    .createdAt(CREATED_AT)
+                    .updatedAt(CREATED_AT)
+                    .objectState(ObjectState.ACTIVE)
+                    .build();
+            em.persist(user);
+            users.add(user);
+        }
+        List<Label> labels = new ArrayList<>();
+        for (int i = 0; i < LABELS_COUNT; i++) {
+            Label label = new Label();
+            label.setName("label" + i);
+            label.setLabelType(LabelType.MANUALLY_ASSIGNED);
+            label.setCreatedAt(CREATED_AT);
+            label.setUpdatedAt(CREATED_AT);
+            label.setObjectState(ObjectState.ACTIVE);
+            em.persist(label);
+            labels.add(label);
+        }
+        fileIds = new ArrayList<>();
+        for (int i = 0; i < FILES_COUNT; i++) {
+            File file = File.builder()
+                    .name("file" + i + ".txt")
+                    .path("/directory")
+                    .fullPath("/directory/file" + i + ".txt")
+                    .size(i)
+                    .url(URI.create("s3://bucket/content/" + i))
+                    .createdAt(CREATED_AT.plusSeconds(i))
+                    .updatedAt(CREATED_AT.plusSeconds(i))
+                    .createdBy(users.get(i % users.size()))
+                    .updatedBy(users.get((i + 1) % users.size()))
+                    .objectState(ObjectState.ACTIVE)
+                    .build();
+            em.persist(file);
+            fileIds.add(file.getId());
+            for (int j = 0; j <= i % LABELS_COUNT; j++) {
+                LabelAssignment labelAssignment = new LabelAssignment(labels.get(j), file);
+                labelAssignment.setCreatedAt(CREATED_AT);
+                labelAssignment.setUpdatedAt(CREATED_AT);
+                labelAssignment.setObjectState(ObjectState.ACTIVE);
+                em.persist(labelAssignment);
+            }
+        }
+        em.flush();
+    }
+
+    @Test
+    public void searchQueriesCountDoesNotDependOnPageSizeTest() {
+        List<Long> statementCounts = List.of(1, 20, FILES_COUNT).stream()
+                .map(pageSize -> countStatements(() -> {
+                    FilesSearchResult searchResult = fileRepository.searchFilesByCriteria(new FilesSearchCriteria(), null, PageRequest.of(0, pageSize));
+                    Assertions.assertEquals(pageSize.intValue(), searchResult.getFiles().size());
+                    return searchResult.getFiles();
+                }))
+                .collect(Collectors.toList());
+
+        Assertions.assertEquals(1, statementCounts.stream().distinct().count(), "Statements executed per page size: " + statementCounts);
+    }
+
+    @Test
+    public void filesByIdsQueriesCountDoesNotDependOnFilesCountTest() {
+        List<Long> statementCounts = List.of(1, 20, FILES_COUNT).stream()
+                .map(count -> countStatements(() -> fileRepository.findDistinctWithDetailsByIdIn(fileIds.subList(0, count))))
+                .collect(Collectors.toList());
+
+        Assertions.assertEquals(1, statementCounts.stream().distinct().count(), "Statements executed per files count: " + statementCounts);
+    }
+
+    private long countStatements(Supplier<List<File>> filesSupplier) {
+        em.clear();
+        SessionFactory sessionFactory = em.getEntityManagerFactory().unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        filesSupplier.get().forEach(file -> {
+            file.getLabels().forEach(Label::getName);
+            file.getCreatedBy().getUsername();
+            file.getUpdatedBy().getUsername();
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+}
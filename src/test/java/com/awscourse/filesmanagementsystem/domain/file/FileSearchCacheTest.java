@@ -0,0 +1,144 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.api.file.FileDetailsDTO;
+import com.awscourse.filesmanagementsystem.api.file.FilesSearchResultDTO;
+import com.awscourse.filesmanagementsystem.api.label.LabelDetailsDTO;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FileSearchCache;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FilesSearchCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@DisplayName("FileSearchCache Test")
+public class FileSearchCacheTest {
+
+    private static final Pageable PAGEABLE = PageRequest.of(0, 20);
+
+    private FileSearchCache fileSearchCache;
+    private AtomicInteger searches;
+    private Supplier<FilesSearchResultDTO> search;
+
+    @BeforeEach
+    public void setUp() {
+        fileSearchCache = new FileSearchCache(DataSize.ofMegabytes(1), Duration.ofMinutes(5), new SimpleMeterRegistry());
+        searches = new AtomicInteger();
+        search = () -> {
+            searches.incrementAndGet();
+            return FilesSearchResultDTO.builder()
+                    .results(List.of(createFile(1L, 10L)))
+                    .build();
+        };
+    }
+
+    @Test
+    public void resultIsSharedByCriteriaDifferingOnlyInLabelsOrderTest() {
+        fileSearchCache.getSearchResult(createCriteria(null, "cat", "dog"), null, PAGEABLE, true, search);
+        fileSearchCache.getSearchResult(createCriteria(null, "dog", "cat", "dog"), null, PAGEABLE, true, search);
+        fileSearchCache.getSearchResult(createCriteria(null, "dog", "cat"), null, PageRequest.of(1, 20), true, search);
+
+        Assertions.assertEquals(2, searches.get());
+    }
+
+    @Test
+    public void fileChangesInvalidateOnlySearchesOfAffectedOwnersTest() {
+        fileSearchCache.getSearchResult(createCriteria("alice"), null, PAGEABLE, true, search);
+        fileSearchCache.getSearchResult(createCriteria("bob"), null, PAGEABLE, true, search);
+        fileSearchCache.getSearchResult(createCriteria(null), null, PAGEABLE, true, search);
+
+        fileSearchCache.invalidateFilesOwnedBy(Set.of("alice"));
+        fileSearchCache.getSearchResult(createCriteria("alice"), null, PAGEABLE, true, search);
+        fileSearchCache.getSearchResult(createCriteria("bob"), null, PAGEABLE, true, search);
+        fileSearchCache.getSearchResult(createCriteria(null), null, PAGEABLE, true, search);
+
+        Assertions.assertEquals(5, searches.get());
+    }
+
+    @Test
+    public void labelAssignmentChangesInvalidateSearchesFilteredByLabelOrShowingFileTest() {
+        fileSearchCache.getSearchResult(createCriteria(null, "cat"), null, PAGEABLE, true, search);
+        fileSearchCache.getSearchResult(createCriteria(null, "dog"), null, PAGEABLE, true, search);
+
+        fileSearchCache.invalidateLabelAssignments(Set.of(2L), Set.of("cat"), Set.of("alice"));
+        fileSearchCache.getSearchResult(createCriteria(null, "cat"), null, PAGEABLE, true, search);
+        fileSearchCache.getSearchResult(createCriteria(null, "dog"), null, PAGEABLE, true, search);
+        fileSearchCache.invalidateLabelAssignments(Set.of(1L), Set.of("bird"), Set.of("alice"));
+        fileSearchCache.getSearchResult(createCriteria(null, "dog"), null, PAGEABLE, true, search);
+
+        Assertions.assertEquals(4, searches.get());
+    }
+
+    @Test
+    public void labelChangesInvalidateSearchesShowingLabelTest() {
+        fileSearchCache.getSearchResult(createCriteria(null), null, PAGEABLE, true, search);
+
+        fileSearchCache.invalidateLabels(Set.of(11L));
+        fileSearchCache.getSearchResult(createCriteria(null), null, PAGEABLE, true, search);
+        fileSearchCache.invalidateLabels(Set.of(10L));
+        fileSearchCache.getSearchResult(createCriteria(null), null, PAGEABLE, true, search);
+
+        Assertions.assertEquals(2, searches.get());
+    }
+
+    @Test
+    public void resultComputedDuringInvalidationIsNotCachedTest() {
+        Supplier<FilesSearchResultDTO> searchRacingWithInvalidation = () -> {
+            fileSearchCache.invalidateFilesOwnedBy(Set.of("alice"));
+            return search.get();
+        };
+
+        fileSearchCache.getSearchResult(createCriteria(null), null, PAGEABLE, true, searchRacingWithInvalidation);
+        fileSearchCache.getSearchResult(createCriteria(null), null, PAGEABLE, true, search);
+
+        Assertions.assertEquals(2, searches.get());
+    }
+
+    @Test
+    public void resultIsCachedAgainAfterInvalidationTest() {
+        fileSearchCache.getSearchResult(createCriteria("alice"), null, PAGEABLE, true, search);
+
+        fileSearchCache.invalidateFilesOwnedBy(Set.of("alice"));
+        fileSearchCache.invalidateFilesOwnedBy(Set.of("alice"));
+        fileSearchCache.getSearchResult(createCriteria("alice"), null, PAGEABLE, true, search);
+        fileSearchCache.getSearchResult(createCriteria("alice"), null, PAGEABLE, true, search);
+
+        Assertions.assertEquals(2, searches.get());
+    }
+
+    @Test
+    public void textSearchesAreNotCachedTest() {
+        FilesSearchCriteria searchCriteria = createCriteria(null);
+        searchCriteria.setText("report");
+
+        fileSearchCache.getSearchResult(searchCriteria, null, PAGEABLE, true, search);
+        fileSearchCache.getSearchResult(searchCriteria, null, PAGEABLE, true, search);
+
+        Assertions.assertEquals(2, searches.get());
+    }
+
+    private FilesSearchCriteria createCriteria(String createdBy, String... labels) {
+        FilesSearchCriteria searchCriteria = new FilesSearchCriteria();
+        searchCriteria.setCreatedBy(createdBy);
+        searchCriteria.setContainsAnyOfLabels(List.of(labels));
+        return searchCriteria;
+    }
+
+    private FileDetailsDTO createFile(Long id, Long labelId) {
+        return FileDetailsDTO.builder()
+                .id(id)
+                .name("report.pdf")
+                .labels(List.of(LabelDetailsDTO.builder().id(labelId).name("label").build()))
+                .build();
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FilesSearchCriteria;
+import com.awscourse.filesmanagementsystem.domain.file.control.ContentBlobService;
+import com.awscourse.filesmanagementsystem.domain.file.control.DirectUploadService;
+import com.awscourse.filesmanagementsystem.domain.file.control.FileCountCache;
+import com.awscourse.filesmanagementsystem.domain.file.control.FileRepository;
+import com.awscourse.filesmanagementsystem.domain.file.control.FileService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.StorageService;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FilesSearchResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@DisplayName("FileService Test")
+@ExtendWith(MockitoExtension.class)
+public class FileServiceTest {
+
+    private FileService fileService;
+    @Mock
+    private FileRepository fileRepository;
+    @Mock
+    private StorageService storageService;
+    @Mock
+    private ContentBlobService contentBlobService;
+    @Mock
+    private DirectUploadService directUploadService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private FileCountCache fileCountCache;
+
+    @BeforeEach
+    public void setUp() {
+        fileService = new FileService(fileRepository, storageService, contentBlobService, directUploadService, eventPublisher, fileCountCache);
+    }
+
+    @Test
+    public void totalCountOfPageBeyondResultsIsCountedTest() {
+        FilesSearchCriteria searchCriteria = new FilesSearchCriteria();
+        Pageable pageable = PageRequest.of(5, 20);
+        when(fileCountCache.getCount(eq(searchCriteria), any())).thenReturn(CompletableFuture.completedFuture(42L));
+        when(fileRepository.searchFilesByCriteria(eq(searchCriteria), isNull(), eq(pageable)))
+                .thenReturn(new FilesSearchResult(List.of(), null));
+
+        FilesSearchResult searchResult = fileService.searchFilesByCriteria(searchCriteria, null, pageable, true);
+
+        Assertions.assertEquals(42L, searchResult.getTotalCount());
+    }
+
+    @Test
+    public void totalCountOfLastPageIsDerivedFromPageTest() {
+        FilesSearchCriteria searchCriteria = new FilesSearchCriteria();
+        Pageable pageable = PageRequest.of(2, 20);
+        when(fileCountCache.getCount(eq(searchCriteria), any())).thenReturn(new CompletableFuture<>());
+        when(fileRepository.searchFilesByCriteria(eq(searchCriteria), isNull(), eq(pageable)))
+                .thenReturn(new FilesSearchResult(createFiles(5), null));
+
+        FilesSearchResult searchResult = fileService.searchFilesByCriteria(searchCriteria, null, pageable, true);
+
+        Assertions.assertEquals(45L, searchResult.getTotalCount());
+    }
+
+    private List<File> createFiles(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> File.builder().id(id).fullPath("/file" + id).build())
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.domain.auditedobject.ObjectState;
+import com.awscourse.filesmanagementsystem.domain.file.control.text.FileTextIndex;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.label.entity.Label;
+import com.awscourse.filesmanagementsystem.domain.label.entity.LabelType;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@DisplayName("FileTextIndex Test")
+public class FileTextIndexTest {
+
+    private FileTextIndex fileTextIndex;
+
+    @BeforeEach
+    public void setUp() {
+        fileTextIndex = new FileTextIndex();
+        fileTextIndex.rebuild().complete();
+        fileTextIndex.index(List.of(
+                createFile(1L, "Quarterly report.pdf", "Financial summary"),
+                createFile(2L, "holiday photos.zip", "Photos and the quarterly report draft"),
+                createFile(3L, "Café menu.txt", null)));
+    }
+
+    @Test
+    public void matchesInNameRankAboveMatchesInDescriptionTest() {
+        Assertions.assertEquals(List.of(1L, 2L), fileTextIndex.search("report").orElseThrow());
+    }
+
+    @Test
+    public void allQueryTermsMustMatchTest() {
+        Assertions.assertEquals(List.of(2L), fileTextIndex.search("quarterly photos").orElseThrow());
+    }
+
+    @Test
+    public void termsAreMatchedByPrefixAndWithoutAccentsTest() {
+        Assertions.assertEquals(List.of(2L), fileTextIndex.search("holi").orElseThrow());
+        Assertions.assertEquals(List.of(3L), fileTextIndex.search("CAFE").orElseThrow());
+    }
+
+    @Test
+    public void reindexedFileReplacesPreviousContentTest() {
+        fileTextIndex.index(List.of(createFile(1L, "invoice.pdf", null)));
+
+        Assertions.assertEquals(List.of(2L), fileTextIndex.search("report").orElseThrow());
+        Assertions.assertEquals(List.of(1L), fileTextIndex.search("invoice").orElseThrow());
+    }
+
+    @Test
+    public void removedFileIsNotFoundTest() {
+        fileTextIndex.remove(List.of(1L));
+
+        Assertions.assertEquals(List.of(2L), fileTextIndex.search("report").orElseThrow());
+        Assertions.assertEquals(2, fileTextIndex.size());
+    }
+
+    @Test
+    public void filesAreFoundByActiveLabelNamesTest() {
+        File file = createFile(4L, "scan.png", null);
+        assignLabel(file, new Label(10L, "invoices", null, LabelType.MANUALLY_ASSIGNED), ObjectState.ACTIVE);
+        assignLabel(file, new Label(11L, "archived", null, LabelType.MANUALLY_ASSIGNED), ObjectState.REMOVED);
+
+        fileTextIndex.index(List.of(file));
+
+        Assertions.assertEquals(List.of(4L), fileTextIndex.search("invoices").orElseThrow());
+        Assertions.assertEquals(List.of(), fileTextIndex.search("archived").orElseThrow());
+        Assertions.assertEquals(Set.of(4L), fileTextIndex.getFileIdsWithLabels(List.of(10L, 11L)));
+    }
+
+    @Test
+    public void rebuildReplacesWholeIndexOnCompletionTest() {
+        FileTextIndex.Rebuild rebuild = fileTextIndex.rebuild();
+        rebuild.index(List.of(createFile(5L, "report.docx", null)));
+
+        Assertions.assertEquals(List.of(1L, 2L), fileTextIndex.search("report").orElseThrow());
+        rebuild.complete();
+        Assertions.assertEquals(List.of(5L), fileTextIndex.search("report").orElseThrow());
+    }
+
+    @Test
+    public void searchIsNotAvailableBeforeFirstRebuildTest() {
+        FileTextIndex notBuiltIndex = new FileTextIndex();
+        notBuiltIndex.index(List.of(createFile(1L, "report.pdf", null)));
+
+        Assertions.assertEquals(Optional.empty(), notBuiltIndex.search("report"));
+    }
+
+    @Test
+    public void allMatchingFilesAreReturnedTest() {
+        fileTextIndex.index(LongStream.rangeClosed(10, 2000)
+                .mapToObj(id -> createFile(id, "report " + id + ".pdf", null))
+                .collect(Collectors.toList()));
+
+        Assertions.assertEquals(1993, fileTextIndex.search("report").orElseThrow().size());
+    }
+
+    private File createFile(Long id, String name, String description) {
+        return File.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .labelAssignments(new LinkedHashSet<>())
+                .build();
+    }
+
+    private void assignLabel(File file, Label label, ObjectState objectState) {
+        label.setObjectState(objectState);
+        file.getLabelAssignments().add(new LabelAssignment(label, file));
+    }
+
+}
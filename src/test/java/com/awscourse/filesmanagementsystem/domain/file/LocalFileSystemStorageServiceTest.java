@@ -0,0 +1,105 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.LocalFileSystemStorageService;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@DisplayName("LocalFileSystemStorageService Test")
+public class LocalFileSystemStorageServiceTest {
+
+    private static final byte[] CONTENT = "file content".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path rootDirectory;
+
+    private LocalFileSystemStorageService storageService;
+
+    @BeforeEach
+    public void setUp() {
+        storageService = new LocalFileSystemStorageService(rootDirectory.toUri(), new SimpleAsyncTaskExecutor());
+    }
+
+    @Test
+    public void savedResourceCanBeReadBackTest() throws IOException {
+        URI url = rootDirectory.resolve("user/docs/file.txt").toUri();
+
+        storageService.saveResource(new ByteArrayResource(CONTENT), url);
+
+        Resource resource = storageService.getResource(url);
+        Assertions.assertTrue(resource.exists());
+        Assertions.assertEquals(CONTENT.length, resource.contentLength());
+        try (InputStream inputStream = resource.getInputStream()) {
+            Assertions.assertArrayEquals(CONTENT, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    public void savedStreamReplacesExistingContentTest() throws IOException {
+        URI url = rootDirectory.resolve("user/file.txt").toUri();
+        storageService.saveResource(new ByteArrayResource("previous".getBytes(StandardCharsets.UTF_8)), url);
+
+        storageService.saveResource(new ByteArrayInputStream(CONTENT), url);
+
+        Assertions.assertArrayEquals(CONTENT, Files.readAllBytes(rootDirectory.resolve("user/file.txt")));
+        try (Stream<Path> files = Files.list(rootDirectory.resolve("user"))) {
+            Assertions.assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void multipartUploadIsAssembledInPartNumberOrderTest() throws IOException {
+        URI url = rootDirectory.resolve("staging/file.txt").toUri();
+        String uploadId = storageService.initiateMultipartUpload(url);
+
+        String secondETag = uploadPart(url, uploadId, 2, "content");
+        String firstETag = uploadPart(url, uploadId, 1, "file ");
+        storageService.completeMultipartUpload(url, uploadId, Map.of(2, secondETag, 1, firstETag));
+
+        Assertions.assertArrayEquals(CONTENT, Files.readAllBytes(rootDirectory.resolve("staging/file.txt")));
+        Assertions.assertFalse(Files.exists(rootDirectory.resolve(".multipart").resolve(uploadId)));
+    }
+
+    @Test
+    public void partWithInvalidChecksumIsRejectedTest() {
+        URI url = rootDirectory.resolve("staging/file.txt").toUri();
+        String uploadId = storageService.initiateMultipartUpload(url);
+        String invalidDigest = Base64.getEncoder().encodeToString(DigestUtils.md5("other"));
+
+        Assertions.assertThrows(IllegalArgumentAppException.class,
+                () -> storageService.uploadPart(url, uploadId, 1, new ByteArrayInputStream(CONTENT), CONTENT.length, invalidDigest));
+    }
+
+    private String uploadPart(URI url, String uploadId, int partNumber, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        String digest = Base64.getEncoder().encodeToString(DigestUtils.md5(bytes));
+        return storageService.uploadPart(url, uploadId, partNumber, new ByteArrayInputStream(bytes), bytes.length, digest);
+    }
+
+    @Test
+    public void urlOutsideOfRootDirectoryIsRejectedTest() {
+        URI url = URI.create(rootDirectory.toUri() + "user/../../outside.txt");
+
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> storageService.getResource(url));
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> storageService.saveResource(new ByteArrayInputStream(CONTENT), url));
+    }
+
+}
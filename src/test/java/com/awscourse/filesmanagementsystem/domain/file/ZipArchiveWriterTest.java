@@ -0,0 +1,227 @@
+package com.awscourse.filesmanagementsystem.domain.file;
+
+import com.awscourse.filesmanagementsystem.domain.file.control.archive.ZipArchiveWriter;
+import com.awscourse.filesmanagementsystem.domain.file.control.archive.ZipMethodResolver;
+import com.awscourse.filesmanagementsystem.domain.file.entity.File;
+import com.awscourse.filesmanagementsystem.domain.file.entity.FileResource;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+@DisplayName("ZipArchiveWriter Test")
+public class ZipArchiveWriterTest {
+
+    private static final ZipMethodResolver ZIP_METHOD_RESOLVER = new ZipMethodResolver(List.of(MediaType.IMAGE_JPEG, MediaType.IMAGE_PNG));
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private ZipArchiveWriter zipArchiveWriter;
+
+    @BeforeEach
+    public void setUp() {
+        zipArchiveWriter = new ZipArchiveWriter(new SimpleAsyncTaskExecutor(), new SimpleAsyncTaskExecutor(), ZIP_METHOD_RESOLVER, 2, DataSize.ofBytes(4),
+                DataSize.ofKilobytes(40), 4);
+    }
+
+    @Test
+    public void entriesAreWrittenInRequestedOrderTest() throws IOException {
+        List<FileResource> fileResources = List.of(
+                createFileResource("/a.txt", new ByteArrayResource(bytes("first content"))),
+                createFileResource("/b.txt", new ByteArrayResource(bytes("12"))),
+                createFileResource("/c.txt", new ByteArrayResource(bytes("third"))));
+
+        Map<String, String> entries = writeAndRead(fileResources);
+
+        Assertions.assertEquals(List.of("/a.txt", "/b.txt", "/c.txt"), List.copyOf(entries.keySet()));
+        Assertions.assertEquals("first content", entries.get("/a.txt"));
+        Assertions.assertEquals("12", entries.get("/b.txt"));
+        Assertions.assertEquals("third", entries.get("/c.txt"));
+    }
+
+    @Test
+    public void nextEntriesAreOpenedBeforeCurrentEntryIsReadTest() throws IOException {
+        CountDownLatch secondEntryOpened = new CountDownLatch(1);
+        ByteArrayResource firstResource = new ByteArrayResource(bytes("first")) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                awaitQuietly(secondEntryOpened);
+                return super.getInputStream();
+            }
+        };
+        ByteArrayResource secondResource = new ByteArrayResource(bytes("second")) {
+            @Override
+            public InputStream getInputStream() {
+                secondEntryOpened.countDown();
+                return new ByteArrayInputStream(bytes("second"));
+            }
+        };
+
+        Map<String, String> entries = writeAndRead(List.of(createFileResource("/a.txt", firstResource), createFileResource("/b.txt", secondResource)));
+
+        Assertions.assertEquals("first", entries.get("/a.txt"));
+        Assertions.assertEquals("second", entries.get("/b.txt"));
+    }
+
+    @Test
+    public void entriesSpanningManyBlocksAreReadableByStreamingAndCentralDirectoryReadersTest() throws IOException {
+        String content = IntStream.range(0, 20000)
+                .mapToObj(i -> "line " + i % 997 + "\n")
+                .collect(Collectors.joining());
+        java.io.File archive = temporaryDirectory.resolve("archive.zip").toFile();
+
+        try (OutputStream outputStream = new FileOutputStream(archive)) {
+            zipArchiveWriter.write(List.of(
+                    createFileResource("/large.txt", new ByteArrayResource(bytes(content))),
+                    createFileResource("/empty.txt", new ByteArrayResource(new byte[0]))), outputStream);
+        }
+
+        Map<String, String> entries = read(Files.readAllBytes(archive.toPath()));
+        Assertions.assertEquals(content, entries.get("/large.txt"));
+        Assertions.assertEquals("", entries.get("/empty.txt"));
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            ZipEntry largeEntry = zipFile.getEntry("/large.txt");
+            Assertions.assertEquals(content.length(), largeEntry.getSize());
+            Assertions.assertTrue(largeEntry.getCompressedSize() < largeEntry.getSize());
+            try (InputStream inputStream = zipFile.getInputStream(largeEntry)) {
+                Assertions.assertEquals(content, new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void archiveWithMoreThan65535EntriesUsesZip64Test() throws IOException {
+        ZipArchiveWriter synchronousZipArchiveWriter = new ZipArchiveWriter(new TaskExecutorAdapter(Runnable::run), new TaskExecutorAdapter(Runnable::run),
+                ZIP_METHOD_RESOLVER, 2, DataSize.ofBytes(4), DataSize.ofKilobytes(40), 4);
+        List<FileResource> fileResources = IntStream.range(0, 70000)
+                .mapToObj(i -> createFileResource("/" + i + ".txt", new ByteArrayResource(bytes(String.valueOf(i)))))
+                .collect(Collectors.toList());
+        java.io.File archive = temporaryDirectory.resolve("archive.zip").toFile();
+
+        try (OutputStream outputStream = new FileOutputStream(archive)) {
+            synchronousZipArchiveWriter.write(fileResources, outputStream);
+        }
+
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            Assertions.assertEquals(70000, zipFile.size());
+            try (InputStream inputStream = zipFile.getInputStream(zipFile.getEntry("/69999.txt"))) {
+                Assertions.assertEquals("69999", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void incompressibleEntriesAreStoredWithExactArchiveLengthTest() throws IOException {
+        List<FileResource> fileResources = List.of(
+                createFileResource("/photo.jpg", new ByteArrayResource(bytes("jpeg content"))),
+                createFileResource("/image.png", new ByteArrayResource(bytes("png content"))));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        OptionalLong archiveLength = zipArchiveWriter.getArchiveLength(fileResources);
+        zipArchiveWriter.write(fileResources, outputStream);
+
+        Assertions.assertEquals(OptionalLong.of(outputStream.size()), archiveLength);
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            ZipEntry entry = zipInputStream.getNextEntry();
+            Assertions.assertEquals(ZipEntry.STORED, entry.getMethod());
+            Assertions.assertEquals("jpeg content", new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        Assertions.assertEquals("png content", read(outputStream.toByteArray()).get("/image.png"));
+    }
+
+    @Test
+    public void deflatedEntryWithUnexpectedSizeIsRejectedTest() {
+        File file = File.builder()
+                .name("notes.txt")
+                .fullPath("/notes.txt")
+                .size(4L)
+                .build();
+
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> zipArchiveWriter.write(
+                List.of(new FileResource(file, new ByteArrayResource(bytes("longer than declared")))), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void archiveLengthIsUnknownWhenAnyEntryIsDeflatedTest() {
+        List<FileResource> fileResources = List.of(
+                createFileResource("/photo.jpg", new ByteArrayResource(bytes("jpeg content"))),
+                createFileResource("/notes.txt", new ByteArrayResource(bytes("text content"))));
+
+        Assertions.assertTrue(zipArchiveWriter.getArchiveLength(fileResources).isEmpty());
+    }
+
+    private Map<String, String> writeAndRead(List<FileResource> fileResources) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        zipArchiveWriter.write(fileResources, outputStream);
+        return read(outputStream.toByteArray());
+    }
+
+    private Map<String, String> read(byte[] archive) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private FileResource createFileResource(String fullPath, ByteArrayResource resource) {
+        CRC32 checksum = new CRC32();
+        checksum.update(resource.getByteArray());
+        File file = File.builder()
+                .name(fullPath.substring(1))
+                .fullPath(fullPath)
+                .size(resource.contentLength())
+                .crc32(checksum.getValue())
+                .build();
+        return new FileResource(file, resource);
+    }
+
+    private void awaitQuietly(CountDownLatch latch) throws IOException {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IOException("Next entry was not prefetched");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException(exception);
+        }
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
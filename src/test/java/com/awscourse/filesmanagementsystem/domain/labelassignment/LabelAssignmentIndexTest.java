@@ -0,0 +1,102 @@
+package com.awscourse.filesmanagementsystem.domain.labelassignment;
+
+import com.awscourse.filesmanagementsystem.domain.labelassignment.control.LabelAssignmentIndex;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.entity.LabelAssignment;
+import com.awscourse.filesmanagementsystem.infrastructure.collection.CompressedBitmap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@DisplayName("LabelAssignmentIndex Test")
+public class LabelAssignmentIndexTest {
+
+    private LabelAssignmentIndex labelAssignmentIndex;
+
+    @BeforeEach
+    public void setUp() {
+        labelAssignmentIndex = new LabelAssignmentIndex();
+        LabelAssignmentIndex.Rebuild rebuild = labelAssignmentIndex.rebuild();
+        rebuild.add(new LabelAssignment.Id(1L, 10L));
+        rebuild.add(new LabelAssignment.Id(1L, 11L));
+        rebuild.add(new LabelAssignment.Id(2L, 11L));
+        rebuild.add(new LabelAssignment.Id(2L, 12L));
+        rebuild.complete();
+    }
+
+    @Test
+    public void anyOfLabelsIsUnionOfAssignedFilesTest() {
+        Assertions.assertArrayEquals(new int[]{10, 11, 12}, getFileIds(labelAssignmentIndex.getFileIdsWithAnyOfLabels(List.of(1L, 2L, 3L))));
+    }
+
+    @Test
+    public void allOfLabelsIsIntersectionOfAssignedFilesTest() {
+        Assertions.assertArrayEquals(new int[]{11}, getFileIds(labelAssignmentIndex.getFileIdsWithAllOfLabels(List.of(1L, 2L))));
+        Assertions.assertArrayEquals(new int[]{}, getFileIds(labelAssignmentIndex.getFileIdsWithAllOfLabels(List.of(1L, 3L))));
+    }
+
+    @Test
+    public void assignmentsAreUpdatedIncrementallyTest() {
+        labelAssignmentIndex.add(List.of(new LabelAssignment.Id(1L, 12L)));
+        labelAssignmentIndex.remove(List.of(new LabelAssignment.Id(1L, 10L)));
+
+        Assertions.assertArrayEquals(new int[]{11, 12}, getFileIds(labelAssignmentIndex.getFileIdsWithAnyOfLabels(List.of(1L))));
+    }
+
+    @Test
+    public void deletedLabelsAndFilesAreRemovedTest() {
+        labelAssignmentIndex.removeLabels(List.of(2L));
+        labelAssignmentIndex.removeFiles(List.of(10L));
+
+        Assertions.assertArrayEquals(new int[]{11}, getFileIds(labelAssignmentIndex.getFileIdsWithAnyOfLabels(List.of(1L, 2L))));
+    }
+
+    @Test
+    public void syncPointIsRebuildStartTest() {
+        Instant beforeRebuild = Instant.now();
+        LabelAssignmentIndex.Rebuild rebuild = labelAssignmentIndex.rebuild();
+        Instant afterRebuildStart = Instant.now();
+        rebuild.complete();
+        Instant syncedAt = labelAssignmentIndex.getSyncedAt().orElseThrow();
+
+        Assertions.assertFalse(syncedAt.isBefore(beforeRebuild));
+        Assertions.assertFalse(syncedAt.isAfter(afterRebuildStart));
+        Assertions.assertEquals(Optional.empty(), new LabelAssignmentIndex().getSyncedAt());
+    }
+
+    @Test
+    public void indexIsNotUsedBeforeRebuildCompletesTest() {
+        LabelAssignmentIndex notBuiltIndex = new LabelAssignmentIndex();
+        notBuiltIndex.add(List.of(new LabelAssignment.Id(1L, 10L)));
+
+        Assertions.assertEquals(Optional.empty(), notBuiltIndex.getFileIdsWithAnyOfLabels(List.of(1L)));
+    }
+
+    @Test
+    public void changesMadeDuringRebuildAreReplayedTest() {
+        LabelAssignmentIndex.Rebuild rebuild = labelAssignmentIndex.rebuild();
+        labelAssignmentIndex.remove(List.of(new LabelAssignment.Id(1L, 10L)));
+        labelAssignmentIndex.add(List.of(new LabelAssignment.Id(3L, 13L)));
+        rebuild.add(new LabelAssignment.Id(1L, 10L));
+        rebuild.add(new LabelAssignment.Id(1L, 11L));
+        rebuild.complete();
+
+        Assertions.assertArrayEquals(new int[]{11, 13}, getFileIds(labelAssignmentIndex.getFileIdsWithAnyOfLabels(List.of(1L, 3L))));
+    }
+
+    @Test
+    public void indexIsDisabledForFileIdsOutOfBitmapRangeTest() {
+        labelAssignmentIndex.add(List.of(new LabelAssignment.Id(1L, Integer.MAX_VALUE + 1L)));
+
+        Assertions.assertEquals(Optional.empty(), labelAssignmentIndex.getFileIdsWithAnyOfLabels(List.of(1L)));
+    }
+
+    private int[] getFileIds(Optional<CompressedBitmap> fileIds) {
+        return fileIds.orElseThrow().stream().toArray();
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.awscourse.filesmanagementsystem.domain.uploadsession;
+
+import com.awscourse.filesmanagementsystem.domain.file.control.ContentBlobService;
+import com.awscourse.filesmanagementsystem.domain.file.control.RunningContentDigest;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.ByteRange;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.StorageService;
+import com.awscourse.filesmanagementsystem.domain.file.control.storage.url.UrlProvider;
+import com.awscourse.filesmanagementsystem.domain.uploadsession.control.UploadSessionPartRepository;
+import com.awscourse.filesmanagementsystem.domain.uploadsession.control.UploadSessionRepository;
+import com.awscourse.filesmanagementsystem.domain.uploadsession.control.UploadSessionService;
+import com.awscourse.filesmanagementsystem.domain.uploadsession.entity.UploadSession;
+import com.awscourse.filesmanagementsystem.domain.uploadsession.entity.UploadSessionPart;
+import com.awscourse.filesmanagementsystem.infrastructure.exception.IllegalArgumentAppException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("UploadSessionService Test")
+@ExtendWith(MockitoExtension.class)
+public class UploadSessionServiceTest {
+
+    private static final long SESSION_ID = 1L;
+    private static final long USER_ID = 2L;
+    private static final int CHUNK_SIZE = 10;
+    private static final URI URL = URI.create("s3://bucket/staging/file.bin");
+
+    private UploadSessionService uploadSessionService;
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+    @Mock
+    private UploadSessionPartRepository uploadSessionPartRepository;
+    @Mock
+    private StorageService storageService;
+    @Mock
+    private UrlProvider urlProvider;
+    @Mock
+    private ContentBlobService contentBlobService;
+    private UploadSession session;
+
+    @BeforeEach
+    public void setUp() {
+        uploadSessionService = new UploadSessionService(uploadSessionRepository, uploadSessionPartRepository, storageService,
+                urlProvider, contentBlobService, DataSize.ofBytes(CHUNK_SIZE), Duration.ofHours(1));
+        session = UploadSession.builder()
+                .id(SESSION_ID)
+                .filename("file.bin")
+                .url(URL)
+                .storageUploadId("upload-id")
+                .size(25)
+                .chunkSize(CHUNK_SIZE)
+                .ownerId(USER_ID)
+                .expiresAt(Instant.now())
+                .build();
+        when(uploadSessionRepository.findByIdAndOwnerId(SESSION_ID, USER_ID)).thenReturn(Optional.of(session));
+    }
+
+    @Test
+    public void contiguousChunksAreReportedAsSingleRangeTest() {
+        when(uploadSessionPartRepository.findAllBySessionIdOrderByChunkNumber(SESSION_ID)).thenReturn(List.of(
+                new UploadSessionPart(SESSION_ID, 0, 10, "a"),
+                new UploadSessionPart(SESSION_ID, 1, 10, "b")));
+
+        List<ByteRange> receivedRanges = uploadSessionService.getSessionStatus(SESSION_ID, USER_ID).getReceivedRanges();
+
+        Assertions.assertEquals(List.of(new ByteRange(0, 19)), receivedRanges);
+    }
+
+    @Test
+    public void lastChunkIsStoredAsFinalPartTest() {
+        when(storageService.uploadPart(any(), anyString(), anyInt(), any(), anyLong(), anyString())).thenReturn("etag");
+        when(uploadSessionPartRepository.findAllBySessionIdOrderByChunkNumber(SESSION_ID)).thenReturn(List.of(
+                new UploadSessionPart(SESSION_ID, 2, 5, "etag")));
+
+        List<ByteRange> receivedRanges = uploadSessionService.uploadChunk(SESSION_ID, USER_ID, 2, 20, 5, "md5",
+                new ByteArrayInputStream(new byte[5])).getReceivedRanges();
+
+        verify(storageService).uploadPart(any(), anyString(), eq(3), any(), eq(5L), anyString());
+        verify(uploadSessionPartRepository).save(new UploadSessionPart(SESSION_ID, 2, 5, "etag"));
+        Assertions.assertEquals(List.of(new ByteRange(20, 24)), receivedRanges);
+    }
+
+    @Test
+    public void chunkWithUnexpectedOffsetIsRejectedTest() {
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> uploadSessionService.uploadChunk(SESSION_ID, USER_ID, 1, 5, 10, "md5",
+                new ByteArrayInputStream(new byte[10])));
+
+        verify(storageService, never()).uploadPart(any(), any(), anyInt(), any(), anyLong(), any());
+    }
+
+    @Test
+    public void sessionWithMissingChunksCannotBeFinalizedTest() {
+        when(uploadSessionPartRepository.findAllBySessionIdOrderByChunkNumber(SESSION_ID)).thenReturn(List.of(
+                new UploadSessionPart(SESSION_ID, 0, 10, "a"),
+                new UploadSessionPart(SESSION_ID, 2, 5, "c")));
+
+        Assertions.assertThrows(IllegalArgumentAppException.class, () -> uploadSessionService.finalizeSession(SESSION_ID, USER_ID));
+
+        verify(storageService, never()).completeMultipartUpload(any(), any(), any());
+    }
+
+    @Test
+    public void chunksUploadedInOrderAreDigestedWithoutReadingStagedContentTest() {
+        when(urlProvider.getStagingUrl("file.bin")).thenReturn(URL);
+        when(uploadSessionRepository.save(any())).thenReturn(session);
+        when(storageService.uploadPart(any(), anyString(), anyInt(), any(), anyLong(), anyString())).thenAnswer(invocation -> {
+            invocation.<InputStream>getArgument(3).readAllBytes();
+            return "etag";
+        });
+        List<UploadSessionPart> parts = List.of(new UploadSessionPart(SESSION_ID, 0, 10, "etag"),
+                new UploadSessionPart(SESSION_ID, 1, 10, "etag"), new UploadSessionPart(SESSION_ID, 2, 5, "etag"));
+        when(uploadSessionPartRepository.findAllBySessionIdOrderByChunkNumber(SESSION_ID)).thenReturn(parts);
+        uploadSessionService.createSession("file.bin", 25, USER_ID);
+
+        parts.forEach(part -> uploadSessionService.uploadChunk(SESSION_ID, USER_ID, part.getChunkNumber(), session.getChunkOffset(part.getChunkNumber()),
+                part.getSize(), "md5", new ByteArrayInputStream(new byte[(int) part.getSize()])));
+        uploadSessionService.finalizeSession(SESSION_ID, USER_ID);
+
+        verify(contentBlobService).saveStagedResource(eq("file.bin"), eq(URL), any(RunningContentDigest.class), eq(USER_ID));
+        verify(contentBlobService, never()).saveStagedResource(any(), any(), any(Long.class));
+    }
+
+    @Test
+    public void completedSessionIsNotCompletedAgainTest() {
+        session.setCompleted(true);
+
+        uploadSessionService.finalizeSession(SESSION_ID, USER_ID);
+
+        verify(storageService, never()).completeMultipartUpload(any(), any(), any());
+        verify(contentBlobService).saveStagedResource("file.bin", URL, USER_ID);
+        verify(uploadSessionRepository).delete(session);
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.awscourse.filesmanagementsystem.infrastructure.collection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+@DisplayName("CompressedBitmap Test")
+public class CompressedBitmapTest {
+
+    @Test
+    public void valuesAreReturnedInAscendingOrderAcrossContainersTest() {
+        CompressedBitmap bitmap = CompressedBitmap.of(70000, 3, 65535, 65536, 3);
+
+        Assertions.assertArrayEquals(new int[]{3, 65535, 65536, 70000}, bitmap.stream().toArray());
+        Assertions.assertEquals(4, bitmap.getCardinality());
+    }
+
+    @Test
+    public void denseContainerKeepsValuesWhenGrowingAndShrinkingTest() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        IntStream.range(0, 10000).forEach(bitmap::add);
+
+        IntStream.range(0, 9000).forEach(bitmap::remove);
+
+        Assertions.assertArrayEquals(IntStream.range(9000, 10000).toArray(), bitmap.stream().toArray());
+        Assertions.assertFalse(bitmap.contains(8999));
+        Assertions.assertTrue(bitmap.contains(9999));
+    }
+
+    @Test
+    public void removingLastValueEmptiesBitmapTest() {
+        CompressedBitmap bitmap = CompressedBitmap.of(5);
+
+        bitmap.remove(5);
+
+        Assertions.assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    public void orAndAndMatchBitSetOperationsTest() {
+        Random random = new Random(7);
+        BitSet first = new BitSet();
+        BitSet second = new BitSet();
+        CompressedBitmap firstBitmap = new CompressedBitmap();
+        CompressedBitmap secondBitmap = new CompressedBitmap();
+        random.ints(20000, 0, 200000).forEach(value -> {
+            first.set(value);
+            firstBitmap.add(value);
+        });
+        random.ints(3000, 0, 200000).forEach(value -> {
+            second.set(value);
+            secondBitmap.add(value);
+        });
+        BitSet union = (BitSet) first.clone();
+        union.or(second);
+        BitSet intersection = (BitSet) first.clone();
+        intersection.and(second);
+
+        Assertions.assertArrayEquals(union.stream().toArray(), CompressedBitmap.or(List.of(firstBitmap, secondBitmap)).stream().toArray());
+        Assertions.assertArrayEquals(intersection.stream().toArray(), CompressedBitmap.and(List.of(firstBitmap, secondBitmap)).stream().toArray());
+        Assertions.assertEquals(intersection.cardinality(), firstBitmap.andCardinality(secondBitmap));
+    }
+
+    @Test
+    public void operationsDoNotModifyOperandsTest() {
+        CompressedBitmap first = CompressedBitmap.of(1, 2);
+        CompressedBitmap second = CompressedBitmap.of(2, 3);
+
+        CompressedBitmap union = CompressedBitmap.or(List.of(first, second));
+        union.add(4);
+
+        Assertions.assertArrayEquals(new int[]{1, 2}, first.stream().toArray());
+        Assertions.assertArrayEquals(new int[]{2, 3}, second.stream().toArray());
+    }
+
+}
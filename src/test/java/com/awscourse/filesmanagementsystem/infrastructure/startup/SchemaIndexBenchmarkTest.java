@@ -0,0 +1,231 @@
+package com.awscourse.filesmanagementsystem.infrastructure.startup;
+
+import com.awscourse.filesmanagementsystem.domain.auditedobject.ObjectState;
+import com.awscourse.filesmanagementsystem.domain.file.boundary.FilesSearchCriteria;
+import com.awscourse.filesmanagementsystem.domain.file.control.FileRepository;
+import com.awscourse.filesmanagementsystem.domain.file.control.text.FileNameIndex;
+import com.awscourse.filesmanagementsystem.domain.file.control.text.FileTextIndex;
+import com.awscourse.filesmanagementsystem.domain.label.entity.Label;
+import com.awscourse.filesmanagementsystem.domain.label.entity.LabelType;
+import com.awscourse.filesmanagementsystem.domain.labelassignment.control.LabelAssignmentIndex;
+import com.awscourse.filesmanagementsystem.domain.user.entity.User;
+import com.awscourse.filesmanagementsystem.domain.user.entity.UserRole;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+@Slf4j
+@DisplayName("SchemaIndexBenchmark Test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({FileTextIndex.class, FileNameIndex.class, LabelAssignmentIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+public class SchemaIndexBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 0);
+    private static final int USERS_COUNT = 100;
+    private static final int LABELS_COUNT = 20;
+    private static final long FIRST_FILE_ID = 1_000_000_000L;
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 11;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+    private static final Instant FIRST_CREATED_AT = Instant.parse("2018-01-01T00:00:00Z");
+    private static final List<String> MIGRATED_INDEXES = List.of("file_object_state_path_idx", "file_object_state_name_idx",
+            "file_object_state_size_idx", "file_object_state_created_at_idx", "file_object_state_updated_at_idx");
+
+    @Autowired
+    private FileRepository fileRepository;
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer existingRows = jdbcTemplate.queryForObject("SELECT (SELECT COUNT(*) FROM file) + (SELECT COUNT(*) FROM information_schema.tables "
+                + "WHERE table_schema = DATABASE() AND table_name = 'schema_migration')", Integer.class);
+        Assertions.assertEquals(0, existingRows, "Benchmark must be run against an empty database");
+        List<Long> userIds = new ArrayList<>();
+        List<Long> labelIds = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            IntStream.range(0, USERS_COUNT).forEach(i -> userIds.add(persistUser(i).getId()));
+            IntStream.range(0, LABELS_COUNT).forEach(i -> labelIds.add(persistLabel(i).getId()));
+        });
+        insertFiles(userIds, labelIds);
+        jdbcTemplate.execute("ANALYZE TABLE file, label_assignment");
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS schema_migration");
+        List<String> existingIndexes = jdbcTemplate.queryForList("SELECT DISTINCT index_name FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = 'file'", String.class);
+        MIGRATED_INDEXES.stream()
+                .filter(existingIndexes::contains)
+                .forEach(index -> jdbcTemplate.execute("DROP INDEX " + index + " ON file"));
+        jdbcTemplate.update("DELETE FROM label_assignment");
+        jdbcTemplate.update("DELETE FROM file");
+        jdbcTemplate.update("DELETE FROM label");
+        jdbcTemplate.update("DELETE FROM user");
+    }
+
+    @Test
+    public void searchQueryTimesAreReportedBeforeAndAfterMigrationTest() throws IOException, SQLException {
+        Map<String, Supplier<?>> queries = getQueries();
+        Map<String, Duration> timesBefore = measure(queries);
+
+        new SchemaMigrationHandler(dataSource, "classpath:db/migration").migrate();
+        jdbcTemplate.execute("ANALYZE TABLE file");
+        Map<String, Duration> timesAfter = measure(queries);
+
+        log.info(String.format("%-60s %12s %12s", "Query (" + ROWS + " files)", "before [ms]", "after [ms]"));
+        queries.keySet().forEach(query -> log.info(String.format("%-60s %12.2f %12.2f", query,
+                timesBefore.get(query).toNanos() / 1e6, timesAfter.get(query).toNanos() / 1e6)));
+        Integer migratedIndexes = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT index_name) FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = 'file' AND index_name LIKE 'file_object_state_%'", Integer.class);
+        Assertions.assertEquals(MIGRATED_INDEXES.size(), migratedIndexes);
+    }
+
+    private User persistUser(int index) {
+        User user = User.builder()
+                .name("Name")
+                .surname("Surname")
+                .username("user-" + index)
+                .password("password")
+                .email("user-" + index + "@example.com")
+                .phoneNumber("123456789")
+                .role(UserRole.ROLE_USER)
+                .createdAt(FIRST_CREATED_AT)
+                .updatedAt(FIRST_CREATED_AT)
+                .objectState(ObjectState.ACTIVE)
+                .build();
+        em.persist(user);
+        return user;
+    }
+
+    private Label persistLabel(int index) {
+        Label label = new Label();
+        label.setName("label-" + index);
+        label.setLabelType(LabelType.MANUALLY_ASSIGNED);
+        label.setCreatedAt(FIRST_CREATED_AT);
+        label.setUpdatedAt(FIRST_CREATED_AT);
+        label.setObjectState(ObjectState.ACTIVE);
+        em.persist(label);
+        return label;
+    }
+
+    private void insertFiles(List<Long> userIds, List<Long> labelIds) {
+        Random random = new Random(42);
+        long createdAtRange = Duration.between(FIRST_CREATED_AT, Instant.parse("2021-01-01T00:00:00Z")).toMillis();
+        for (int start = 0; start < ROWS; start += INSERT_BATCH_SIZE) {
+            List<Object[]> files = new ArrayList<>();
+            List<Object[]> labelAssignments = new ArrayList<>();
+            IntStream.range(start, Math.min(start + INSERT_BATCH_SIZE, ROWS)).forEach(i -> {
+                long id = FIRST_FILE_ID + i;
+                String path = "user-" + i % USERS_COUNT + "/directory-" + i % 1000;
+                Instant createdAt = FIRST_CREATED_AT.plusMillis((long) (random.nextDouble() * createdAtRange));
+                Timestamp updatedAt = Timestamp.from(createdAt.plusSeconds(random.nextInt(86_400)));
+                String objectState = random.nextInt(10) == 0 ? ObjectState.REMOVED.name() : ObjectState.ACTIVE.name();
+                files.add(new Object[]{id, "file-" + random.nextInt(ROWS) + ".txt", path, path + "/file-" + i + ".txt",
+                        random.nextInt(10_000_000), "s3://bucket/content/" + i, objectState, Timestamp.from(createdAt), updatedAt,
+                        userIds.get(i % USERS_COUNT), userIds.get(random.nextInt(USERS_COUNT))});
+                labelAssignments.add(new Object[]{labelIds.get(random.nextInt(LABELS_COUNT)), id, Timestamp.from(createdAt), updatedAt});
+            });
+            jdbcTemplate.batchUpdate("INSERT INTO file (id, name, path, full_path, size, url, object_state, created_at, updated_at, "
+                    + "created_by_id, updated_by_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", files);
+            jdbcTemplate.batchUpdate("INSERT INTO label_assignment (label_id, file_id, created_at, updated_at, object_state) "
+                    + "VALUES (?, ?, ?, ?, 'ACTIVE')", labelAssignments);
+        }
+    }
+
+    private Map<String, Supplier<?>> getQueries() {
+        Pageable byCreatedAtDescending = PageRequest.of(0, 20, Sort.by(Sort.Order.desc("createdAt")));
+        String nextCursor = transactionTemplate.execute(status ->
+                fileRepository.searchFilesByCriteria(new FilesSearchCriteria(), null, byCreatedAtDescending).getNextCursor());
+        Map<String, Supplier<?>> queries = new LinkedHashMap<>();
+        queries.put("path starts with user-7/directory-107", () -> search(criteria -> criteria.setPath("user-7/directory-107"), null, FIRST_PAGE));
+        queries.put("count of path starts with user-7/", () -> fileRepository.countFilesByCriteria(createCriteria(criteria -> criteria.setPath("user-7/"))));
+        queries.put("sorted by createdAt descending", () -> search(criteria -> {}, null, byCreatedAtDescending));
+        queries.put("sorted by createdAt descending, next page", () -> search(criteria -> {}, nextCursor, byCreatedAtDescending));
+        queries.put("sorted by updatedAt", () -> search(criteria -> {}, null, PageRequest.of(0, 20, Sort.by("updatedAt"))));
+        queries.put("sorted by name", () -> search(criteria -> {}, null, PageRequest.of(0, 20, Sort.by("name"))));
+        queries.put("minimal size 9000000 sorted by size", () -> search(criteria -> criteria.setMinSize(9_000_000L), null,
+                PageRequest.of(0, 20, Sort.by("size"))));
+        queries.put("created by user-7 sorted by createdAt descending", () -> search(criteria -> criteria.setCreatedBy("user-7"), null,
+                byCreatedAtDescending));
+        queries.put("name contains file-12", () -> search(criteria -> criteria.setName("file-12"), null, FIRST_PAGE));
+        queries.put("contains any of labels label-1, label-2", () -> search(criteria -> criteria.setContainsAnyOfLabels(List.of("label-1", "label-2")),
+                null, FIRST_PAGE));
+        return queries;
+    }
+
+    private Object search(Consumer<FilesSearchCriteria> criteriaSetter, String cursor, Pageable pageable) {
+        return fileRepository.searchFilesByCriteria(createCriteria(criteriaSetter), cursor, pageable).getFiles();
+    }
+
+    private FilesSearchCriteria createCriteria(Consumer<FilesSearchCriteria> criteriaSetter) {
+        FilesSearchCriteria searchCriteria = new FilesSearchCriteria();
+        criteriaSetter.accept(searchCriteria);
+        return searchCriteria;
+    }
+
+    private Map<String, Duration> measure(Map<String, Supplier<?>> queries) {
+        Map<String, Duration> medianTimes = new LinkedHashMap<>();
+        queries.forEach((query, execution) -> {
+            IntStream.range(0, WARMUP_RUNS).forEach(run -> transactionTemplate.execute(status -> execution.get()));
+            long[] times = new long[MEASURED_RUNS];
+            for (int run = 0; run < MEASURED_RUNS; run++) {
+                long start = System.nanoTime();
+                transactionTemplate.execute(status -> execution.get());
+                times[run] = System.nanoTime() - start;
+            }
+            Arrays.sort(times);
+            medianTimes.put(query, Duration.ofNanos(times[MEASURED_RUNS / 2]));
+        });
+        return medianTimes;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.awscourse.filesmanagementsystem.infrastructure.startup;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.util.List;
+
+@DisplayName("SchemaMigrationHandler Test")
+public class SchemaMigrationHandlerTest {
+
+    @Test
+    public void migrationsAreReadFromLocationInVersionOrderTest() throws IOException {
+        SchemaMigrationHandler schemaMigrationHandler = new SchemaMigrationHandler(new DriverManagerDataSource(), "classpath:db/migration");
+
+        List<SchemaMigrationHandler.Migration> migrations = schemaMigrationHandler.getMigrations();
+
+        Assertions.assertTrue(migrations.size() >= 2);
+        Assertions.assertEquals(1, migrations.get(0).getVersion());
+        Assertions.assertEquals("file search indexes", migrations.get(0).getDescription());
+        Assertions.assertEquals(64, migrations.get(0).getChecksum().length());
+        Assertions.assertEquals(2, migrations.get(1).getVersion());
+        Assertions.assertEquals("drop file url unique index", migrations.get(1).getDescription());
+        for (int i = 1; i < migrations.size(); i++) {
+            Assertions.assertTrue(migrations.get(i - 1).getVersion() < migrations.get(i).getVersion());
+        }
+    }
+
+}